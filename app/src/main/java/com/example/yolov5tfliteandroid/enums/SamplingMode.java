@@ -0,0 +1,11 @@
+package com.example.yolov5tfliteandroid.enums;
+
+/**
+ * 蒙特卡洛抽样方式
+ */
+public enum SamplingMode {
+    /** 每个样本独立随机发牌 */
+    PLAIN,
+    /** 按第一张发出的牌分层 (等比例分配)，去掉层间方差，估计量仍无偏 */
+    STRATIFIED
+}
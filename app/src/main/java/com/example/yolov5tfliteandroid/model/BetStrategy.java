@@ -7,4 +7,5 @@ public class BetStrategy {
     public double amount;
     public String betType; // Value(价值), Bluff(诈唬), Protection(保护)
     public String reason;
+    public boolean committed; // 加注额超过剩余筹码 40%，转为全下
 }
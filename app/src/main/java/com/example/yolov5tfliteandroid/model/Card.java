@@ -6,10 +6,67 @@ import com.example.yolov5tfliteandroid.enums.Suit;
 public class Card implements Comparable<Card> {
     final Rank rank;
     final Suit suit;
+    // 位下标 0-51：suit * 13 + (rank - 2)，与 EquityEngine / HandEvaluator 的 int 编码一致
+    final int index;
 
+    // 52 张牌的共享实例 (享元)，按位下标存放
+    private static final Card[] DECK = new Card[52];
+
+    static {
+        for (Suit s : Suit.values()) {
+            for (Rank r : Rank.values()) {
+                Card c = new Card(r, s);
+                DECK[c.index] = c;
+            }
+        }
+    }
+
+    /**
+     * @deprecated 会创建不在享元表中的新实例，请使用 {@link #of(Rank, Suit)}
+     */
+    @Deprecated
     public Card(Rank rank, Suit suit) {
         this.rank = rank;
         this.suit = suit;
+        this.index = suit.ordinal() * 13 + rank.getValue() - 2;
+    }
+
+    /**
+     * 共享实例，不创建新对象
+     */
+    public static Card of(Rank rank, Suit suit) {
+        return DECK[suit.ordinal() * 13 + rank.getValue() - 2];
+    }
+
+    /**
+     * 由位下标 (0-51) 取共享实例
+     */
+    public static Card of(int index) {
+        return DECK[index];
+    }
+
+    /**
+     * 位下标 0-51 (即 int 牌编码)
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * 该牌在 {@link CardSet} 位掩码中的位
+     */
+    public long bit() {
+        return 1L << index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Card && ((Card) o).index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
     }
 
     @Override
@@ -17,9 +74,13 @@ public class Card implements Comparable<Card> {
         return rank.name().substring(0, 1) + suit.name().substring(0, 1);
     }
 
+    /**
+     * 先按点数、点数相同再按花色排序 (与 {@link #equals} 一致：只有同一张牌比较结果为 0)
+     */
     @Override
     public int compareTo(Card o) {
-        return Integer.compare(this.rank.getValue(), o.rank.getValue());
+        int c = Integer.compare(this.rank.getValue(), o.rank.getValue());
+        return c != 0 ? c : Integer.compare(this.suit.ordinal(), o.suit.ordinal());
     }
 
     public Rank getRank() {
@@ -29,4 +90,4 @@ public class Card implements Comparable<Card> {
     public Suit getSuit() {
         return suit;
     }
-}
\ No newline at end of file
+}
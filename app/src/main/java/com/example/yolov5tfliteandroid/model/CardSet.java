@@ -0,0 +1,155 @@
+package com.example.yolov5tfliteandroid.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 位掩码牌集合 (64 位 long，每张牌一位)
+ * <p>
+ * 第 i 位对应 {@link Card#index()} 为 i 的牌 (suit * 13 + rank，rank 0=2 ... 12=A)，
+ * 因此每个花色恰好占连续 13 位：梅花 0-12，方块 13-25，红桃 26-38，黑桃 39-51。
+ * 并集/差集/去除死牌是位运算，张数、花色计数、点数计数是 popcount，全部不创建对象。
+ */
+public final class CardSet {
+
+    public static final long EMPTY = 0L;
+    /** 整副 52 张牌 */
+    public static final long FULL_DECK = (1L << 52) - 1;
+
+    private static final long SUIT_MASK = (1L << 13) - 1;
+    private static final String RANK_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "cdhs";
+
+    private CardSet() {
+    }
+
+    public static long of(Card... cards) {
+        long mask = 0;
+        for (Card c : cards) mask |= 1L << c.index;
+        return mask;
+    }
+
+    public static long of(List<Card> cards) {
+        long mask = 0;
+        for (int i = 0; i < cards.size(); i++) mask |= 1L << cards.get(i).index;
+        return mask;
+    }
+
+    public static long of(int[] cards) {
+        long mask = 0;
+        for (int c : cards) mask |= 1L << c;
+        return mask;
+    }
+
+    public static boolean contains(long set, Card card) {
+        return (set & (1L << card.index)) != 0;
+    }
+
+    public static long remove(long set, long dead) {
+        return set & ~dead;
+    }
+
+    public static int size(long set) {
+        return Long.bitCount(set);
+    }
+
+    /**
+     * 某花色的 13 位点数掩码 (bit r = 点数 r)
+     */
+    public static int suitMask(long set, int suit) {
+        return (int) ((set >>> (suit * 13)) & SUIT_MASK);
+    }
+
+    public static int suitCount(long set, int suit) {
+        return Long.bitCount(set & (SUIT_MASK << (suit * 13)));
+    }
+
+    /**
+     * 出现过的点数 (去重后的 13 位掩码)
+     */
+    public static int rankMask(long set) {
+        return suitMask(set, 0) | suitMask(set, 1) | suitMask(set, 2) | suitMask(set, 3);
+    }
+
+    /**
+     * 某点数 (0=2 ... 12=A) 的张数
+     */
+    public static int rankCount(long set, int rank) {
+        return (int) (((set >>> rank) & 1) + ((set >>> (13 + rank)) & 1)
+                + ((set >>> (26 + rank)) & 1) + ((set >>> (39 + rank)) & 1));
+    }
+
+    /**
+     * 转换为 int 牌编码数组 (按编码升序)
+     */
+    public static int[] toIntArray(long set) {
+        int[] cards = new int[Long.bitCount(set)];
+        int i = 0;
+        for (long m = set; m != 0; m &= m - 1) {
+            cards[i++] = Long.numberOfTrailingZeros(m);
+        }
+        return cards;
+    }
+
+    /**
+     * 转换为共享的 Card 实例列表 (按编码升序)
+     */
+    public static List<Card> toList(long set) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(set));
+        for (long m = set; m != 0; m &= m - 1) {
+            cards.add(Card.of(Long.numberOfTrailingZeros(m)));
+        }
+        return cards;
+    }
+
+    public static String toString(long set) {
+        return toList(set).toString();
+    }
+
+    /**
+     * 由标准记法的点数字符 (23456789TJQKA) 和花色字符 (cdhs，大小写均可) 得到 int 牌编码，非法时返回 -1
+     */
+    public static int cardIndex(char rank, char suit) {
+        int r = RANK_CHARS.indexOf(Character.toUpperCase(rank));
+        int s = SUIT_CHARS.indexOf(Character.toLowerCase(suit));
+        return r < 0 || s < 0 ? -1 : s * 13 + r;
+    }
+
+    /**
+     * 解析标准记法的牌串，如 "AsKd"、"2c7d9h"；"-" 或空串表示没有牌
+     *
+     * @throws IllegalArgumentException 格式错误或有重复牌
+     */
+    public static long parse(String cards) {
+        if (cards.isEmpty() || cards.equals("-")) {
+            return EMPTY;
+        }
+        if (cards.length() % 2 != 0) {
+            throw new IllegalArgumentException("Bad card string: " + cards);
+        }
+        long mask = 0;
+        for (int i = 0; i < cards.length(); i += 2) {
+            int c = cardIndex(cards.charAt(i), cards.charAt(i + 1));
+            if (c < 0 || (mask & (1L << c)) != 0) {
+                throw new IllegalArgumentException("Bad card string: " + cards);
+            }
+            mask |= 1L << c;
+        }
+        return mask;
+    }
+
+    /**
+     * 标准记法 (按编码升序)，如 "2c7d9h"；空集合为 "-"
+     */
+    public static String format(long set) {
+        if (set == 0) {
+            return "-";
+        }
+        StringBuilder sb = new StringBuilder(2 * Long.bitCount(set));
+        for (long m = set; m != 0; m &= m - 1) {
+            int c = Long.numberOfTrailingZeros(m);
+            sb.append(RANK_CHARS.charAt(c % 13)).append(SUIT_CHARS.charAt(c / 13));
+        }
+        return sb.toString();
+    }
+}
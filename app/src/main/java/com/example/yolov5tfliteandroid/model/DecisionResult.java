@@ -2,14 +2,72 @@ package com.example.yolov5tfliteandroid.model;
 
 import com.example.yolov5tfliteandroid.enums.Action;
 
+/**
+ * 决策结果：各项数据均为结构化字段，可读的分析报告 {@link #reason()} 在首次读取时才生成
+ * (决策热路径上不做任何字符串格式化)；报告格式由产生结果的一方通过 {@link #renderer} 注入
+ */
 public class DecisionResult {
+
+    /**
+     * 分析报告的生成器 (只在首次读取 {@link #reason()} 时调用)
+     */
+    public interface Renderer {
+        String render(DecisionResult result);
+    }
+
     public Action suggestedAction;
     public double ev;
-    public String reason;
+    public long sampleCount;      // 胜率计算实际使用的模拟次数 (精确穷举时为结果数)
+    public double winRateError;   // 胜率 95% 置信区间半宽 (±)
+    public HandStrengthProfile handStrength; // EHS / EHS² / 潜力 / 下一街胜率直方图 (翻前为 null)
+
+    // ==================== 局面输入 ====================
+    public long hand;             // 手牌位掩码 (见 CardSet)
+    public long board;            // 公共牌位掩码
+    public int numOpponents;
+    public double potSize;
+    public double costToCall;
+    public double myStack;
+
+    // ==================== 计算中间量 ====================
+    public double winRate;          // 原始胜率 (平局计一半)
+    public double adjustedWinRate;  // 计入潜在赔率后的胜率
+    public double potOdds;          // 跟注所需胜率 (无需跟注时为 0)
+    public double spr;              // 筹码底池比
+    public int features;            // 牌型特征位集 + 补牌数 (见 HandFeatures)
+    public EquityEstimate equity;   // 胜率估计原始结果 (样本数 / ESS / 是否精确)
+    public boolean preflopTable;    // 胜率来自翻前预计算表
+    public boolean cached;          // 胜率来自缓存
+    public long equityNanos;        // 胜率计算耗时 (纳秒)
+
+    // ==================== 下注策略 ====================
+    public double betAmount;        // 建议下注额 (RAISE / ALL_IN 时有效)
+    public String betType;          // Value(价值), Bluff(诈唬), Protection(保护)
+    public String strategyReason;   // 策略说明 (常量文本)
+    public boolean committed;       // 加注额过大而转为全下
+    public RiverSolution riverSolution; // 河牌单挑时的子博弈解 (其余情况为 null)
+    public double[] riverStrategy;      // 本手牌在根节点的混合策略 (与 riverSolution.actions 对应)
+
+    public Renderer renderer;          // 报告生成器 (为 null 时报告只含策略说明)
+
+    private String reason;
+
+    /**
+     * 可读的分析报告 (首次调用时生成并缓存)
+     */
+    public String reason() {
+        String r = reason;
+        if (r == null) {
+            if (renderer != null) r = renderer.render(this);
+            else r = strategyReason != null ? strategyReason : "";
+            reason = r;
+        }
+        return r;
+    }
 
     @Override
     public String toString() {
         // String.format 在 Android 上是通用的
-        return String.format("建议: %s | EV: %.2f | 分析: %s", suggestedAction, ev, reason);
+        return String.format("建议: %s | EV: %.2f | 分析: %s", suggestedAction, ev, reason());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.example.yolov5tfliteandroid.model;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+
+/**
+ * 一个待决策的局面 (记录下来的 analyzeAndDecide 输入)，用于离线回放
+ */
+public class DecisionSpot {
+    public long id;               // 序号 (如源文件中的行号)
+    public long hand;             // 手牌位掩码 (见 CardSet)
+    public long board;            // 公共牌位掩码
+    public int numOpponents;
+    public double potSize;
+    public double costToCall;
+    public double myStack;
+    public double minRaise;
+
+    // ==================== 记录中的实际行动 (来自牌谱，未知时 action 为 null) ====================
+    public Action action;
+    public double amount;         // 跟注额，或下注/加注到的总额
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s %s opp=%d pot=%.1f call=%.1f stack=%.1f minRaise=%.1f", id,
+                CardSet.format(hand), CardSet.format(board), numOpponents, potSize, costToCall, myStack, minRaise);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.yolov5tfliteandroid.model;
+
+/**
+ * 胜率估计结果：胜率 + 抽样误差
+ */
+public class EquityEstimate {
+    public double winRate;
+    public double stdError;   // 胜率的标准误差 (精确穷举时为 0)
+    public long samples;      // 实际模拟次数 (精确穷举时为穷举的结果数)
+    public boolean exact;     // 是否为精确穷举结果
+    public HandStrengthProfile profile; // 牌力分布 (翻前、对已知手牌/范围时为 null)
+    public double effectiveSamples; // 有效样本量：普通抽样达到相同误差所需的次数 (0 表示等于 samples)
+
+    /**
+     * 95% 置信区间半宽
+     */
+    public double marginOfError() {
+        return 1.96 * stdError;
+    }
+
+    /**
+     * 有效样本量 (分层抽样时大于实际次数)
+     */
+    public double effectiveSampleSize() {
+        return effectiveSamples > 0 ? effectiveSamples : samples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.2f%% ±%.2f%% (%d %s)", winRate * 100, marginOfError() * 100, samples,
+                exact ? "outcomes" : "samples");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.yolov5tfliteandroid.model;
+
+/**
+ * 牌力分布 (与胜率在同一次模拟/穷举中统计，不额外抽样)
+ * <p>
+ * 当前牌力 HS：按已知公牌与对手当前手牌比较，领先计 1、平局计 0.5。
+ * 潜力 (Billings)：PPot = 现在落后/平局、河牌时反超的概率；NPot = 现在领先/平局、河牌时被反超的概率。
+ * 下一街分布：按下一张公牌 (翻牌圈看转牌、转牌圈看河牌) 分组的条件胜率，
+ * 其均值即为胜率，平方均值 EHS² 与直方图区分"成牌"(集中) 和"听牌"(两极分化)。
+ */
+public class HandStrengthProfile {
+
+    public static final int HISTOGRAM_BUCKETS = 10;
+
+    public double handStrength;           // HS：当前牌力
+    public double positivePotential;      // PPot
+    public double negativePotential;      // NPot
+    public double effectiveHandStrength;  // EHS = HS * (1 - NPot) + (1 - HS) * PPot
+    public double expectedHandStrength;   // E[下一街胜率]
+    public double ehsSquared;             // E[下一街胜率²]
+    // histogram[i]：下一街胜率落在 [i/10, (i+1)/10) 的概率 (最后一格含 1.0)；
+    // 抽样得到时各组胜率已向均值收缩以扣除抽样噪声，分散程度与 variance() 一致，但单个分组仍有误差
+    public final double[] histogram = new double[HISTOGRAM_BUCKETS];
+
+    /**
+     * 下一街胜率的方差，越大说明越依赖后续发牌 (听牌)
+     */
+    public double variance() {
+        return Math.max(0, ehsSquared - expectedHandStrength * expectedHandStrength);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HS %.1f%% | PPot %.1f%% | NPot %.1f%% | EHS %.1f%% | EHS² %.3f",
+                handStrength * 100, positivePotential * 100, negativePotential * 100,
+                effectiveHandStrength * 100, ehsSquared);
+    }
+}
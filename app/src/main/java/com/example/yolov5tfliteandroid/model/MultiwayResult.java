@@ -0,0 +1,35 @@
+package com.example.yolov5tfliteandroid.model;
+
+/**
+ * 多人全下的结算期望：每个玩家在每个底池 (主池 + 边池) 的份额与期望收益
+ */
+public class MultiwayResult {
+    // 底池按投入层级从低到高排列，0 为主池
+    public double[] potAmounts;
+    public boolean[][] eligible;      // [底池][玩家] 是否有资格争夺该池
+    public double[][] potShare;       // [玩家][底池] 期望份额 (平分按人数折算)，每个池内各玩家之和为 1
+    public double[] equity;           // 每个玩家的主池份额，即通常意义上的胜率
+    public double[] expectedPayout;   // 每个玩家的期望收回筹码 Σ 池额 × 份额
+    public double[] ev;               // 期望收益 = 期望收回 - 投入
+    public long samples;              // 模拟次数 (精确穷举时为公牌组合数)
+    public boolean exact;
+
+    public int playerCount() {
+        return equity.length;
+    }
+
+    public int potCount() {
+        return potAmounts.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < equity.length; p++) {
+            sb.append(String.format("P%d: equity %.2f%%, payout %.1f, EV %+.1f%n",
+                    p, equity[p] * 100, expectedPayout[p], ev[p]));
+        }
+        sb.append(String.format("(%d %s)", samples, exact ? "boards" : "samples"));
+        return sb.toString();
+    }
+}
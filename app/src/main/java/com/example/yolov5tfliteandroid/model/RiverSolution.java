@@ -0,0 +1,73 @@
+package com.example.yolov5tfliteandroid.model;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+
+/**
+ * 河牌子博弈求解结果：根节点行动者每手牌的混合策略
+ * <p>
+ * 行动 a 的投入额 amounts[a] 为该行动本身投入的筹码 (跟注额、下注额或加注到的总额减去已投入部分)，
+ * 过牌 / 弃牌为 0。
+ */
+public class RiverSolution {
+    public Action[] actions;      // 根节点可选行动
+    public double[] amounts;      // 每个行动投入的筹码
+    public int[] combos;          // 根节点行动者范围内的手牌 (HandRange 组合下标)
+    public double[][] strategy;   // [手牌][行动] 平均策略 (各行概率和为 1)
+    public double[][] actionValues; // [手牌][行动] 双方按平均策略继续时该行动的期望收益 (相对子博弈开始)
+    public double exploitability; // 可剥削度 (占底池比例)：双方最佳应对收益之和超出博弈值的一半
+    public int iterations;        // CFR+ 迭代次数
+    public long solveNanos;       // 求解耗时 (纳秒)
+
+    /**
+     * 指定手牌的混合策略，不在范围内时返回 null
+     */
+    public double[] strategyFor(int comboIndex) {
+        for (int i = 0; i < combos.length; i++) {
+            if (combos[i] == comboIndex) return strategy[i];
+        }
+        return null;
+    }
+
+    /**
+     * 指定手牌各行动的期望收益，不在范围内时返回 null
+     */
+    public double[] valuesFor(int comboIndex) {
+        for (int i = 0; i < combos.length; i++) {
+            if (combos[i] == comboIndex) return actionValues[i];
+        }
+        return null;
+    }
+
+    /**
+     * 按概率 r ∈ [0, 1) 从混合策略中选出一个行动下标
+     */
+    public static int pick(double[] mix, double r) {
+        double acc = 0;
+        for (int a = 0; a < mix.length; a++) {
+            acc += mix[a];
+            if (r < acc) return a;
+        }
+        return mix.length - 1;
+    }
+
+    /**
+     * 混合策略的可读形式，例如 "CHECK_FOLD 62% | RAISE(50.0) 38%"
+     */
+    public String describe(double[] mix) {
+        StringBuilder sb = new StringBuilder();
+        for (int a = 0; a < actions.length; a++) {
+            if (mix[a] < 0.005) continue;
+            if (sb.length() > 0) sb.append(" | ");
+            sb.append(actions[a]);
+            if (amounts[a] > 0) sb.append(String.format("(%.1f)", amounts[a]));
+            sb.append(String.format(" %.0f%%", mix[a] * 100));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CFR+ %d iterations, exploitability %.2f%% pot (%d ms)", iterations,
+                exploitability * 100, solveNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.yolov5tfliteandroid.utils;
+
+/**
+ * Walker 别名采样器：建表 O(n)，每次采样 O(1) (一次随机下标 + 一次随机比较)
+ */
+public final class AliasSampler {
+
+    private final int[] outcomes;
+    private final float[] probability;
+    private final int[] alias;
+    private final int size;
+
+    /**
+     * @param weights  权重数组
+     * @param excluded 需要排除的下标 (可为 null)，排除项视为权重 0
+     */
+    public AliasSampler(float[] weights, boolean[] excluded) {
+        int n = 0;
+        double total = 0;
+        int[] outcomes = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0 && (excluded == null || !excluded[i])) {
+                outcomes[n++] = i;
+                total += weights[i];
+            }
+        }
+        this.outcomes = outcomes;
+        this.size = n;
+        this.probability = new float[n];
+        this.alias = new int[n];
+        if (n == 0) {
+            return;
+        }
+
+        // 归一化到平均值 1，拆分为“小”与“大”两个栈
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallTop = 0;
+        int largeTop = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[outcomes[i]] * n / total;
+            if (scaled[i] < 1.0) small[smallTop++] = i;
+            else large[largeTop++] = i;
+        }
+        while (smallTop > 0 && largeTop > 0) {
+            int s = small[--smallTop];
+            int l = large[--largeTop];
+            probability[s] = (float) scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            if (scaled[l] < 1.0) small[smallTop++] = l;
+            else large[largeTop++] = l;
+        }
+        // 浮点误差导致的剩余项概率视为 1
+        while (largeTop > 0) probability[large[--largeTop]] = 1f;
+        while (smallTop > 0) probability[small[--smallTop]] = 1f;
+    }
+
+    /**
+     * 是否没有任何可采样项
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 采样一个下标 (原始权重数组中的下标)
+     */
+    public int sample(RandomSource random) {
+        int column = random.nextInt(size);
+        return outcomes[random.nextDouble() < probability[column] ? column : alias[column]];
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 批量胜率计算：一次调用计算成百上千个 (手牌, 公牌, 对手数) 局面
+ * <p>
+ * 公牌与对手数相同的局面归为一组，组内每次迭代只洗一次牌：补发的公牌和对手手牌在组内共享，
+ * 对手最大牌力也只评估一次，每个成员只需再评估自己的 7 张牌。
+ * 若共享的发牌用到了某个成员的手牌，则对该成员从同一段随机序列中跳过自己的两张牌重新取牌，
+ * 保证每个成员看到的仍是均匀分布。各组、各块在 Fork/Join 池上并行。
+ */
+public final class BatchEquityEngine {
+
+    // 每块最少迭代次数
+    private static final int MIN_CHUNK = 256;
+
+    // 一副牌最多容纳的对手数：(52 - 2 - 5) / 2
+    private static final int MAX_OPPONENTS = 22;
+
+    private BatchEquityEngine() {
+    }
+
+    /**
+     * @param hands        每个局面 2 张手牌，长度 2n
+     * @param boards       每个局面 5 个公牌槽位，长度 5n，未发出的牌用 -1 填充 (只能在末尾)
+     * @param numOpponents 每个局面的对手数量 (1-22)，长度 n
+     * @param iterations   每个局面的模拟次数
+     * @return 每个局面的胜率 (平局计一半)，长度 n
+     */
+    public static double[] calculate(int[] hands, int[] boards, int[] numOpponents, int iterations) {
+        int n = numOpponents.length;
+        if (hands.length != 2 * n || boards.length != 5 * n) {
+            throw new IllegalArgumentException("Expected 2n hand cards and 5n board slots for n=" + n);
+        }
+
+        // 1. 按 (公牌掩码, 对手数) 分组
+        Map<Long, List<Integer>> grouped = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            long boardMask = 0;
+            for (int k = 0; k < 5; k++) {
+                int c = boards[5 * i + k];
+                if (c >= 0) boardMask |= 1L << c;
+            }
+            long handMask = (1L << hands[2 * i]) | (1L << hands[2 * i + 1]);
+            if (hands[2 * i] == hands[2 * i + 1] || (handMask & boardMask) != 0) {
+                throw new IllegalArgumentException("Spot " + i + " has duplicate cards");
+            }
+            if (numOpponents[i] < 1 || numOpponents[i] > MAX_OPPONENTS) {
+                throw new IllegalArgumentException("Spot " + i + " has " + numOpponents[i] + " opponents");
+            }
+            // 公牌掩码占 52 位，低 5 位放对手数
+            Long key = (boardMask << 5) | numOpponents[i];
+            List<Integer> members = grouped.get(key);
+            if (members == null) {
+                members = new ArrayList<>();
+                grouped.put(key, members);
+            }
+            members.add(i);
+        }
+
+        // 2. 切分成 (组, 块) 工作项
+        int parallelism = EquityEngine.getParallelism();
+        long seed = RandomSources.nextSeed();
+        List<Chunk> chunks = new ArrayList<>();
+        int groupIndex = 0;
+        for (List<Integer> members : grouped.values()) {
+            Group group = new Group(hands, boards, numOpponents, members);
+            int pieces = Math.max(1, Math.min(parallelism, iterations / MIN_CHUNK));
+            for (int p = 0; p < pieces; p++) {
+                int runs = iterations / pieces + (p < iterations % pieces ? 1 : 0);
+                chunks.add(new Chunk(group, runs, EquityEngine.mixSeed(seed, groupIndex * 64 + p)));
+            }
+            groupIndex++;
+        }
+
+        // 3. 并行执行并合并
+        if (parallelism == 1) {
+            for (Chunk c : chunks) c.compute();
+        } else {
+            EquityEngine.pool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(chunks);
+                }
+            });
+        }
+        long[] wins = new long[n];
+        long[] ties = new long[n];
+        for (Chunk c : chunks) {
+            long[] counts = c.getRawResult();
+            for (int m = 0; m < c.group.size; m++) {
+                wins[c.group.spots[m]] += counts[2 * m];
+                ties[c.group.spots[m]] += counts[2 * m + 1];
+            }
+        }
+        double[] equities = new double[n];
+        for (int i = 0; i < n; i++) {
+            equities[i] = (wins[i] + 0.5 * ties[i]) / iterations;
+        }
+        return equities;
+    }
+
+    /**
+     * 一组共享公牌与对手数的局面
+     */
+    private static final class Group {
+        final int[] spots;
+        final int[] hand0;
+        final int[] hand1;
+        final long[] handMask;
+        final int size;
+        final int[] knownBoard;
+        final int numOpponents;
+
+        Group(int[] hands, int[] boards, int[] numOpponents, List<Integer> members) {
+            size = members.size();
+            spots = new int[size];
+            hand0 = new int[size];
+            hand1 = new int[size];
+            handMask = new long[size];
+            for (int m = 0; m < size; m++) {
+                int i = members.get(m);
+                spots[m] = i;
+                hand0[m] = hands[2 * i];
+                hand1[m] = hands[2 * i + 1];
+                handMask[m] = (1L << hand0[m]) | (1L << hand1[m]);
+            }
+            int first = spots[0];
+            int k = 0;
+            while (k < 5 && boards[5 * first + k] >= 0) k++;
+            knownBoard = new int[k];
+            System.arraycopy(boards, 5 * first, knownBoard, 0, k);
+            this.numOpponents = numOpponents[first];
+        }
+
+        /**
+         * 组内模拟：counts[2m] = 成员 m 的胜场，counts[2m+1] = 平局
+         */
+        void simulate(int iterations, RandomSource random, long[] counts) {
+            // 牌堆只排除公牌，成员手牌在取牌时跳过
+            long boardMask = EquityEngine.cardMask(knownBoard);
+            int[] deck = new int[52];
+            int deckSize = 0;
+            for (int c = 0; c < 52; c++) {
+                if (((boardMask >>> c) & 1) == 0) deck[deckSize++] = c;
+            }
+            int knownSize = knownBoard.length;
+            int boardToDeal = 5 - knownSize;
+            int cardsNeeded = boardToDeal + 2 * numOpponents;
+            // 多洗 2 张，供命中手牌的成员跳过后补足
+            int prefix = Math.min(cardsNeeded + 2, deckSize);
+            int[] board = new int[5];
+            int[] local = new int[cardsNeeded];
+            int[] own = new int[5];
+            HandEvaluator.Board shared = new HandEvaluator.Board();
+            HandEvaluator.Board ownRunout = new HandEvaluator.Board();
+            System.arraycopy(knownBoard, 0, board, 0, knownSize);
+            System.arraycopy(knownBoard, 0, own, 0, knownSize);
+
+            for (int it = 0; it < iterations; it++) {
+                for (int j = 0; j < prefix; j++) {
+                    int r = j + random.nextInt(deckSize - j);
+                    int temp = deck[r];
+                    deck[r] = deck[j];
+                    deck[j] = temp;
+                }
+                long dealtMask = 0;
+                for (int j = 0; j < cardsNeeded; j++) dealtMask |= 1L << deck[j];
+
+                // 共享部分：公牌 + 对手最大牌力
+                for (int k = 0; k < boardToDeal; k++) board[knownSize + k] = deck[k];
+                shared.set(board[0], board[1], board[2], board[3], board[4]);
+                int sharedMaxOpp = maxOpponentRank(deck, boardToDeal, shared);
+
+                for (int m = 0; m < size; m++) {
+                    int maxOpp;
+                    int myRank;
+                    if ((dealtMask & handMask[m]) == 0) {
+                        maxOpp = sharedMaxOpp;
+                        myRank = shared.evaluate(hand0[m], hand1[m]);
+                    } else {
+                        // 共享发牌用到了该成员的手牌：跳过这两张重新取前 cardsNeeded 张
+                        int len = 0;
+                        for (int j = 0; j < prefix && len < cardsNeeded; j++) {
+                            if (((handMask[m] >>> deck[j]) & 1) == 0) local[len++] = deck[j];
+                        }
+                        for (int k = 0; k < boardToDeal; k++) own[knownSize + k] = local[k];
+                        ownRunout.set(own[0], own[1], own[2], own[3], own[4]);
+                        maxOpp = maxOpponentRank(local, boardToDeal, ownRunout);
+                        myRank = ownRunout.evaluate(hand0[m], hand1[m]);
+                    }
+                    if (myRank > maxOpp) counts[2 * m]++;
+                    else if (myRank == maxOpp) counts[2 * m + 1]++;
+                }
+            }
+        }
+
+        private int maxOpponentRank(int[] cards, int offset, HandEvaluator.Board board) {
+            int max = 0;
+            for (int op = 0; op < numOpponents; op++) {
+                int c = offset + 2 * op;
+                int rank = board.evaluate(cards[c], cards[c + 1]);
+                if (rank > max) max = rank;
+            }
+            return max;
+        }
+    }
+
+    /**
+     * 一个 (组, 块) 工作项
+     */
+    private static final class Chunk extends RecursiveTask<long[]> {
+        final Group group;
+        private final int iterations;
+        private final long seed;
+
+        Chunk(Group group, int iterations, long seed) {
+            this.group = group;
+            this.iterations = iterations;
+            this.seed = seed;
+        }
+
+        @Override
+        protected long[] compute() {
+            long[] counts = new long[2 * group.size];
+            group.simulate(iterations, RandomSources.create(seed), counts);
+            setRawResult(counts);
+            return counts;
+        }
+    }
+}
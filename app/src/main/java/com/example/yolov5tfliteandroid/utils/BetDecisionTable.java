@@ -0,0 +1,157 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 下注决策表：把经验规则 (见 {@link TexasHoldemCalUtil#classifyBet}) 按量化输入预先展开
+ * <p>
+ * 规则只依赖几个阈值比较，因此把输入量化成格子后，每格的决策结果是唯一的：
+ * <ul>
+ *   <li>原始胜率：1% 一格 (100 格)</li>
+ *   <li>修正胜率：5% 一格 (20 格，≥ 95% 合并)</li>
+ *   <li>SPR：≤ 3 / 3-5 / &gt; 5 三档</li>
+ *   <li>牌面：干燥 / 湿润</li>
+ *   <li>局面：无人下注 / 面临下注且正 EV / 面临下注且负 EV × 底池赔率 5% 一格 (≥ 20% 合并)</li>
+ * </ul>
+ * 所有格子边界都与规则阈值对齐，只有输入恰好等于阈值 (如胜率正好 0.85) 时查表结果可能差一格。
+ * 表中只存决策编号 (4 bit)，下注额仍按底池 / 筹码在运行时计算，混合策略的随机抽样也留在运行时。
+ * <p>
+ * 文件格式 (大端)：
+ * <pre>
+ *   int  MAGIC ("BDTB")
+ *   int  VERSION
+ *   int  格子数
+ *   byte[(格子数 + 1) / 2] 决策编号，每字节两格，偶数格在低 4 位
+ * </pre>
+ * 由 {@link BetDecisionTableGenerator} 离线生成，作为 Java 资源随 APK 打包，首次查询时读入内存。
+ */
+public final class BetDecisionTable {
+
+    public static final String RESOURCE_NAME = "bet_decision.bin";
+    public static final int MAGIC = 0x42445442; // "BDTB"
+    public static final int VERSION = 1;
+
+    // ==================== 决策编号 ====================
+    public static final int CHECK_WEAK = 0;          // 弱牌过牌/弃牌
+    public static final int CHECK_SHALLOW_DRAW = 1;  // 听牌但筹码太浅
+    public static final int BET_NUT_WET = 2;         // 坚果牌湿面 75% 底池
+    public static final int BET_NUT_DRY = 3;         // 坚果牌干面 33% 底池
+    public static final int BET_STRONG_WET = 4;      // 强牌湿面 66% 底池
+    public static final int BET_STRONG_DRY = 5;      // 强牌干面 50% 底池
+    public static final int BET_SEMI_BLUFF = 6;      // 听牌半诈唬 50% 底池
+    public static final int RAISE_VALUE = 7;         // 价值加注
+    public static final int RAISE_DRAW_MIXED = 8;    // 听牌 40% 概率加注，否则跟注
+    public static final int CALL_POSITIVE_EV = 9;    // 正 EV 跟注
+    public static final int CALL_SPECULATIVE = 10;   // 赔率极好的投机跟注
+    public static final int FOLD = 11;               // 负 EV 弃牌
+    public static final int OUTCOMES = 12;
+
+    // ==================== 量化参数 ====================
+    public static final int RAW_BUCKETS = 100;
+    public static final int ADJ_BUCKETS = 20;
+    public static final int SPR_BUCKETS = 3;
+    public static final int ODDS_BUCKETS = 5;
+    public static final int SLOTS = 2 + ODDS_BUCKETS; // 无人下注 / 正 EV / 负 EV × 赔率
+    public static final int CELLS = RAW_BUCKETS * ADJ_BUCKETS * SPR_BUCKETS * 2 * SLOTS;
+    static final double RAW_STEP = 0.01;
+    static final double ADJ_STEP = 0.05;
+    static final double ODDS_STEP = 0.05;
+    static final double[] SPR_EDGES = {3, 5};
+    static final int HEADER_BYTES = 12;
+
+    private BetDecisionTable() {
+    }
+
+    /**
+     * 表是否可用 (资源存在且格式正确)
+     */
+    public static boolean isAvailable() {
+        return Holder.TABLE != null;
+    }
+
+    /**
+     * 查表：返回决策编号，表不可用时返回 -1
+     *
+     * @param facing     是否面临下注 (costToCall != 0)
+     * @param positiveEv EV 是否为正 (仅面临下注时有意义)
+     * @param potOdds    跟注所需胜率 (仅面临下注且负 EV 时有意义)
+     */
+    public static int lookup(double rawWinRate, double adjWinRate, boolean facing, boolean positiveEv,
+                             double potOdds, boolean isWetBoard, double spr) {
+        byte[] table = Holder.TABLE;
+        if (table == null) {
+            return -1;
+        }
+        return code(table, cellIndex(rawWinRate, adjWinRate, facing, positiveEv, potOdds, isWetBoard, spr));
+    }
+
+    /**
+     * 量化后的格子下标
+     */
+    public static int cellIndex(double rawWinRate, double adjWinRate, boolean facing, boolean positiveEv,
+                                double potOdds, boolean isWetBoard, double spr) {
+        int r = bucket(rawWinRate, RAW_STEP, RAW_BUCKETS);
+        int a = bucket(adjWinRate, ADJ_STEP, ADJ_BUCKETS);
+        int s = spr > SPR_EDGES[1] ? 2 : spr > SPR_EDGES[0] ? 1 : 0;
+        int slot = !facing ? 0 : positiveEv ? 1 : 2 + bucket(potOdds, ODDS_STEP, ODDS_BUCKETS);
+        return (((r * ADJ_BUCKETS + a) * SPR_BUCKETS + s) * 2 + (isWetBoard ? 1 : 0)) * SLOTS + slot;
+    }
+
+    private static int bucket(double value, double step, int buckets) {
+        int b = (int) (value / step);
+        if (b < 0) return 0;
+        return b >= buckets ? buckets - 1 : b;
+    }
+
+    static int code(byte[] table, int cell) {
+        int b = table[cell >> 1];
+        return (cell & 1) == 0 ? b & 0x0F : (b >> 4) & 0x0F;
+    }
+
+    // 延迟加载：第一次访问 Holder 时才读取资源
+    private static final class Holder {
+        static final byte[] TABLE;
+
+        static {
+            byte[] table;
+            try {
+                table = load();
+            } catch (IOException e) {
+                table = null;
+            }
+            TABLE = table;
+        }
+    }
+
+    private static byte[] load() throws IOException {
+        InputStream in = BetDecisionTable.class.getResourceAsStream(RESOURCE_NAME);
+        if (in == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + (CELLS + 1) / 2);
+        try {
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = in.read(chunk)) != -1) {
+                bytes.write(chunk, 0, n);
+            }
+        } finally {
+            in.close();
+        }
+        byte[] raw = bytes.toByteArray();
+        if (raw.length != HEADER_BYTES + (CELLS + 1) / 2) {
+            throw new IOException("Unexpected decision table size: " + raw.length);
+        }
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(raw, 0, HEADER_BYTES));
+        if (header.readInt() != MAGIC || header.readInt() != VERSION || header.readInt() != CELLS) {
+            throw new IOException("Bad decision table header");
+        }
+        byte[] table = new byte[(CELLS + 1) / 2];
+        System.arraycopy(raw, HEADER_BYTES, table, 0, table.length);
+        return table;
+    }
+}
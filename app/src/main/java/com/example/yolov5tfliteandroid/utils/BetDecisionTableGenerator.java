@@ -0,0 +1,145 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 离线生成下注决策表 (见 {@link BetDecisionTable})
+ * <p>
+ * 用法 (普通 JVM)：
+ * <pre>
+ *   java -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.BetDecisionTableGenerator \
+ *        app/src/main/resources/com/example/yolov5tfliteandroid/utils/bet_decision.bin [验证样本数]
+ * </pre>
+ * 每格在边界内侧和中点取样调用 {@link TexasHoldemCalUtil#classifyBet}，结果不一致说明格子边界
+ * 与规则阈值没有对齐 (规则改了但量化参数没跟着改)，直接报错；生成后再用随机输入验证查表与规则一致。
+ */
+public final class BetDecisionTableGenerator {
+
+    private static final int DEFAULT_CORPUS = 1_000_000;
+    private static final double EPS = 1e-9;
+
+    private BetDecisionTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BetDecisionTableGenerator <output file> [validation samples]");
+            System.exit(1);
+        }
+        int corpus = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CORPUS;
+        byte[] table = generate();
+        int mismatches = validate(table, corpus, 20240601L);
+        if (mismatches > 0) {
+            System.err.printf("Validation failed: %d / %d mismatches%n", mismatches, corpus);
+            System.exit(2);
+        }
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(args[0]));
+        try {
+            write(out, table);
+        } finally {
+            out.close();
+        }
+        System.out.printf("Wrote %s (%d cells, %d bytes), %d validation samples agree%n", args[0],
+                BetDecisionTable.CELLS, table.length, corpus);
+    }
+
+    /**
+     * 展开全部格子 (每字节两格)
+     *
+     * @throws IllegalStateException 某格内规则结果不唯一
+     */
+    public static byte[] generate() {
+        byte[] table = new byte[(BetDecisionTable.CELLS + 1) / 2];
+        double[] sprSamples = new double[3];
+        for (int r = 0; r < BetDecisionTable.RAW_BUCKETS; r++) {
+            double[] raw = samples(r, BetDecisionTable.RAW_STEP, BetDecisionTable.RAW_BUCKETS, 1.0);
+            for (int a = 0; a < BetDecisionTable.ADJ_BUCKETS; a++) {
+                double[] adj = samples(a, BetDecisionTable.ADJ_STEP, BetDecisionTable.ADJ_BUCKETS, 1.5);
+                for (int s = 0; s < BetDecisionTable.SPR_BUCKETS; s++) {
+                    sprSamples(s, sprSamples);
+                    for (int wet = 0; wet < 2; wet++) {
+                        for (int slot = 0; slot < BetDecisionTable.SLOTS; slot++) {
+                            boolean facing = slot > 0;
+                            boolean positiveEv = slot == 1;
+                            double[] odds = slot < 2 ? new double[]{0}
+                                    : samples(slot - 2, BetDecisionTable.ODDS_STEP, BetDecisionTable.ODDS_BUCKETS, 1.0);
+                            int code = -1;
+                            int cell = -1;
+                            for (double rv : raw) {
+                                for (double av : adj) {
+                                    for (double sv : sprSamples) {
+                                        for (double ov : odds) {
+                                            int c = TexasHoldemCalUtil.classifyBet(rv, av, facing, positiveEv, ov,
+                                                    wet == 1, sv);
+                                            if (code < 0) {
+                                                code = c;
+                                                cell = BetDecisionTable.cellIndex(rv, av, facing, positiveEv, ov,
+                                                        wet == 1, sv);
+                                            } else if (c != code) {
+                                                throw new IllegalStateException(String.format(
+                                                        "Cell %d not homogeneous: raw=%.4f adj=%.4f spr=%.2f odds=%.4f",
+                                                        cell, rv, av, sv, ov));
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                            table[cell >> 1] |= (cell & 1) == 0 ? code : code << 4;
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 随机输入下比较查表与规则，返回不一致的次数
+     */
+    public static int validate(byte[] table, int samples, long seed) {
+        RandomSource random = RandomSources.create(seed);
+        int mismatches = 0;
+        for (int i = 0; i < samples; i++) {
+            double raw = random.nextDouble();
+            double adj = raw * (1 + random.nextDouble() * 0.4);
+            double pot = 1 + random.nextDouble() * 999;
+            double cost = random.nextInt(3) == 0 ? 0 : random.nextDouble() * pot * 2;
+            double stack = random.nextDouble() * 5000;
+            boolean wet = random.nextInt(2) == 0;
+            boolean facing = cost != 0;
+            double potOdds = facing ? cost / (pot + cost) : 0;
+            boolean positiveEv = adj * (pot + cost) - cost > 0;
+            double spr = stack / pot;
+            int expected = TexasHoldemCalUtil.classifyBet(raw, adj, facing, positiveEv, potOdds, wet, spr);
+            int actual = BetDecisionTable.code(table,
+                    BetDecisionTable.cellIndex(raw, adj, facing, positiveEv, potOdds, wet, spr));
+            if (actual != expected) mismatches++;
+        }
+        return mismatches;
+    }
+
+    // 格子 b 内的取样点：下边界内侧、中点、上边界内侧；最后一格一直延伸到 max
+    private static double[] samples(int b, double step, int buckets, double max) {
+        double lo = b * step;
+        double hi = b == buckets - 1 ? max : (b + 1) * step;
+        return new double[]{lo + EPS, (lo + hi) / 2, hi - EPS};
+    }
+
+    private static void sprSamples(int s, double[] out) {
+        double[] edges = BetDecisionTable.SPR_EDGES;
+        double lo = s == 0 ? 0 : edges[s - 1] + EPS;
+        double hi = s < edges.length ? edges[s] : 1000;
+        out[0] = lo;
+        out[1] = (lo + hi) / 2;
+        out[2] = hi;
+    }
+
+    static void write(DataOutputStream out, byte[] table) throws IOException {
+        out.writeInt(BetDecisionTable.MAGIC);
+        out.writeInt(BetDecisionTable.VERSION);
+        out.writeInt(BetDecisionTable.CELLS);
+        out.write(table);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * 翻后牌力分桶 (Card Abstraction)：按胜率分布聚类后的 局面 → 桶 映射
+ * <p>
+ * 每条街一个分桶文件，由 {@link CardAbstractionGenerator} 离线生成。文件按 {@link HandIndexer} 的规范下标
+ * 存放桶编号，运行时只读内存映射，一次下标计算 + 一次 2 字节读取即可得到任意局面的桶。
+ * 桶编号按平均胜率升序排列 (编号越大牌力越强)。翻前不需要文件：169 种起手牌各自一个桶。
+ * <p>
+ * 文件格式 (大端)：
+ * <pre>
+ *   int  MAGIC ("CABK")
+ *   int  VERSION
+ *   int  公牌张数 (3 / 4 / 5)
+ *   int  桶数
+ *   long 局面数 (= HandIndexer.size())
+ *   char[局面数] 桶编号，下标 = HandIndexer.index(hand, board)
+ * </pre>
+ * 分桶文件较大 (河牌约 246 MB)，不随 APK 打包，通过 {@link #open} 从目录加载。实例线程安全。
+ */
+public final class CardAbstraction {
+
+    public static final int MAGIC = 0x4341424B; // "CABK"
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    private final ByteBuffer[] tables = new ByteBuffer[6];
+    private final int[] bucketCounts = new int[6];
+
+    private CardAbstraction() {
+        bucketCounts[0] = (int) HandIndexer.forBoardSize(0).size();
+    }
+
+    /**
+     * 分桶文件名：flop_buckets.bin / turn_buckets.bin / river_buckets.bin
+     */
+    public static String fileName(int boardSize) {
+        switch (boardSize) {
+            case 3:
+                return "flop_buckets.bin";
+            case 4:
+                return "turn_buckets.bin";
+            case 5:
+                return "river_buckets.bin";
+            default:
+                throw new IllegalArgumentException("No bucket file for board size " + boardSize);
+        }
+    }
+
+    /**
+     * 映射目录下已有的分桶文件 (缺少的街道 {@link #hasStreet} 返回 false)
+     */
+    public static CardAbstraction open(File directory) throws IOException {
+        CardAbstraction abstraction = new CardAbstraction();
+        for (int boardSize = 3; boardSize <= 5; boardSize++) {
+            File file = new File(directory, fileName(boardSize));
+            if (file.isFile()) {
+                abstraction.tables[boardSize] = map(file, boardSize);
+                abstraction.bucketCounts[boardSize] = abstraction.tables[boardSize].getInt(12);
+            }
+        }
+        return abstraction;
+    }
+
+    /**
+     * 该公牌张数的街道是否可查
+     */
+    public boolean hasStreet(int boardSize) {
+        return boardSize == 0 || (boardSize >= 3 && boardSize <= 5 && tables[boardSize] != null);
+    }
+
+    /**
+     * 某条街的桶数
+     */
+    public int bucketCount(int boardSize) {
+        if (!hasStreet(boardSize)) {
+            throw new IllegalStateException("No buckets loaded for board size " + boardSize);
+        }
+        return bucketCounts[boardSize];
+    }
+
+    /**
+     * 局面所在的桶 (int 编码 0-51)
+     */
+    public int bucket(int[] hand, int[] board) {
+        return bucket(CardSet.of(hand), CardSet.of(board));
+    }
+
+    /**
+     * 局面所在的桶 (位掩码，见 {@link CardSet})
+     */
+    public int bucket(long hand, long board) {
+        int boardSize = Long.bitCount(board);
+        if (!hasStreet(boardSize)) {
+            throw new IllegalStateException("No buckets loaded for board size " + boardSize);
+        }
+        long index = HandIndexer.forBoardSize(boardSize).index(hand, board);
+        if (boardSize == 0) {
+            return (int) index;
+        }
+        return tables[boardSize].getChar(HEADER_BYTES + (int) index * 2);
+    }
+
+    private static ByteBuffer map(File file, int boardSize) throws IOException {
+        long states = HandIndexer.forBoardSize(boardSize).size();
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            if (channel.size() != HEADER_BYTES + states * 2) {
+                throw new IOException("Unexpected bucket file size: " + file + " (" + channel.size() + " bytes)");
+            }
+            // 映射在通道关闭后仍然有效
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != boardSize || buffer.getLong(16) != states) {
+                throw new IOException("Bad bucket file header: " + file);
+            }
+            return buffer;
+        } finally {
+            raf.close();
+        }
+    }
+}
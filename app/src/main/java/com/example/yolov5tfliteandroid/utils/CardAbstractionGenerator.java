@@ -0,0 +1,477 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 离线生成翻后分桶文件 (见 {@link CardAbstraction})
+ * <p>
+ * 用法 (普通 JVM，翻牌/转牌需要较大堆，如 -Xmx4g)：
+ * <pre>
+ *   java -Xmx4g -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.CardAbstractionGenerator \
+ *        &lt;输出目录&gt; [flop[:桶数]] [turn[:桶数]] [river[:桶数]]
+ * </pre>
+ * 流程：按 {@link HandIndexer} 下标并行枚举该街全部规范局面 → 计算胜率分布 → 聚类 → 写出 下标 → 桶 文件。
+ * <ul>
+ *   <li>河牌：胜率是单个数 (对随机手牌穷举 990 种)，按 1/65535 量化后做一维加权 k-means</li>
+ *   <li>翻牌/转牌：穷举所有后续发牌，河牌胜率落入 {@value #HISTOGRAM_BINS} 格直方图，
+ *       以累积分布 (CDF，每格 1 字节) 存储；两个 CDF 的 L1 距离即一维 EMD (推土机距离)。
+ *       先在 {@value #TRAINING_SAMPLES} 个抽样局面上做 k-means++ 初始化与 Lloyd 迭代，再对全部局面分配最近中心</li>
+ * </ul>
+ * 最近中心搜索按 CDF 之和 (即平均胜率) 排序中心，|和之差| 是 L1 距离的下界，超过当前最优即停止，
+ * 通常只需比较少数几个中心。最终桶编号按平均胜率升序。
+ * 全部穷举的评估次数约为：河牌 1.2×10^11、转牌 6.4×10^11、翻牌 1.4×10^12，多核机器上为小时级任务。
+ */
+public final class CardAbstractionGenerator {
+
+    public static final int HISTOGRAM_BINS = 32;
+    static final int TRAINING_SAMPLES = 200_000;
+    static final int MAX_ITERATIONS = 30;
+    private static final int EQUITY_LEVELS = 65536;
+    private static final int CHUNK = 1024;
+    private static final String[] STREETS = {"preflop", null, null, "flop", "turn", "river"};
+    private static final int[] DEFAULT_BUCKETS = {0, 0, 0, 2000, 2000, 1000};
+
+    private CardAbstractionGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CardAbstractionGenerator <output dir> [flop[:buckets]] [turn[:buckets]] [river[:buckets]]");
+            System.exit(1);
+        }
+        File dir = new File(args[0]);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        int[] buckets = new int[6];
+        if (args.length == 1) {
+            buckets = DEFAULT_BUCKETS.clone();
+        }
+        for (int i = 1; i < args.length; i++) {
+            String[] parts = args[i].split(":");
+            int boardSize = Arrays.asList(STREETS).indexOf(parts[0]);
+            if (boardSize < 3) {
+                throw new IllegalArgumentException("Unknown street: " + parts[0]);
+            }
+            buckets[boardSize] = parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_BUCKETS[boardSize];
+        }
+        for (int boardSize = 3; boardSize <= 5; boardSize++) {
+            if (buckets[boardSize] == 0) continue;
+            long start = System.currentTimeMillis();
+            char[] assignment = new char[(int) HandIndexer.forBoardSize(boardSize).size()];
+            int k = generate(boardSize, buckets[boardSize], RandomSources.nextSeed(), assignment);
+            File file = new File(dir, CardAbstraction.fileName(boardSize));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+            try {
+                write(out, boardSize, k, assignment);
+            } finally {
+                out.close();
+            }
+            System.out.printf("Wrote %s (%d states, %d buckets) in %ds%n", file, assignment.length, k,
+                    (System.currentTimeMillis() - start) / 1000);
+        }
+    }
+
+    /**
+     * 计算一条街全部规范局面的桶编号
+     *
+     * @param assignment 输出，长度 = HandIndexer.size()
+     * @return 实际桶数 (不同胜率值少于 buckets 时会更少)
+     */
+    public static int generate(int boardSize, int buckets, long seed, char[] assignment) {
+        if (boardSize < 3 || boardSize > 5 || buckets < 1 || buckets > EQUITY_LEVELS) {
+            throw new IllegalArgumentException("Invalid street/buckets: " + boardSize + "/" + buckets);
+        }
+        HandIndexer indexer = HandIndexer.forBoardSize(boardSize);
+        int states = (int) indexer.size();
+        if (boardSize == 5) {
+            char[] equities = new char[states];
+            parallelFor(states, (from, to) -> {
+                long[] spot = new long[2];
+                int[] hand = new int[2];
+                int[] board = new int[5];
+                HandEvaluator.Board evaluator = new HandEvaluator.Board();
+                for (int i = from; i < to; i++) {
+                    indexer.unindex(i, spot);
+                    long dead = unpack(spot, hand, board);
+                    evaluator.set(board, 5);
+                    equities[i] = (char) Math.round(showdownEquity(hand[0], hand[1], dead, evaluator) * (EQUITY_LEVELS - 1));
+                }
+            });
+            return clusterEquities(equities, buckets, assignment);
+        }
+        byte[] cdfs = new byte[states * HISTOGRAM_BINS];
+        parallelFor(states, (from, to) -> {
+            long[] spot = new long[2];
+            int[] hand = new int[2];
+            int[] board = new int[5];
+            int[] counts = new int[HISTOGRAM_BINS];
+            HandEvaluator.Board evaluator = new HandEvaluator.Board();
+            for (int i = from; i < to; i++) {
+                indexer.unindex(i, spot);
+                unpack(spot, hand, board);
+                equityHistogram(hand, board, boardSize, evaluator, counts);
+                toCdf(counts, cdfs, i * HISTOGRAM_BINS);
+            }
+        });
+        return clusterHistograms(cdfs, HISTOGRAM_BINS, buckets, RandomSources.create(seed), assignment);
+    }
+
+    public static void write(DataOutputStream out, int boardSize, int buckets, char[] assignment) throws IOException {
+        out.writeInt(CardAbstraction.MAGIC);
+        out.writeInt(CardAbstraction.VERSION);
+        out.writeInt(boardSize);
+        out.writeInt(buckets);
+        out.writeLong(assignment.length);
+        for (char b : assignment) {
+            out.writeChar(b);
+        }
+    }
+
+    // ==================== 胜率特征 ====================
+
+    /**
+     * 5 张公牌已设置好时，对随机手牌穷举的摊牌胜率 (平局计一半)
+     *
+     * @param dead 手牌与公牌的位掩码
+     */
+    public static double showdownEquity(int h0, int h1, long dead, HandEvaluator.Board board) {
+        int mine = board.evaluate(h0, h1);
+        long points = 0;
+        int pairs = 0;
+        for (int a = 0; a < 52; a++) {
+            if (((dead >>> a) & 1) != 0) continue;
+            for (int b = a + 1; b < 52; b++) {
+                if (((dead >>> b) & 1) != 0) continue;
+                int op = board.evaluate(a, b);
+                points += mine > op ? 2 : mine == op ? 1 : 0;
+                pairs++;
+            }
+        }
+        return points / (2.0 * pairs);
+    }
+
+    /**
+     * 穷举后续公牌，统计河牌胜率的直方图 (counts 长度为格数)
+     *
+     * @param board 前 boardSize 张为已知公牌，长度 5
+     */
+    public static void equityHistogram(int[] hand, int[] board, int boardSize, HandEvaluator.Board evaluator, int[] counts) {
+        Arrays.fill(counts, 0);
+        long dead = (1L << hand[0]) | (1L << hand[1]);
+        for (int i = 0; i < boardSize; i++) dead |= 1L << board[i];
+        int bins = counts.length;
+        for (int t = 0; t < 52; t++) {
+            if (((dead >>> t) & 1) != 0) continue;
+            board[boardSize] = t;
+            if (boardSize == 4) {
+                evaluator.set(board, 5);
+                counts[bin(showdownEquity(hand[0], hand[1], dead | (1L << t), evaluator), bins)]++;
+                continue;
+            }
+            for (int r = t + 1; r < 52; r++) {
+                if (((dead >>> r) & 1) != 0) continue;
+                board[4] = r;
+                evaluator.set(board, 5);
+                counts[bin(showdownEquity(hand[0], hand[1], dead | (1L << t) | (1L << r), evaluator), bins)]++;
+            }
+        }
+    }
+
+    private static int bin(double equity, int bins) {
+        return Math.min(bins - 1, (int) (equity * bins));
+    }
+
+    /**
+     * 直方图转为累积分布，每格量化为 0-255 写入 out[offset..]
+     */
+    static void toCdf(int[] counts, byte[] out, int offset) {
+        int total = 0;
+        for (int c : counts) total += c;
+        int cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            out[offset + i] = (byte) Math.round(cumulative * 255.0 / total);
+        }
+    }
+
+    private static long unpack(long[] spot, int[] hand, int[] board) {
+        int h = 0;
+        for (long m = spot[0]; m != 0; m &= m - 1) hand[h++] = Long.numberOfTrailingZeros(m);
+        int b = 0;
+        for (long m = spot[1]; m != 0; m &= m - 1) board[b++] = Long.numberOfTrailingZeros(m);
+        return spot[0] | spot[1];
+    }
+
+    // ==================== 聚类 ====================
+
+    /**
+     * 一维加权 k-means：胜率只有 65536 个量化值，按值计数后迭代，与局面数无关
+     *
+     * @return 实际桶数 (桶编号按胜率升序)
+     */
+    public static int clusterEquities(char[] equities, int k, char[] assignment) {
+        long[] weight = new long[EQUITY_LEVELS];
+        for (char e : equities) weight[e]++;
+        int distinct = 0;
+        for (long w : weight) if (w > 0) distinct++;
+        k = Math.min(k, distinct);
+
+        // 初始中心在出现过的胜率值上均匀取点
+        int[] values = new int[distinct];
+        for (int v = 0, d = 0; v < EQUITY_LEVELS; v++) {
+            if (weight[v] > 0) values[d++] = v;
+        }
+        double[] centers = new double[k];
+        for (int c = 0; c < k; c++) {
+            centers[c] = values[(int) ((c + 0.5) * distinct / k)];
+        }
+
+        char[] nearest = new char[EQUITY_LEVELS];
+        for (int it = 0; it < MAX_ITERATIONS * 10; it++) {
+            // 中心有序，相邻中心的中点即为分界
+            for (int v = 0, j = 0; v < EQUITY_LEVELS; v++) {
+                while (j + 1 < k && centers[j + 1] - v < v - centers[j]) j++;
+                nearest[v] = (char) j;
+            }
+            double[] sum = new double[k];
+            long[] count = new long[k];
+            for (int v = 0; v < EQUITY_LEVELS; v++) {
+                sum[nearest[v]] += (double) v * weight[v];
+                count[nearest[v]] += weight[v];
+            }
+            boolean moved = false;
+            for (int j = 0; j < k; j++) {
+                double next = count[j] > 0 ? sum[j] / count[j] : centers[j];
+                if (Math.abs(next - centers[j]) > 1e-6) moved = true;
+                centers[j] = next;
+            }
+            if (!moved) break;
+        }
+        for (int i = 0; i < equities.length; i++) {
+            assignment[i] = nearest[equities[i]];
+        }
+        return k;
+    }
+
+    /**
+     * 直方图 k-means (EMD 距离)：抽样训练中心，再并行分配全部局面
+     *
+     * @param cdfs 每个局面 bins 个字节的累积分布
+     * @return 实际桶数 (桶编号按平均胜率升序)
+     */
+    public static int clusterHistograms(byte[] cdfs, int bins, int k, RandomSource random, char[] assignment) {
+        int states = cdfs.length / bins;
+        int samples = Math.min(states, TRAINING_SAMPLES);
+        byte[] training = new byte[samples * bins];
+        for (int i = 0; i < samples; i++) {
+            int s = samples == states ? i : random.nextInt(states);
+            System.arraycopy(cdfs, s * bins, training, i * bins, bins);
+        }
+        Centroids centroids = seedCentroids(training, bins, Math.min(k, samples), random);
+
+        char[] labels = new char[samples];
+        for (int it = 0; it < MAX_ITERATIONS; it++) {
+            centroids.sort();
+            parallelFor(samples, (from, to) -> {
+                for (int i = from; i < to; i++) labels[i] = (char) centroids.nearest(training, i * bins);
+            });
+            if (!centroids.update(training, labels)) break;
+        }
+        // 中心按 CDF 之和升序，即平均胜率降序，反转后桶编号按胜率升序
+        centroids.sort();
+        int last = centroids.k - 1;
+        parallelFor(states, (from, to) -> {
+            for (int i = from; i < to; i++) assignment[i] = (char) (last - centroids.nearest(cdfs, i * bins));
+        });
+        return centroids.k;
+    }
+
+    /**
+     * k-means++ 初始化：每个新中心按到已有中心最近距离的平方加权抽取
+     */
+    private static Centroids seedCentroids(byte[] points, int bins, int k, RandomSource random) {
+        int n = points.length / bins;
+        Centroids centroids = new Centroids(k, bins);
+        double[] best = new double[n];
+        Arrays.fill(best, Double.MAX_VALUE);
+        int chosen = random.nextInt(n);
+        int count = 0;
+        while (true) {
+            centroids.set(count++, points, chosen * bins);
+            if (count == k) break;
+            int latest = count - 1;
+            parallelFor(n, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    double d = centroids.distance(latest, points, i * bins);
+                    if (d * d < best[i]) best[i] = d * d;
+                }
+            });
+            double total = 0;
+            for (double d : best) total += d;
+            if (total == 0) break; // 剩余点都与已有中心重合
+            double target = random.nextDouble() * total;
+            chosen = n - 1;
+            for (int i = 0; i < n; i++) {
+                target -= best[i];
+                if (target < 0) {
+                    chosen = i;
+                    break;
+                }
+            }
+        }
+        centroids.k = count;
+        return centroids;
+    }
+
+    /**
+     * 聚类中心 (CDF 均值) 及按 CDF 之和排序的剪枝搜索
+     */
+    static final class Centroids {
+        int k;
+        final int bins;
+        final float[] values;
+        final float[] sums;
+
+        Centroids(int k, int bins) {
+            this.k = k;
+            this.bins = bins;
+            this.values = new float[k * bins];
+            this.sums = new float[k];
+        }
+
+        void set(int c, byte[] points, int offset) {
+            float sum = 0;
+            for (int b = 0; b < bins; b++) {
+                values[c * bins + b] = points[offset + b] & 0xFF;
+                sum += values[c * bins + b];
+            }
+            sums[c] = sum;
+        }
+
+        double distance(int c, byte[] points, int offset) {
+            double d = 0;
+            int base = c * bins;
+            for (int b = 0; b < bins; b++) {
+                d += Math.abs((points[offset + b] & 0xFF) - values[base + b]);
+            }
+            return d;
+        }
+
+        /**
+         * 最近中心 (要求已 {@link #sort})：从和最接近的中心向两侧展开，|和之差| 不小于当前最优时停止
+         */
+        int nearest(byte[] points, int offset) {
+            float sum = 0;
+            for (int b = 0; b < bins; b++) sum += points[offset + b] & 0xFF;
+            int lo = 0;
+            int hi = k;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sums[mid] < sum) lo = mid + 1;
+                else hi = mid;
+            }
+            int best = -1;
+            double bestDist = Double.MAX_VALUE;
+            int down = lo - 1;
+            int up = lo;
+            while (down >= 0 || up < k) {
+                boolean goUp = down < 0 || (up < k && sums[up] - sum <= sum - sums[down]);
+                int c = goUp ? up++ : down--;
+                if (Math.abs(sums[c] - sum) >= bestDist) break;
+                double d = distance(c, points, offset);
+                if (d < bestDist) {
+                    bestDist = d;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 按 CDF 之和升序排列 (CDF 之和越大，平均胜率越低)
+         */
+        void sort() {
+            Integer[] order = new Integer[k];
+            for (int c = 0; c < k; c++) order[c] = c;
+            Arrays.sort(order, (a, b) -> Float.compare(sums[a], sums[b]));
+            float[] v = values.clone();
+            float[] s = sums.clone();
+            for (int c = 0; c < k; c++) {
+                System.arraycopy(v, order[c] * bins, values, c * bins, bins);
+                sums[c] = s[order[c]];
+            }
+        }
+
+        /**
+         * 中心移到成员均值，空簇保持不动；返回是否有中心移动
+         */
+        boolean update(byte[] points, char[] labels) {
+            double[] acc = new double[k * bins];
+            int[] count = new int[k];
+            for (int i = 0; i < labels.length; i++) {
+                int c = labels[i];
+                count[c]++;
+                for (int b = 0; b < bins; b++) acc[c * bins + b] += points[i * bins + b] & 0xFF;
+            }
+            boolean moved = false;
+            for (int c = 0; c < k; c++) {
+                if (count[c] == 0) continue;
+                float sum = 0;
+                for (int b = 0; b < bins; b++) {
+                    float v = (float) (acc[c * bins + b] / count[c]);
+                    if (Math.abs(v - values[c * bins + b]) > 1e-3f) moved = true;
+                    values[c * bins + b] = v;
+                    sum += v;
+                }
+                sums[c] = sum;
+            }
+            return moved;
+        }
+    }
+
+    // ==================== 并行 ====================
+
+    interface Range {
+        void run(int from, int to);
+    }
+
+    /**
+     * 在 {@link EquityEngine#pool()} 上把 [0, n) 切块并行执行
+     */
+    static void parallelFor(int n, Range body) {
+        if (EquityEngine.getParallelism() == 1 || n <= CHUNK) {
+            body.run(0, n);
+            return;
+        }
+        EquityEngine.pool().invoke(new RangeTask(body, 0, n));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final Range body;
+        private final int from;
+        private final int to;
+
+        RangeTask(Range body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid), new RangeTask(body, mid, to));
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.model.DecisionSpot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 离线决策回放 (普通 JVM 命令行)：把记录下来的局面逐个交给 {@link TexasHoldemCalUtil#analyzeAndDecide}
+ * <p>
+ * 用法：
+ * <pre>
+ *   java -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.DecisionReplay &lt;局面文件&gt; \
+ *        [-o 结果文件] [--threads N] [--seed S] [--hh] [--river-solver]
+ * </pre>
+ * 局面文件每行一个局面，空行和 # 开头的行忽略：
+ * <pre>
+ *   # 手牌 公牌 对手数 底池 跟注额 筹码 最小加注
+ *   AsKd 2c7d9h 2 100 20 500 10
+ *   QhQs - 1 3 2 100 2
+ * </pre>
+ * 加 --hh 时输入为 PokerStars 牌谱，由 {@link HandHistoryParser} 内存映射流式解析，主角每次行动前的局面作为一个决策，
+ * 统计中额外给出建议动作与牌谱中实际动作的一致率。
+ * <p>
+ * 输入边读边分发给工作线程池，在途局面数有上限 (每线程 {@value #IN_FLIGHT_PER_THREAD} 个)，内存占用与文件大小无关；
+ * 结果按输入顺序写出 (制表符分隔：序号、动作、下注额、EV、胜率、耗时微秒)，不指定 -o 时写到标准输出。
+ * 结束后在标准错误输出吞吐量 (决策/秒)、各动作计数和单次决策延迟的 p50 / p90 / p99 / 最大值。
+ * <p>
+ * --river-solver 开启河牌单挑的子博弈求解 ({@link TexasHoldemCalUtil#setRiverSolverEnabled}，默认关闭)。
+ * <p>
+ * 多个工作线程时胜率引擎的内部并行度设为 1 (每个决策单线程，靠局面间并行占满多核)；
+ * 指定 --seed 后混合策略与蒙特卡洛的随机序列固定，但多线程下各决策取种子的顺序仍取决于调度。
+ */
+public final class DecisionReplay {
+
+    private static final int IN_FLIGHT_PER_THREAD = 64;
+
+    /**
+     * 局面来源，按顺序逐个返回，结束时返回 null
+     */
+    public interface Source {
+        DecisionSpot next() throws IOException;
+    }
+
+    private DecisionReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String input = null;
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean handHistory = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-o":
+                    output = args[++i];
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    RandomSources.setSeed(Long.parseLong(args[++i]));
+                    break;
+                case "--hh":
+                    handHistory = true;
+                    break;
+                case "--river-solver":
+                    TexasHoldemCalUtil.setRiverSolverEnabled(true);
+                    break;
+                default:
+                    input = args[i];
+            }
+        }
+        if (input == null) {
+            System.err.println("Usage: DecisionReplay <spots file> [-o output file] [--threads N] [--seed S] [--hh]"
+                    + " [--river-solver]");
+            System.exit(1);
+        }
+        if (threads > 1) {
+            EquityEngine.setParallelism(1);
+        }
+        Closeable in;
+        Source source;
+        if (handHistory) {
+            HandHistoryParser parser = HandHistoryParser.open(new File(input));
+            in = parser;
+            source = parser.asSource();
+        } else {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(input),
+                    StandardCharsets.UTF_8), 1 << 16);
+            in = reader;
+            source = textSource(reader);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+                output == null ? System.out : new FileOutputStream(output), StandardCharsets.UTF_8), 1 << 16);
+        try {
+            Summary summary = run(source, out, threads);
+            out.flush();
+            System.err.println(summary);
+        } finally {
+            in.close();
+            if (output != null) out.close();
+        }
+    }
+
+    /**
+     * 回放全部局面，结果按输入顺序写入 out (out 为 null 时只统计)
+     *
+     * @param threads 工作线程数
+     */
+    public static Summary run(Source source, Writer out, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be >= 1, got " + threads);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "decision-replay");
+            t.setDaemon(true);
+            return t;
+        });
+        Summary summary = new Summary();
+        ArrayDeque<Future<Outcome>> window = new ArrayDeque<>();
+        int maxInFlight = threads * IN_FLIGHT_PER_THREAD;
+        StringBuilder line = new StringBuilder(64);
+        long start = System.nanoTime();
+        try {
+            DecisionSpot spot;
+            while ((spot = source.next()) != null) {
+                if (window.size() >= maxInFlight) {
+                    emit(window.poll(), summary, out, line);
+                }
+                DecisionSpot s = spot;
+                window.add(pool.submit(() -> decide(s)));
+            }
+            while (!window.isEmpty()) {
+                emit(window.poll(), summary, out, line);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        summary.finish();
+        return summary;
+    }
+
+    /**
+     * 逐行读取文本局面文件 (格式见类注释)
+     */
+    public static Source textSource(BufferedReader reader) {
+        return new Source() {
+            private long lineNumber;
+
+            @Override
+            public DecisionSpot next() throws IOException {
+                String text;
+                while ((text = reader.readLine()) != null) {
+                    lineNumber++;
+                    text = text.trim();
+                    if (text.isEmpty() || text.charAt(0) == '#') continue;
+                    try {
+                        return parseSpot(text, lineNumber);
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * 解析一行局面：手牌 公牌 对手数 底池 跟注额 筹码 最小加注 (公牌为 "-" 表示翻前)
+     *
+     * @throws IllegalArgumentException 字段数不对或牌/数字格式错误
+     */
+    public static DecisionSpot parseSpot(String text, long id) {
+        String[] f = text.trim().split("\\s+");
+        if (f.length != 7) {
+            throw new IllegalArgumentException("Expected 7 fields, got " + f.length + ": " + text);
+        }
+        DecisionSpot spot = new DecisionSpot();
+        spot.id = id;
+        spot.hand = CardSet.parse(f[0]);
+        spot.board = CardSet.parse(f[1]);
+        int boardSize = CardSet.size(spot.board);
+        if (CardSet.size(spot.hand) != 2 || (boardSize != 0 && boardSize < 3) || boardSize > 5
+                || (spot.hand & spot.board) != 0) {
+            throw new IllegalArgumentException("Bad hand/board: " + f[0] + " " + f[1]);
+        }
+        spot.numOpponents = Integer.parseInt(f[2]);
+        spot.potSize = Double.parseDouble(f[3]);
+        spot.costToCall = Double.parseDouble(f[4]);
+        spot.myStack = Double.parseDouble(f[5]);
+        spot.minRaise = Double.parseDouble(f[6]);
+        return spot;
+    }
+
+    private static Outcome decide(DecisionSpot spot) {
+        long t0 = System.nanoTime();
+        DecisionResult result = TexasHoldemCalUtil.analyzeAndDecide(spot.hand, spot.board, spot.numOpponents,
+                spot.potSize, spot.costToCall, spot.myStack, spot.minRaise);
+        Outcome outcome = new Outcome();
+        outcome.nanos = System.nanoTime() - t0;
+        outcome.spot = spot;
+        outcome.result = result;
+        return outcome;
+    }
+
+    private static void emit(Future<Outcome> future, Summary summary, Writer out, StringBuilder line)
+            throws IOException {
+        Outcome o;
+        try {
+            o = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Decision failed", e.getCause());
+        }
+        summary.record(o.result.suggestedAction, o.spot.action, o.nanos);
+        if (out == null) {
+            return;
+        }
+        DecisionResult r = o.result;
+        line.setLength(0);
+        line.append(o.spot.id).append('\t').append(r.suggestedAction).append('\t');
+        appendFixed(line, r.betAmount, 100).append('\t');
+        appendFixed(line, r.ev, 100).append('\t');
+        appendFixed(line, r.winRate, 10000).append('\t');
+        line.append(o.nanos / 1000).append('\n');
+        out.append(line);
+    }
+
+    // 定点格式化 (scale = 10^小数位)，避免逐行 String.format
+    private static StringBuilder appendFixed(StringBuilder sb, double value, int scale) {
+        long v = Math.round(value * scale);
+        if (v < 0) {
+            sb.append('-');
+            v = -v;
+        }
+        sb.append(v / scale).append('.');
+        String frac = Long.toString(v % scale + scale);
+        return sb.append(frac, 1, frac.length());
+    }
+
+    private static final class Outcome {
+        DecisionSpot spot;
+        DecisionResult result;
+        long nanos;
+    }
+
+    /**
+     * 回放统计：吞吐量、动作分布与单次决策延迟分位数
+     */
+    public static final class Summary {
+        private long count;
+        private long elapsedNanos;
+        private long[] latencies = new long[1024];
+        private final long[] actionCounts = new long[Action.values().length];
+        private long recorded;
+        private long agreed;
+
+        void record(Action action, Action recordedAction, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[(int) count++] = nanos;
+            actionCounts[action.ordinal()]++;
+            if (recordedAction != null) {
+                recorded++;
+                if (recordedAction == action) agreed++;
+            }
+        }
+
+        void finish() {
+            latencies = Arrays.copyOf(latencies, (int) count);
+            Arrays.sort(latencies);
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long actionCount(Action action) {
+            return actionCounts[action.ordinal()];
+        }
+
+        /**
+         * 带有实际动作记录的决策数
+         */
+        public long recordedCount() {
+            return recorded;
+        }
+
+        /**
+         * 建议动作与记录动作相同的比例 (没有记录时为 0)
+         */
+        public double agreementRate() {
+            return recorded == 0 ? 0 : (double) agreed / recorded;
+        }
+
+        /**
+         * 决策/秒 (按墙钟时间)
+         */
+        public double decisionsPerSecond() {
+            return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * 单次决策延迟的分位数 (纳秒，最近秩法)，p 取 0-1
+         */
+        public long latencyPercentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * count);
+            return latencies[Math.max(0, Math.min((int) count - 1, rank - 1))];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder actions = new StringBuilder();
+            for (Action a : Action.values()) {
+                actions.append(' ').append(a).append('=').append(actionCounts[a.ordinal()]);
+            }
+            if (recorded > 0) {
+                actions.append(String.format(" (agreement with recorded actions %.1f%% of %d)",
+                        agreementRate() * 100, recorded));
+            }
+            return String.format("decisions=%d elapsed=%.2fs throughput=%.1f decisions/s%n"
+                            + "latency p50=%.0fus p90=%.0fus p99=%.0fus max=%.0fus%nactions:%s",
+                    count, elapsedNanos / 1e9, decisionsPerSecond(),
+                    latencyPercentile(0.50) / 1e3, latencyPercentile(0.90) / 1e3,
+                    latencyPercentile(0.99) / 1e3, latencyPercentile(1.0) / 1e3, actions);
+        }
+    }
+}
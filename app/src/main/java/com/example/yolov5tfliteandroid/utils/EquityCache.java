@@ -0,0 +1,97 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 胜率结果缓存 (LRU)
+ * <p>
+ * 以 {@link HandCanonicalizer#canonicalKey} 为键，容量有限，按最近访问顺序淘汰。
+ * 摄像头逐帧识别时同一手牌/公牌会被反复计算，命中缓存后只需一次规范化和一次哈希查找。
+ * 所有方法线程安全。
+ */
+public final class EquityCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Long, EquityEstimate> map;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public EquityCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be >= 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.map = new LinkedHashMap<Long, EquityEstimate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EquityEstimate> eldest) {
+                if (size() > EquityCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 查找缓存，返回副本；未命中返回 null
+     */
+    public synchronized EquityEstimate get(long key) {
+        EquityEstimate cached = map.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(cached);
+    }
+
+    public synchronized void put(long key, EquityEstimate estimate) {
+        map.put(key, copyOf(estimate));
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("EquityCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+                map.size(), capacity, hits, misses, evictions);
+    }
+
+    private static EquityEstimate copyOf(EquityEstimate e) {
+        EquityEstimate copy = new EquityEstimate();
+        copy.winRate = e.winRate;
+        copy.stdError = e.stdError;
+        copy.samples = e.samples;
+        copy.exact = e.exact;
+        copy.effectiveSamples = e.effectiveSamples;
+        copy.profile = e.profile; // 只读共享
+        return copy;
+    }
+}
@@ -0,0 +1,1126 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.SamplingMode;
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.model.HandStrengthProfile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 胜率计算引擎 (Equity Engine)
+ * <p>
+ * 牌使用 int 编码 0-51 (同 {@link TexasHoldemCalUtil})。
+ * 支持单线程与 Fork/Join 并行两种模式：并行时把模拟次数切成若干块，
+ * 每个工作块拥有独立的牌堆副本、临时数组和随机数流，最后合并 win/tie 计数。
+ * 两种模式使用同一个估计量 (wins + 0.5 * ties) / N，统计上完全等价。
+ * <p>
+ * 剩余组合数不超过阈值时 (河牌/转牌/单挑等) 可改用精确穷举，结果无抽样误差。
+ * <p>
+ * 自适应模式按批次模拟并跟踪标准误差：当置信区间不再跨越决策阈值 (如底池赔率) 时提前停止，
+ * 或在达到样本上限/时间预算时停止。异步版本 ({@link #submitWinRate}) 走同一个循环，
+ * 每批结束后推送当前估计，可随时取消，到截止时间返回已有的最好估计。
+ * <p>
+ * 默认使用分层抽样 ({@link SamplingMode#STRATIFIED})：第一张发出的牌在各层间均匀轮转，
+ * 估计量为各层均值的平均，误差只剩层内方差，并报告有效样本量。
+ * <p>
+ * 翻牌/转牌圈的自适应模拟与单挑穷举会顺带统计牌力分布 ({@link HandStrengthProfile})：
+ * 当前与最终胜负状态的转移计数 (用于 HS / PPot / NPot)，以及按下一张公牌分组的得分 (用于 EHS² 与直方图)。
+ */
+public final class EquityEngine {
+
+    // 计数槽位：0=wins, 1=ties, 2=有效样本数 (仅范围模拟使用，拒绝采样失败的样本不计入)
+    static final int COUNT_SLOTS = 3;
+
+    // 牌力分布槽位 (接在 COUNT_SLOTS 之后)：
+    // 3x3 状态转移 [当前状态 * 3 + 最终状态]，然后每张下一街公牌 3 个槽位 {样本数, 得分和, 得分平方和}，得分以半分计 (0/1/2)
+    static final int STATE_AHEAD = 0;
+    static final int STATE_TIED = 1;
+    static final int STATE_BEHIND = 2;
+    static final int PROFILE_TRANSITIONS = COUNT_SLOTS;
+    static final int PROFILE_BUCKETS = PROFILE_TRANSITIONS + 9;
+    static final int PROFILED_SLOTS = PROFILE_BUCKETS + 52 * 3;
+    // 分层抽样槽位：按第一张发出的牌分层，每层 {样本数, 得分和, 得分平方和}
+    static final int STRATA = PROFILED_SLOTS;
+    static final int DETAILED_SLOTS = STRATA + 52 * 3;
+
+    // 每个并行块的最少模拟次数，太小时任务调度开销会超过计算本身
+    private static final int MIN_CHUNK = 256;
+
+    // 穷举结果数低于此值时单线程即可，不值得拆分任务
+    static final long EXACT_PARALLEL_MIN = 200_000;
+
+    // 默认穷举阈值：覆盖单挑翻牌/转牌/河牌、多人河牌，以及翻前单挑对已知手牌 (C(48,5) = 1,712,304)
+    private static volatile long exactThreshold = 2_000_000;
+
+    // 自适应模式参数
+    private static final int ADAPTIVE_BATCH = 500;
+    // 固定种子时每批固定切成的块数 (与核数无关，保证不同机器上逐位一致)
+    private static final int SEEDED_CHUNKS = 4;
+    private static final double CONFIDENCE_Z = 1.96; // 95% 置信度
+    private static volatile int adaptiveMinSamples = 1000;
+    private static volatile int adaptiveMaxSamples = 20000;
+    private static volatile long adaptiveTimeBudgetMs = 200;
+
+    // 每个线程 (调用线程 / Fork-Join 工作线程) 一个模拟器，牌堆和临时数组跨调用复用
+    private static final ThreadLocal<MonteCarloSimulator> LOCAL_SIMULATOR = new ThreadLocal<MonteCarloSimulator>() {
+        @Override
+        protected MonteCarloSimulator initialValue() {
+            return new MonteCarloSimulator();
+        }
+    };
+
+    private static volatile SamplingMode samplingMode = SamplingMode.STRATIFIED;
+
+    private static volatile int parallelism = Runtime.getRuntime().availableProcessors();
+    private static ForkJoinPool pool;
+    private static ExecutorService asyncExecutor;
+
+    private EquityEngine() {
+    }
+
+    /**
+     * 设置并行度，1 表示始终使用单线程路径
+     */
+    public static synchronized void setParallelism(int level) {
+        if (level < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1, got " + level);
+        }
+        if (level != parallelism && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        parallelism = level;
+    }
+
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 设置穷举阈值：剩余结果组合数不超过该值时使用精确穷举代替蒙特卡洛
+     */
+    public static void setExactThreshold(long threshold) {
+        exactThreshold = threshold;
+    }
+
+    public static long getExactThreshold() {
+        return exactThreshold;
+    }
+
+    /**
+     * 设置自适应模式的样本下限、样本上限与时间预算 (毫秒)
+     */
+    public static void setAdaptiveLimits(int minSamples, int maxSamples, long timeBudgetMs) {
+        if (minSamples < 1 || maxSamples < minSamples) {
+            throw new IllegalArgumentException("Invalid sample limits: " + minSamples + ".." + maxSamples);
+        }
+        adaptiveMinSamples = minSamples;
+        adaptiveMaxSamples = maxSamples;
+        adaptiveTimeBudgetMs = timeBudgetMs;
+    }
+
+    public static int getAdaptiveMinSamples() {
+        return adaptiveMinSamples;
+    }
+
+    public static int getAdaptiveMaxSamples() {
+        return adaptiveMaxSamples;
+    }
+
+    public static long getAdaptiveTimeBudgetMs() {
+        return adaptiveTimeBudgetMs;
+    }
+
+    /**
+     * 设置蒙特卡洛抽样方式 (影响 calculateWinRate / estimateWinRate / 自适应模式)
+     */
+    public static void setSamplingMode(SamplingMode mode) {
+        samplingMode = mode;
+    }
+
+    public static SamplingMode getSamplingMode() {
+        return samplingMode;
+    }
+
+    static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /**
+     * 蒙特卡洛胜率：根据当前并行度自动选择单线程或并行路径
+     *
+     * @param myHand       我的手牌 (2 张)
+     * @param knownBoard   已知公共牌 (0-5 张)
+     * @param numOpponents 对手数量
+     * @param iterations   模拟次数
+     * @return 胜率 (平局计一半)
+     */
+    public static double calculateWinRate(int[] myHand, int[] knownBoard, int numOpponents, int iterations) {
+        return estimateWinRate(myHand, knownBoard, numOpponents, iterations).winRate;
+    }
+
+    /**
+     * 同 {@link #calculateWinRate}，额外给出标准误差、样本数与有效样本量
+     */
+    public static EquityEstimate estimateWinRate(int[] myHand, int[] knownBoard, int numOpponents, int iterations) {
+        boolean stratified = samplingMode == SamplingMode.STRATIFIED;
+        int slots = stratified ? DETAILED_SLOTS : COUNT_SLOTS;
+        Simulation simulation = simulation(myHand, knownBoard, numOpponents, stratified, false);
+        long seed = RandomSources.nextSeed();
+        long[] counts;
+        if (parallelism == 1 || iterations < 2 * MIN_CHUNK) {
+            counts = new long[slots];
+            simulation.run(iterations, seed, counts);
+        } else {
+            int chunks = Math.max(1, Math.min(parallelism * 4, iterations / MIN_CHUNK));
+            counts = pool().invoke(new SimulationTask(simulation, iterations, chunks, 0, chunks, seed, slots));
+        }
+        return stratified ? toStratifiedEstimate(counts, iterations) : toEstimate(counts, iterations);
+    }
+
+    private static Simulation simulation(int[] myHand, int[] knownBoard, int numOpponents,
+                                         boolean stratified, boolean profiled) {
+        if (!stratified && !profiled) {
+            return (k, chunkSeed, out) -> simulate(myHand, knownBoard, numOpponents, k, chunkSeed, out);
+        }
+        return (k, chunkSeed, out) -> simulateDetailed(myHand, knownBoard, numOpponents, k, chunkSeed, out,
+                stratified, profiled);
+    }
+
+    /**
+     * 单线程路径 (普通抽样)
+     */
+    public static double calculateWinRateSerial(int[] myHand, int[] knownBoard, int numOpponents,
+                                                int iterations, long seed) {
+        long[] counts = new long[COUNT_SLOTS];
+        simulate(myHand, knownBoard, numOpponents, iterations, seed, counts);
+        return (counts[0] + 0.5 * counts[1]) / iterations;
+    }
+
+    /**
+     * Fork/Join 并行路径 (普通抽样)：每个块使用由 seed 派生的独立随机数流
+     */
+    public static double calculateWinRateParallel(int[] myHand, int[] knownBoard, int numOpponents,
+                                                  int iterations, long seed) {
+        int chunks = Math.max(1, Math.min(parallelism * 4, iterations / MIN_CHUNK));
+        long[] counts = pool().invoke(new SimulationTask(
+                (n, chunkSeed, c) -> simulate(myHand, knownBoard, numOpponents, n, chunkSeed, c), iterations, chunks, 0, chunks, seed));
+        return (counts[0] + 0.5 * counts[1]) / iterations;
+    }
+
+    /**
+     * 已有估计是否足以做决策：精确结果、样本已达上限，或置信区间不跨越任何阈值
+     */
+    public static boolean isConclusive(EquityEstimate estimate, double[] thresholds) {
+        return estimate.exact
+                || estimate.samples >= adaptiveMaxSamples
+                || !straddlesAny(estimate.winRate, CONFIDENCE_Z * estimate.stdError, thresholds);
+    }
+
+    /**
+     * 自适应蒙特卡洛：按批次模拟，直到 95% 置信区间不包含任何决策阈值，
+     * 或样本数达到上限、耗时超过时间预算
+     * <p>
+     * 调用过 {@link RandomSources#setSeed} 时不看时间预算、按固定块数切分，结果与机器负载和核数无关
+     *
+     * @param thresholds 决策阈值 (原始胜率口径)，胜率落在阈值哪一侧会改变决策
+     */
+    public static EquityEstimate calculateWinRateAdaptive(int[] myHand, int[] knownBoard, int numOpponents,
+                                                          double[] thresholds) {
+        return calculateWinRateAdaptive(myHand, knownBoard, numOpponents, thresholds, RandomSources.nextSeed());
+    }
+
+    /**
+     * 同 {@link #calculateWinRateAdaptive(int[], int[], int, double[])}，使用调用方取好的种子
+     */
+    public static EquityEstimate calculateWinRateAdaptive(int[] myHand, int[] knownBoard, int numOpponents,
+                                                          double[] thresholds, long seed) {
+        return adaptive(myHand, knownBoard, numOpponents, thresholds, 0,
+                System.nanoTime() + adaptiveTimeBudgetMs * 1_000_000L, null, seed);
+    }
+
+    /**
+     * 定精度蒙特卡洛：按批次模拟，直到 95% 置信区间半宽不超过 marginOfError
+     * (同样受自适应模式的样本上下限与时间预算约束)
+     */
+    public static EquityEstimate calculateWinRateToPrecision(int[] myHand, int[] knownBoard, int numOpponents,
+                                                             double marginOfError) {
+        return adaptive(myHand, knownBoard, numOpponents, null, marginOfError,
+                System.nanoTime() + adaptiveTimeBudgetMs * 1_000_000L, null, RandomSources.nextSeed());
+    }
+
+    /**
+     * 异步、可取消的自适应蒙特卡洛
+     * <p>
+     * 立即返回句柄，计算在后台线程按批次进行 (每批 500 次，并行时每个工作线程各一批)，
+     * 每批结束后把当前估计推送给 listener。停止条件与 {@link #calculateWinRateAdaptive} 相同，
+     * 只是时间预算换成调用方给的 timeoutMs：到时以已有样本正常完成，取消则在当前批次结束时停止。
+     *
+     * @param thresholds 决策阈值，null 表示不按阈值提前停止 (跑到样本上限或截止时间)
+     * @param timeoutMs  从提交起算的截止时间
+     * @param listener   进度监听器，可为 null
+     */
+    public static EquityTask submitWinRate(int[] myHand, int[] knownBoard, int numOpponents,
+                                           double[] thresholds, long timeoutMs, EquityTask.Listener listener) {
+        int[] hand = myHand.clone();
+        int[] board = knownBoard.clone();
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        long seed = RandomSources.nextSeed();
+        EquityTask task = new EquityTask(listener);
+        asyncExecutor().execute(() -> {
+            try {
+                task.complete(adaptive(hand, board, numOpponents, thresholds, 0, deadline, task, seed));
+            } catch (Throwable t) {
+                task.fail(t);
+            }
+        });
+        return task;
+    }
+
+    private static synchronized ExecutorService asyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "equity-async");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return asyncExecutor;
+    }
+
+    // thresholds 为 null 时按 targetMargin 停止 (targetMargin 为 0 则跑到上限)；task 非 null 时推送进度并响应取消。
+    // 同步调用且种子固定时不看截止时间、每批固定 SEEDED_CHUNKS 块，结果只取决于种子
+    private static EquityEstimate adaptive(int[] myHand, int[] knownBoard, int numOpponents,
+                                           double[] thresholds, double targetMargin, long deadline,
+                                           EquityTask task, long seed) {
+        boolean reproducible = task == null && RandomSources.isSeeded();
+        int chunks = reproducible ? SEEDED_CHUNKS : parallelism;
+        boolean parallel = chunks > 1;
+        // 并行时每批由每个工作线程各跑一个批次；但不越过 minSamples，保证在 minSamples 处一定做一次检查
+        int batch = ADAPTIVE_BATCH * chunks;
+        int minSamples = adaptiveMinSamples;
+        int maxSamples = adaptiveMaxSamples;
+
+        // 翻牌/转牌圈在同一批样本上统计牌力分布
+        boolean profiled = knownBoard.length == 3 || knownBoard.length == 4;
+        boolean stratified = samplingMode == SamplingMode.STRATIFIED;
+        int slots = stratified ? DETAILED_SLOTS : (profiled ? PROFILED_SLOTS : COUNT_SLOTS);
+        Simulation simulation = simulation(myHand, knownBoard, numOpponents, stratified, profiled);
+
+        long[] counts = new long[slots];
+        long n = 0;
+        int round = 0;
+        EquityEstimate estimate;
+        while (true) {
+            int runs = (int) Math.min(batch, maxSamples - n);
+            if (n < minSamples) runs = (int) Math.min(runs, minSamples - n);
+            if (parallel) {
+                long[] c = pool().invoke(new SimulationTask(simulation, runs, chunks, 0, chunks,
+                        mixSeed(seed, round++), slots));
+                for (int i = 0; i < slots; i++) counts[i] += c[i];
+            } else {
+                simulation.run(runs, mixSeed(seed, round++), counts);
+            }
+            n += runs;
+
+            estimate = stratified ? toStratifiedEstimate(counts, n) : toEstimate(counts, n);
+
+            if (n >= maxSamples || (!reproducible && System.nanoTime() >= deadline)) break;
+            if (task != null) {
+                if (task.isCancelled()) break;
+                task.publish(estimate);
+            }
+            if (n >= minSamples) {
+                double halfWidth = CONFIDENCE_Z * estimate.stdError;
+                if (thresholds == null ? halfWidth <= targetMargin : !straddlesAny(estimate.winRate, halfWidth, thresholds)) {
+                    break;
+                }
+            }
+        }
+        if (profiled) {
+            estimate.profile = toProfile(counts, false);
+        } else if (knownBoard.length == 5) {
+            estimate.profile = riverProfile(estimate.winRate);
+        }
+        return estimate;
+    }
+
+    // 单次结果 x ∈ {0, 0.5, 1}：E[x] = (w + t/2)/n，E[x²] = (w + t/4)/n
+    private static EquityEstimate toEstimate(long[] counts, long n) {
+        double mean = (counts[0] + 0.5 * counts[1]) / n;
+        double meanSq = (counts[0] + 0.25 * counts[1]) / n;
+        double variance = Math.max(0, meanSq - mean * mean);
+        EquityEstimate estimate = new EquityEstimate();
+        estimate.winRate = mean;
+        estimate.stdError = Math.sqrt(variance / n);
+        estimate.samples = n;
+        return estimate;
+    }
+
+    /**
+     * 分层估计：各层等权 (第一张牌在剩余牌中均匀分布)，方差 = Σ w² s_h² / n_h
+     * 有效样本量 = 单样本方差 / 估计量方差，即普通抽样达到同样误差所需的次数
+     */
+    private static EquityEstimate toStratifiedEstimate(long[] counts, long n) {
+        EquityEstimate plain = toEstimate(counts, n);
+        int covered = 0;
+        for (int c = 0; c < 52; c++) {
+            if (counts[STRATA + c * 3] > 0) covered++;
+        }
+        // 样本数少于层数时只有部分层被覆盖 (随机起点保证各层被覆盖的机会相同)
+        double w = 1.0 / covered;
+        double pooledVariance = plain.stdError * plain.stdError * n;
+        double mean = 0;
+        double variance = 0;
+        for (int c = 0; c < 52; c++) {
+            int b = STRATA + c * 3;
+            long nh = counts[b];
+            if (nh == 0) continue;
+            double mh = counts[b + 1] / (2.0 * nh);
+            mean += w * mh;
+            // 层内样本方差 (得分以半分计，x = score / 2)；单样本层退回总体方差
+            double sh2 = nh > 1
+                    ? Math.max(0, (counts[b + 2] / 4.0 - nh * mh * mh) / (nh - 1))
+                    : pooledVariance;
+            variance += w * w * sh2 / nh;
+        }
+        EquityEstimate estimate = new EquityEstimate();
+        estimate.winRate = mean;
+        estimate.stdError = Math.sqrt(variance);
+        estimate.samples = n;
+        estimate.effectiveSamples = variance > 0 ? pooledVariance / variance : n;
+        return estimate;
+    }
+
+    private static boolean straddlesAny(double mean, double halfWidth, double[] thresholds) {
+        for (double t : thresholds) {
+            if (mean - halfWidth <= t && t <= mean + halfWidth) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 模拟核心：使用当前线程的可复用模拟器运行 iterations 次，结果累加到 counts[0]=wins, counts[1]=ties
+     * 除首次创建线程本地模拟器外不分配内存
+     */
+    static void simulate(int[] myHand, int[] knownBoard, int numOpponents, int iterations,
+                         long seed, long[] counts) {
+        LOCAL_SIMULATOR.get().setup(myHand, knownBoard, numOpponents).seed(seed).run(iterations, counts);
+    }
+
+    /**
+     * 同 {@link #simulate}，可选分层抽样与牌力分布 (counts 长度为 DETAILED_SLOTS，不分层时可为 PROFILED_SLOTS)
+     */
+    static void simulateDetailed(int[] myHand, int[] knownBoard, int numOpponents, int iterations,
+                                 long seed, long[] counts, boolean stratified, boolean profiled) {
+        LOCAL_SIMULATOR.get().setup(myHand, knownBoard, numOpponents).seed(seed)
+                .runDetailed(iterations, counts, stratified, profiled);
+    }
+
+    // =========================================================================
+    //  牌力分布 (Hand Strength Profile)
+    // =========================================================================
+
+    /**
+     * 我相对一个对手的状态：对手更大为落后
+     */
+    static int state(int myRank, int opRank) {
+        return opRank > myRank ? STATE_BEHIND : (opRank == myRank ? STATE_TIED : STATE_AHEAD);
+    }
+
+    /**
+     * 记录一个结果：状态转移 + 下一街公牌分组得分 (next1 >= 0 时同时计入第二张，用于无序的转牌+河牌组合)
+     */
+    static void recordProfile(long[] counts, int now, int fin, int next0, int next1) {
+        counts[PROFILE_TRANSITIONS + now * 3 + fin]++;
+        long score = 2 - fin;
+        int b = PROFILE_BUCKETS + next0 * 3;
+        counts[b]++;
+        counts[b + 1] += score;
+        counts[b + 2] += score * score;
+        if (next1 >= 0) {
+            b = PROFILE_BUCKETS + next1 * 3;
+            counts[b]++;
+            counts[b + 1] += score;
+            counts[b + 2] += score * score;
+        }
+    }
+
+    /**
+     * 由分布计数汇总牌力分布
+     *
+     * @param exact 计数来自穷举时各组均值即真实条件胜率；
+     *              来自抽样时组均值的平方有 Var/n 的正偏差，改用无偏估计 (S² - Σx²) / (n(n-1))，
+     *              直方图所用的组均值也相应收缩
+     */
+    static HandStrengthProfile toProfile(long[] counts, boolean exact) {
+        HandStrengthProfile p = new HandStrengthProfile();
+        int t = PROFILE_TRANSITIONS;
+        double[] nowTotal = new double[3];
+        for (int now = 0; now < 3; now++) {
+            nowTotal[now] = counts[t + now * 3] + counts[t + now * 3 + 1] + counts[t + now * 3 + 2];
+        }
+        double total = nowTotal[0] + nowTotal[1] + nowTotal[2];
+        if (total == 0) return p;
+        p.handStrength = (nowTotal[STATE_AHEAD] + 0.5 * nowTotal[STATE_TIED]) / total;
+
+        double ppotBase = nowTotal[STATE_BEHIND] + 0.5 * nowTotal[STATE_TIED];
+        if (ppotBase > 0) {
+            p.positivePotential = (counts[t + STATE_BEHIND * 3 + STATE_AHEAD]
+                    + 0.5 * counts[t + STATE_BEHIND * 3 + STATE_TIED]
+                    + 0.5 * counts[t + STATE_TIED * 3 + STATE_AHEAD]) / ppotBase;
+        }
+        double npotBase = nowTotal[STATE_AHEAD] + 0.5 * nowTotal[STATE_TIED];
+        if (npotBase > 0) {
+            p.negativePotential = (counts[t + STATE_AHEAD * 3 + STATE_BEHIND]
+                    + 0.5 * counts[t + STATE_TIED * 3 + STATE_BEHIND]
+                    + 0.5 * counts[t + STATE_AHEAD * 3 + STATE_TIED]) / npotBase;
+        }
+        p.effectiveHandStrength = p.handStrength * (1 - p.negativePotential)
+                + (1 - p.handStrength) * p.positivePotential;
+
+        long bucketTotal = 0;
+        for (int c = 0; c < 52; c++) bucketTotal += counts[PROFILE_BUCKETS + c * 3];
+        for (int c = 0; c < 52; c++) {
+            int b = PROFILE_BUCKETS + c * 3;
+            long n = counts[b];
+            if (n == 0) continue;
+            double weight = (double) n / bucketTotal;
+            double mean = counts[b + 1] / (2.0 * n);
+            double meanSq = (exact || n < 2) ? mean * mean
+                    : ((double) counts[b + 1] * counts[b + 1] - counts[b + 2]) / (4.0 * n * (n - 1));
+            p.expectedHandStrength += weight * mean;
+            p.ehsSquared += weight * meanSq;
+        }
+
+        // 直方图：抽样时各组均值带有 Var/n 的噪声，按方差比向总体均值收缩，使直方图的离散程度与无偏的 EHS² 一致
+        double mu = p.expectedHandStrength;
+        double shrink = 1;
+        if (!exact) {
+            double rawVariance = -mu * mu;
+            for (int c = 0; c < 52; c++) {
+                int b = PROFILE_BUCKETS + c * 3;
+                long n = counts[b];
+                if (n == 0) continue;
+                double mean = counts[b + 1] / (2.0 * n);
+                rawVariance += (double) n / bucketTotal * mean * mean;
+            }
+            if (rawVariance > 0) shrink = Math.sqrt(p.variance() / rawVariance);
+        }
+        for (int c = 0; c < 52; c++) {
+            int b = PROFILE_BUCKETS + c * 3;
+            long n = counts[b];
+            if (n == 0) continue;
+            double mean = counts[b + 1] / (2.0 * n);
+            p.histogram[histogramBucket(mu + shrink * (mean - mu))] += (double) n / bucketTotal;
+        }
+        return p;
+    }
+
+    /**
+     * 河牌圈没有后续发牌：分布退化为胜率本身
+     */
+    static HandStrengthProfile riverProfile(double winRate) {
+        HandStrengthProfile p = new HandStrengthProfile();
+        p.handStrength = winRate;
+        p.effectiveHandStrength = winRate;
+        p.expectedHandStrength = winRate;
+        p.ehsSquared = winRate * winRate;
+        p.histogram[histogramBucket(winRate)] = 1;
+        return p;
+    }
+
+    private static int histogramBucket(double equity) {
+        return Math.min(HandStrengthProfile.HISTOGRAM_BUCKETS - 1,
+                (int) (equity * HandStrengthProfile.HISTOGRAM_BUCKETS));
+    }
+
+    // =========================================================================
+    //  精确穷举 (Exact Enumeration)
+    // =========================================================================
+
+    /**
+     * 穷举需要遍历的结果数：剩余公牌组合 × 每个对手依次的两张底牌组合
+     * 溢出时返回 Long.MAX_VALUE
+     *
+     * @param deckSize     剩余未知牌数
+     * @param boardToDeal  需要补发的公牌数
+     * @param numOpponents 随机手牌的对手数量
+     */
+    public static long countExactOutcomes(int deckSize, int boardToDeal, int numOpponents) {
+        long total = combinations(deckSize, boardToDeal);
+        int remaining = deckSize - boardToDeal;
+        for (int op = 0; op < numOpponents; op++) {
+            long pairs = combinations(remaining, 2);
+            if (pairs == 0) return 0;
+            if (total > Long.MAX_VALUE / pairs) return Long.MAX_VALUE;
+            total *= pairs;
+            remaining -= 2;
+        }
+        return total;
+    }
+
+    /**
+     * 当前局面是否应该走精确穷举
+     */
+    public static boolean shouldEnumerate(int[] myHand, int[] knownBoard, int numOpponents) {
+        int deckSize = 52 - myHand.length - knownBoard.length;
+        return countExactOutcomes(deckSize, 5 - knownBoard.length, numOpponents) <= exactThreshold;
+    }
+
+    /**
+     * 精确胜率：穷举所有剩余公牌与所有对手底牌组合 (对手手牌均匀随机)
+     */
+    public static double calculateExactWinRate(int[] myHand, int[] knownBoard, int numOpponents) {
+        return enumerate(myHand, null, knownBoard, numOpponents);
+    }
+
+    /**
+     * 精确胜率：单挑对已知手牌，穷举所有剩余公牌 (翻前为 C(48,5) 种)
+     */
+    public static double calculateExactWinRate(int[] myHand, int[] oppHand, int[] knownBoard) {
+        return enumerate(myHand, oppHand, knownBoard, 1);
+    }
+
+    /**
+     * 精确胜率 (对手手牌均匀随机)，附带结果数与牌力分布：
+     * 翻牌/转牌圈单挑时在同一次穷举中统计，河牌圈为退化分布，其他情况 profile 为 null
+     */
+    public static EquityEstimate calculateExactEquity(int[] myHand, int[] knownBoard, int numOpponents) {
+        boolean profiled = numOpponents == 1 && (knownBoard.length == 3 || knownBoard.length == 4);
+        ExactContext ctx = new ExactContext(myHand, null, knownBoard, numOpponents, profiled);
+        long total = countExactOutcomes(ctx.deckSize, ctx.boardToDeal, numOpponents);
+        long[] counts = enumerate(ctx, total);
+        EquityEstimate estimate = new EquityEstimate();
+        estimate.winRate = (counts[0] + 0.5 * counts[1]) / total;
+        estimate.samples = total;
+        estimate.exact = true;
+        if (profiled) {
+            estimate.profile = toProfile(counts, true);
+        } else if (knownBoard.length == 5) {
+            estimate.profile = riverProfile(estimate.winRate);
+        }
+        return estimate;
+    }
+
+    private static double enumerate(int[] myHand, int[] oppHand, int[] knownBoard, int numOpponents) {
+        ExactContext ctx = new ExactContext(myHand, oppHand, knownBoard, numOpponents, false);
+        long total = countExactOutcomes(ctx.deckSize, ctx.boardToDeal, oppHand == null ? numOpponents : 0);
+        long[] counts = enumerate(ctx, total);
+        return (counts[0] + 0.5 * counts[1]) / total;
+    }
+
+    private static long[] enumerate(ExactContext ctx, long total) {
+        long[] counts;
+        if (ctx.boardToDeal == 0 || parallelism == 1 || total < EXACT_PARALLEL_MIN) {
+            counts = new long[ctx.slots];
+            ctx.enumerateBoards(0, ctx.deckSize, counts);
+        } else {
+            // 按第一张补发公牌的位置拆分任务，工作窃取平衡前重后轻的负载
+            counts = pool().invoke(new ExactTask(ctx, 0, ctx.deckSize - ctx.boardToDeal + 1));
+        }
+        return counts;
+    }
+
+    private static long combinations(int n, int k) {
+        if (k < 0 || k > n) return 0;
+        long r = 1;
+        for (int i = 1; i <= k; i++) {
+            r = r * (n - k + i) / i;
+        }
+        return r;
+    }
+
+    /**
+     * 穷举所需的只读局面，以及每个任务独立的递归状态
+     */
+    private static final class ExactContext {
+        final int[] myHand;
+        final int[] oppHand;
+        final int[] knownBoard;
+        final int numOpponents;
+        final int[] deck = new int[52];
+        final int deckSize;
+        final int boardToDeal;
+        final int slots;
+        // 单挑牌力分布：对手两张牌 (牌堆下标 i*deckSize+j) 在已知公牌上相对我的当前状态
+        final byte[] currentState;
+
+        ExactContext(int[] myHand, int[] oppHand, int[] knownBoard, int numOpponents, boolean profiled) {
+            this.myHand = myHand;
+            this.oppHand = oppHand;
+            this.knownBoard = knownBoard;
+            this.numOpponents = numOpponents;
+            boolean[] usedCards = new boolean[52];
+            for (int c : myHand) usedCards[c] = true;
+            for (int c : knownBoard) usedCards[c] = true;
+            if (oppHand != null) {
+                for (int c : oppHand) usedCards[c] = true;
+            }
+            int size = 0;
+            for (int i = 0; i < 52; i++) {
+                if (!usedCards[i]) deck[size++] = i;
+            }
+            this.deckSize = size;
+            this.boardToDeal = 5 - knownBoard.length;
+            this.slots = profiled ? PROFILED_SLOTS : 2;
+            this.currentState = profiled ? buildCurrentStates() : null;
+        }
+
+        private byte[] buildCurrentStates() {
+            HandEvaluator.Board known = new HandEvaluator.Board().set(knownBoard, knownBoard.length);
+            int myCurrent = known.evaluate(myHand[0], myHand[1]);
+            byte[] states = new byte[deckSize * deckSize];
+            for (int i = 0; i < deckSize; i++) {
+                for (int j = i + 1; j < deckSize; j++) {
+                    states[i * deckSize + j] = (byte) state(myCurrent, known.evaluate(deck[i], deck[j]));
+                }
+            }
+            return states;
+        }
+
+        /**
+         * 枚举第一张补发公牌位于 [firstFrom, firstTo) 的所有公牌组合
+         */
+        void enumerateBoards(int firstFrom, int firstTo, long[] counts) {
+            int[] board = new int[5];
+            System.arraycopy(knownBoard, 0, board, 0, knownBoard.length);
+            boolean[] dealt = new boolean[deckSize];
+            HandEvaluator.Board runout = new HandEvaluator.Board();
+            if (boardToDeal == 0) {
+                scoreBoard(board, runout, dealt, counts);
+                return;
+            }
+            for (int first = firstFrom; first < firstTo; first++) {
+                board[knownBoard.length] = deck[first];
+                dealt[first] = true;
+                dealBoard(board, runout, knownBoard.length + 1, first + 1, dealt, counts);
+                dealt[first] = false;
+            }
+        }
+
+        private void dealBoard(int[] board, HandEvaluator.Board runout, int filled, int from, boolean[] dealt,
+                               long[] counts) {
+            if (filled == 5) {
+                scoreBoard(board, runout, dealt, counts);
+                return;
+            }
+            for (int i = from; i < deckSize; i++) {
+                board[filled] = deck[i];
+                dealt[i] = true;
+                dealBoard(board, runout, filled + 1, i + 1, dealt, counts);
+                dealt[i] = false;
+            }
+        }
+
+        // 每个公牌组合只累加一次公牌状态，对手的每组手牌只再加 2 张
+        private void scoreBoard(int[] board, HandEvaluator.Board runout, boolean[] dealt, long[] counts) {
+            runout.set(board[0], board[1], board[2], board[3], board[4]);
+            int myRank = runout.evaluate(myHand[0], myHand[1]);
+            if (oppHand != null) {
+                int opRank = runout.evaluate(oppHand[0], oppHand[1]);
+                if (myRank > opRank) counts[0]++;
+                else if (myRank == opRank) counts[1]++;
+                return;
+            }
+            if (currentState != null) {
+                scoreHeadsUpProfiled(board, runout, myRank, dealt, counts);
+                return;
+            }
+            dealOpponent(runout, myRank, 0, false, dealt, counts);
+        }
+
+        // 单挑穷举所有对手手牌 (不剪枝)，同时记录状态转移与下一街分组
+        private void scoreHeadsUpProfiled(int[] board, HandEvaluator.Board runout, int myRank, boolean[] dealt,
+                                          long[] counts) {
+            int next0 = board[knownBoard.length];
+            int next1 = boardToDeal == 2 ? board[knownBoard.length + 1] : -1;
+            for (int i = 0; i < deckSize; i++) {
+                if (dealt[i]) continue;
+                for (int j = i + 1; j < deckSize; j++) {
+                    if (dealt[j]) continue;
+                    int fin = state(myRank, runout.evaluate(deck[i], deck[j]));
+                    if (fin == STATE_AHEAD) counts[0]++;
+                    else if (fin == STATE_TIED) counts[1]++;
+                    recordProfile(counts, currentState[i * deckSize + j], fin, next0, next1);
+                }
+            }
+        }
+
+        // 依次给每个对手分配两张牌；一旦输给某个对手，整棵子树都是输，直接剪枝
+        private void dealOpponent(HandEvaluator.Board runout, int myRank, int op, boolean tied, boolean[] dealt,
+                                  long[] counts) {
+            if (op == numOpponents) {
+                if (tied) counts[1]++;
+                else counts[0]++;
+                return;
+            }
+            for (int i = 0; i < deckSize; i++) {
+                if (dealt[i]) continue;
+                dealt[i] = true;
+                for (int j = i + 1; j < deckSize; j++) {
+                    if (dealt[j]) continue;
+                    int opRank = runout.evaluate(deck[i], deck[j]);
+                    if (opRank > myRank) continue;
+                    dealt[j] = true;
+                    dealOpponent(runout, myRank, op + 1, tied || opRank == myRank, dealt, counts);
+                    dealt[j] = false;
+                }
+                dealt[i] = false;
+            }
+        }
+    }
+
+    /**
+     * 精确穷举的 Fork/Join 任务，按第一张补发公牌的下标区间二分
+     */
+    private static final class ExactTask extends RecursiveTask<long[]> {
+        private final ExactContext ctx;
+        private final int firstFrom;
+        private final int firstTo;
+
+        ExactTask(ExactContext ctx, int firstFrom, int firstTo) {
+            this.ctx = ctx;
+            this.firstFrom = firstFrom;
+            this.firstTo = firstTo;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (firstTo - firstFrom == 1) {
+                long[] counts = new long[ctx.slots];
+                ctx.enumerateBoards(firstFrom, firstTo, counts);
+                return counts;
+            }
+            int mid = (firstFrom + firstTo) >>> 1;
+            ExactTask left = new ExactTask(ctx, firstFrom, mid);
+            ExactTask right = new ExactTask(ctx, mid, firstTo);
+            left.fork();
+            long[] r = right.compute();
+            long[] l = left.join();
+            for (int i = 0; i < r.length; i++) r[i] += l[i];
+            return r;
+        }
+    }
+
+    // =========================================================================
+    //  范围对抗 (Range vs Range)
+    // =========================================================================
+
+    // 对手手牌联合拒绝采样的最大尝试次数，超过则丢弃该样本
+    private static final int MAX_DEAL_ATTEMPTS = 64;
+
+    /**
+     * 对加权手牌范围的胜率：每个对手各有一个范围，计入卡牌移除效应
+     * 单挑且组合数不超过穷举阈值时自动精确穷举，否则蒙特卡洛
+     *
+     * @param ranges 每个对手的范围 (长度即对手数量)
+     */
+    public static EquityEstimate calculateWinRateVsRanges(int[] myHand, int[] knownBoard, HandRange[] ranges,
+                                                          int iterations) {
+        long dead = cardMask(myHand) | cardMask(knownBoard);
+        AliasSampler[] samplers = new AliasSampler[ranges.length];
+        for (int i = 0; i < ranges.length; i++) {
+            samplers[i] = ranges[i].sampler(dead);
+            if (samplers[i].isEmpty()) {
+                throw new IllegalArgumentException("Opponent range " + i + " is empty after removing known cards");
+            }
+        }
+
+        if (ranges.length == 1) {
+            int deckSize = 52 - myHand.length - knownBoard.length;
+            long outcomes = (long) ranges[0].comboCount() * combinations(deckSize - 2, 5 - knownBoard.length);
+            if (outcomes <= exactThreshold) {
+                return calculateExactWinRateVsRange(myHand, knownBoard, ranges[0]);
+            }
+        }
+
+        Simulation simulation = (n, chunkSeed, c) ->
+                simulateVsRanges(myHand, knownBoard, samplers, n, RandomSources.create(chunkSeed), c);
+        long seed = RandomSources.nextSeed();
+        long[] counts;
+        if (parallelism == 1 || iterations < 2 * MIN_CHUNK) {
+            counts = new long[COUNT_SLOTS];
+            simulation.run(iterations, seed, counts);
+        } else {
+            int chunks = Math.max(1, Math.min(parallelism * 4, iterations / MIN_CHUNK));
+            counts = pool().invoke(new SimulationTask(simulation, iterations, chunks, 0, chunks, seed));
+        }
+        if (counts[2] == 0) {
+            throw new IllegalArgumentException("Opponent ranges cannot be dealt together with the known cards");
+        }
+        return toEstimate(counts, counts[2]);
+    }
+
+    /**
+     * 单挑对加权范围的精确胜率：按组合权重穷举所有剩余公牌
+     */
+    public static EquityEstimate calculateExactWinRateVsRange(int[] myHand, int[] knownBoard, HandRange range) {
+        long dead = cardMask(myHand) | cardMask(knownBoard);
+        boolean[] blocked = HandRange.blockedCombos(dead);
+        int[] combos = new int[HandRange.COMBOS];
+        int n = 0;
+        for (int i = 0; i < HandRange.COMBOS; i++) {
+            if (!blocked[i] && range.weight(i) > 0) combos[n++] = i;
+        }
+        if (n == 0) {
+            throw new IllegalArgumentException("Opponent range is empty after removing known cards");
+        }
+        RangeContext ctx = new RangeContext(myHand, knownBoard, range, combos, n);
+        double[] sums = (parallelism == 1 || n < 16)
+                ? ctx.enumerate(0, n)
+                : pool().invoke(new RangeExactTask(ctx, 0, n));
+        EquityEstimate estimate = new EquityEstimate();
+        estimate.winRate = sums[0] / sums[1];
+        estimate.samples = (long) sums[2];
+        estimate.exact = true;
+        return estimate;
+    }
+
+    /**
+     * 范围模拟核心：先对所有对手做联合拒绝采样 (任一冲突则整体重抽)，再从剩余牌中补发公牌
+     */
+    static void simulateVsRanges(int[] myHand, int[] knownBoard, AliasSampler[] samplers, int iterations,
+                                 RandomSource random, long[] counts) {
+        long dead = cardMask(myHand) | cardMask(knownBoard);
+        int[] deck = new int[52];
+        int deckSize = 0;
+        for (int i = 0; i < 52; i++) {
+            if (((dead >>> i) & 1) == 0) deck[deckSize++] = i;
+        }
+
+        int numOpponents = samplers.length;
+        HandEvaluator.Board runout = new HandEvaluator.Board();
+        int[] opp0 = new int[numOpponents];
+        int[] opp1 = new int[numOpponents];
+        int[] board = new int[5];
+        System.arraycopy(knownBoard, 0, board, 0, knownBoard.length);
+        int knownBoardSize = knownBoard.length;
+
+        long wins = 0, ties = 0, valid = 0;
+        for (int i = 0; i < iterations; i++) {
+            // 1. 对手手牌：联合拒绝采样保证分布正确
+            long used = 0;
+            boolean dealt = false;
+            for (int attempt = 0; attempt < MAX_DEAL_ATTEMPTS && !dealt; attempt++) {
+                used = 0;
+                dealt = true;
+                for (int op = 0; op < numOpponents; op++) {
+                    int combo = samplers[op].sample(random);
+                    int c0 = HandRange.comboCard0(combo);
+                    int c1 = HandRange.comboCard1(combo);
+                    long bits = (1L << c0) | (1L << c1);
+                    if ((used & bits) != 0) {
+                        dealt = false;
+                        break;
+                    }
+                    used |= bits;
+                    opp0[op] = c0;
+                    opp1[op] = c1;
+                }
+            }
+            if (!dealt) continue;
+
+            // 2. 补发公牌：在剩余牌堆上做局部洗牌，跳过对手已占用的牌
+            for (int k = knownBoardSize; k < 5; k++) {
+                int j = k - knownBoardSize;
+                int r;
+                do {
+                    r = j + random.nextInt(deckSize - j);
+                } while (((used >>> deck[r]) & 1) != 0);
+                int temp = deck[r];
+                deck[r] = deck[j];
+                deck[j] = temp;
+                board[k] = deck[j];
+            }
+
+            // 3. 比牌
+            runout.set(board[0], board[1], board[2], board[3], board[4]);
+            int myRank = runout.evaluate(myHand[0], myHand[1]);
+            boolean iWin = true;
+            boolean isTie = false;
+            for (int op = 0; op < numOpponents; op++) {
+                int opRank = runout.evaluate(opp0[op], opp1[op]);
+                if (opRank > myRank) {
+                    iWin = false;
+                    break;
+                } else if (opRank == myRank) {
+                    isTie = true;
+                }
+            }
+            valid++;
+            if (iWin) {
+                if (isTie) ties++;
+                else wins++;
+            }
+        }
+        counts[0] += wins;
+        counts[1] += ties;
+        counts[2] += valid;
+    }
+
+    static long cardMask(int[] cards) {
+        long mask = 0;
+        for (int c : cards) mask |= 1L << c;
+        return mask;
+    }
+
+    /**
+     * 范围穷举的只读局面
+     */
+    private static final class RangeContext {
+        final int[] myHand;
+        final int[] knownBoard;
+        final HandRange range;
+        final int[] combos;
+        final int comboCount;
+
+        RangeContext(int[] myHand, int[] knownBoard, HandRange range, int[] combos, int comboCount) {
+            this.myHand = myHand;
+            this.knownBoard = knownBoard;
+            this.range = range;
+            this.combos = combos;
+            this.comboCount = comboCount;
+        }
+
+        /**
+         * 穷举 combos[from, to) 的所有公牌，返回 {加权得分, 总权重, 结果数}
+         */
+        double[] enumerate(int from, int to) {
+            long dead = cardMask(myHand) | cardMask(knownBoard);
+            int[] board = new int[5];
+            System.arraycopy(knownBoard, 0, board, 0, knownBoard.length);
+            int[] deck = new int[52];
+            double[] sums = new double[3];
+            for (int i = from; i < to; i++) {
+                int combo = combos[i];
+                int c0 = HandRange.comboCard0(combo);
+                int c1 = HandRange.comboCard1(combo);
+                long used = dead | (1L << c0) | (1L << c1);
+                int deckSize = 0;
+                for (int c = 0; c < 52; c++) {
+                    if (((used >>> c) & 1) == 0) deck[deckSize++] = c;
+                }
+                long[] counts = new long[3];
+                dealBoard(board, knownBoard.length, 0, deck, deckSize, c0, c1, counts);
+                double w = range.weight(combo);
+                sums[0] += w * (counts[0] + 0.5 * counts[1]);
+                sums[1] += w * counts[2];
+                sums[2] += counts[2];
+            }
+            return sums;
+        }
+
+        private void dealBoard(int[] board, int filled, int from, int[] deck, int deckSize,
+                               int c0, int c1, long[] counts) {
+            if (filled == 5) {
+                int myRank = HandEvaluator.evaluate7(myHand[0], myHand[1], board[0], board[1], board[2], board[3], board[4]);
+                int opRank = HandEvaluator.evaluate7(c0, c1, board[0], board[1], board[2], board[3], board[4]);
+                if (myRank > opRank) counts[0]++;
+                else if (myRank == opRank) counts[1]++;
+                counts[2]++;
+                return;
+            }
+            for (int i = from; i < deckSize; i++) {
+                board[filled] = deck[i];
+                dealBoard(board, filled + 1, i + 1, deck, deckSize, c0, c1, counts);
+            }
+        }
+    }
+
+    /**
+     * 范围穷举的 Fork/Join 任务，按组合下标区间二分
+     */
+    private static final class RangeExactTask extends RecursiveTask<double[]> {
+        private final RangeContext ctx;
+        private final int from;
+        private final int to;
+
+        RangeExactTask(RangeContext ctx, int from, int to) {
+            this.ctx = ctx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= 8) {
+                return ctx.enumerate(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeExactTask left = new RangeExactTask(ctx, from, mid);
+            RangeExactTask right = new RangeExactTask(ctx, mid, to);
+            left.fork();
+            double[] r = right.compute();
+            double[] l = left.join();
+            for (int i = 0; i < 3; i++) r[i] += l[i];
+            return r;
+        }
+    }
+
+    // SplitMix64 混淆函数，用于从同一个 seed 派生互不相关的子流 seed
+    static long mixSeed(long seed, int stream) {
+        return RandomSources.mixSeed(seed, stream);
+    }
+
+    /**
+     * 一段模拟工作：运行 iterations 次，结果累加到 counts (见 {@link #COUNT_SLOTS})
+     */
+    interface Simulation {
+        void run(int iterations, long seed, long[] counts);
+    }
+
+    /**
+     * 二分递归拆分模拟块，叶子节点使用所在工作线程的模拟器与派生的随机数流
+     */
+    static final class SimulationTask extends RecursiveTask<long[]> {
+        private final Simulation simulation;
+        private final int iterations;
+        private final int totalChunks;
+        private final int fromChunk;
+        private final int toChunk;
+        private final long seed;
+        private final int slots;
+
+        SimulationTask(Simulation simulation, int iterations, int totalChunks, int fromChunk, int toChunk, long seed) {
+            this(simulation, iterations, totalChunks, fromChunk, toChunk, seed, COUNT_SLOTS);
+        }
+
+        SimulationTask(Simulation simulation, int iterations, int totalChunks, int fromChunk, int toChunk, long seed,
+                       int slots) {
+            this.simulation = simulation;
+            this.iterations = iterations;
+            this.totalChunks = totalChunks;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.seed = seed;
+            this.slots = slots;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (toChunk - fromChunk == 1) {
+                // 按块号均分模拟次数，余数分给前面的块
+                int base = iterations / totalChunks;
+                int runs = base + (fromChunk < iterations % totalChunks ? 1 : 0);
+                long[] counts = new long[slots];
+                simulation.run(runs, mixSeed(seed, fromChunk), counts);
+                return counts;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            SimulationTask left = new SimulationTask(simulation, iterations, totalChunks, fromChunk, mid, seed, slots);
+            SimulationTask right = new SimulationTask(simulation, iterations, totalChunks, mid, toChunk, seed, slots);
+            left.fork();
+            long[] r = right.compute();
+            long[] l = left.join();
+            for (int i = 0; i < slots; i++) r[i] += l[i];
+            return r;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步胜率计算句柄 (见 {@link EquityEngine#submitWinRate})
+ * <p>
+ * 计算按批次推进，每批结束后刷新 {@link #latest()} 并通知监听器，
+ * 因此随时可以读到当前最好的估计；{@link #cancel} 立即生效 ({@link #get} 随即抛出
+ * {@link CancellationException})，计算线程在当前批次结束时停止 (一批约 500 次模拟)。
+ * 到达截止时间时以已有样本的估计正常完成。
+ * <p>
+ * 完成、失败与取消通过同一个状态的 CAS 互斥，只有最先到达的一方生效。
+ */
+public final class EquityTask implements Future<EquityEstimate> {
+
+    /**
+     * 进度监听器，在计算线程上回调
+     */
+    public interface Listener {
+        /**
+         * @param estimate 当前估计 (样本数单调递增)
+         * @param done     是否为最终结果
+         */
+        void onEstimate(EquityEstimate estimate, boolean done);
+    }
+
+    private static final int RUNNING = 0;
+    private static final int DONE = 1;
+    private static final int FAILED = 2;
+    private static final int CANCELLED = 3;
+
+    private final Listener listener;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+    private volatile EquityEstimate latest;
+    private volatile Throwable failure;
+
+    EquityTask(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 当前最好的估计 (第一批完成前为 null)
+     */
+    public EquityEstimate latest() {
+        return latest;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!state.compareAndSet(RUNNING, CANCELLED)) return false;
+        finished.countDown();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return state.get() != RUNNING;
+    }
+
+    @Override
+    public EquityEstimate get() throws InterruptedException, ExecutionException {
+        finished.await();
+        return result();
+    }
+
+    @Override
+    public EquityEstimate get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!finished.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return result();
+    }
+
+    private EquityEstimate result() throws ExecutionException {
+        int s = state.get();
+        if (s == CANCELLED) throw new CancellationException();
+        if (s == FAILED) throw new ExecutionException(failure);
+        return latest;
+    }
+
+    // ==================== 计算线程回调 ====================
+
+    void publish(EquityEstimate estimate) {
+        latest = estimate;
+        if (listener != null && state.get() == RUNNING) listener.onEstimate(estimate, false);
+    }
+
+    void complete(EquityEstimate estimate) {
+        latest = estimate;
+        // 已被取消时闩锁已释放，最终结果不再通知
+        if (!state.compareAndSet(RUNNING, DONE)) return;
+        try {
+            if (listener != null) listener.onEstimate(estimate, true);
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    void fail(Throwable t) {
+        failure = t;
+        if (state.compareAndSet(RUNNING, FAILED)) finished.countDown();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.yolov5tfliteandroid.utils;
+
+/**
+ * 花色同构规范化 (Suit-Isomorphic Canonicalizer)
+ * <p>
+ * 花色在德州扑克中没有大小之分，例如 AhKh + 2h7c9d 与 AsKs + 2s7c9d 的胜率完全相同。
+ * 做法：对每个花色计算特征键 (手牌点数掩码 << 13 | 公牌点数掩码)，按特征键降序重新编号花色，
+ * 再对重编号后的手牌、公牌分别排序打包成一个 long。特征键相同的花色可以互换，因此结果唯一。
+ */
+public final class HandCanonicalizer {
+
+    private HandCanonicalizer() {
+    }
+
+    /**
+     * 规范化键：花色同构的局面返回相同的 long
+     * 布局 (高位到低位)：对手数 5 位 | 手牌 2×6 位 | 公牌 5×6 位 (每张牌存 card+1，0 表示空位)
+     *
+     * @param hand         手牌 (2 张，int 编码 0-51)
+     * @param board        公共牌 (0-5 张)
+     * @param numOpponents 对手数量 (0-31)
+     */
+    public static long canonicalKey(int[] hand, int[] board, int numOpponents) {
+        int[] suitMap = canonicalSuitMap(hand, board);
+
+        int h0 = remap(hand[0], suitMap);
+        int h1 = remap(hand[1], suitMap);
+        long key = numOpponents & 0x1F;
+        key = (key << 6) | (Math.max(h0, h1) + 1);
+        key = (key << 6) | (Math.min(h0, h1) + 1);
+
+        // 公牌最多 5 张，插入排序 (降序)
+        int[] sorted = new int[5];
+        int n = board.length;
+        for (int i = 0; i < n; i++) {
+            int c = remap(board[i], suitMap);
+            int j = i - 1;
+            while (j >= 0 && sorted[j] < c) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = c;
+        }
+        for (int i = 0; i < 5; i++) {
+            key = (key << 6) | (i < n ? sorted[i] + 1 : 0);
+        }
+        return key;
+    }
+
+    /**
+     * 计算花色重编号表：suitMap[原花色] = 规范花色
+     */
+    public static int[] canonicalSuitMap(int[] hand, int[] board) {
+        int[] suitKey = new int[4];
+        for (int c : hand) suitKey[c / 13] |= 1 << (13 + c % 13);
+        for (int c : board) suitKey[c / 13] |= 1 << (c % 13);
+
+        // 4 个花色按特征键降序排列
+        int[] order = {0, 1, 2, 3};
+        for (int i = 1; i < 4; i++) {
+            int s = order[i];
+            int j = i - 1;
+            while (j >= 0 && suitKey[order[j]] < suitKey[s]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = s;
+        }
+        int[] suitMap = new int[4];
+        for (int i = 0; i < 4; i++) suitMap[order[i]] = i;
+        return suitMap;
+    }
+
+    private static int remap(int card, int[] suitMap) {
+        return suitMap[card / 13] * 13 + card % 13;
+    }
+}
@@ -0,0 +1,394 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.HandCategory;
+
+import java.util.Arrays;
+
+/**
+ * 查表式牌力评估器 (Lookup-Table Hand Evaluator)
+ * <p>
+ * 牌使用 int 编码 0-51：rank = card % 13 (0=2, 12=A)，suit = card / 13。
+ * 返回稠密的牌力等级 1..7462，数值越大牌越强 (7462 = 皇家同花顺)。
+ * <p>
+ * 原理：
+ * 1. 非同花：每张牌贡献一个五进制点数键 (5^rank)，低 7 个点数累加在 long 的低 32 位，
+ *    高 6 个点数累加在高 32 位。两半分别查表得到“组合序号”，相加即为最小完美哈希下标。
+ * 2. 同花：4 个花色计数打包在一个 int 的 4 个 nibble 中，加 0x3333 后检查 0x8888 即可判断是否 >=5 张；
+ *    命中时取该花色的 13 位点数掩码直接查 8192 项的同花表。
+ * 整个评估只有若干次数组读取与加法，无分支排序、无对象创建。
+ * <p>
+ * 多名玩家共用同一组公牌时，用 {@link Board} 先累加一次公牌状态，每名玩家只再加 2 张手牌。
+ * <p>
+ * 表在类首次使用时一次性构建 (约几十毫秒)，可调用 {@link #init()} 提前预热。
+ */
+public final class HandEvaluator {
+
+    /** 牌力等级总数 (5 张牌的等价类数量) */
+    public static final int RANK_CLASS_COUNT = 7462;
+
+    private static final int LO_RANKS = 7;          // 点数 0..6 放在低半部分
+    private static final int HI_RANKS = 6;          // 点数 7..12 放在高半部分
+    private static final int LO_KEY_SPACE = 78125;  // 5^7
+    private static final int HI_KEY_SPACE = 15625;  // 5^6
+
+    // 每张牌的增量：点数键、花色计数、花色点数位
+    private static final long[] RANK_KEY = new long[52];
+    private static final int[] SUIT_INC = new int[52];
+    private static final long[] CARD_BIT = new long[52];
+
+    // 查找表
+    private static final char[] LO_INDEX = new char[LO_KEY_SPACE];
+    private static final int[][] HI_BASE = new int[3][HI_KEY_SPACE]; // 按总张数 5/6/7 分开
+    private static final short[] FLUSH = new short[8192];
+    private static final short[] NON_FLUSH;
+
+    // 兼容层：牌力等级 -> 旧版 long 分数 (category << 20 | 5 个 4 位 kicker)
+    private static final long[] LEGACY_SCORE = new long[RANK_CLASS_COUNT + 1];
+
+    static {
+        for (int c = 0; c < 52; c++) {
+            int r = c % 13;
+            int s = c / 13;
+            RANK_KEY[c] = (r < LO_RANKS) ? pow5(r) : (pow5(r - LO_RANKS) << 32);
+            SUIT_INC[c] = 1 << (s * 4);
+            CARD_BIT[c] = 1L << (s * 16 + r);
+        }
+
+        // 1. 枚举所有 5 张牌的等价类，按旧版分数排序得到稠密等级
+        long[] scores = new long[RANK_CLASS_COUNT];
+        int[] counts = new int[13];
+        int[] cursor = new int[1];
+        collectFiveCardScores(counts, 0, 5, scores, cursor);
+        for (int mask = 0; mask < 8192; mask++) {
+            if (Integer.bitCount(mask) == 5) {
+                scores[cursor[0]++] = legacyScore(null, mask);
+            }
+        }
+        if (cursor[0] != RANK_CLASS_COUNT) {
+            throw new IllegalStateException("Unexpected hand class count: " + cursor[0]);
+        }
+        Arrays.sort(scores);
+        System.arraycopy(scores, 0, LEGACY_SCORE, 1, RANK_CLASS_COUNT);
+
+        // 2. 同花表：任何 >=5 位的点数掩码
+        for (int mask = 0; mask < 8192; mask++) {
+            if (Integer.bitCount(mask) >= 5) {
+                FLUSH[mask] = (short) classOf(legacyScore(null, mask));
+            }
+        }
+
+        // 3. 低半部分组合序号 (同张数内的序号)
+        int[] loSize = new int[8];
+        fillLoIndex(new int[LO_RANKS], 0, 0, loSize);
+
+        // 4. 高半部分基址：对每个总张数 n，高半部分用掉 h 张，剩余 n-h 张落在低半部分
+        int[] offset = new int[1];
+        fillHiBase(new int[HI_RANKS], 0, 0, loSize, offset);
+        NON_FLUSH = new short[offset[0]];
+
+        // 5. 非同花表
+        fillNonFlush(counts, 0, 0);
+    }
+
+    private HandEvaluator() {
+    }
+
+    /**
+     * 预热：触发一次性建表，避免首个决策承担建表耗时
+     */
+    public static void init() {
+        // 类加载即完成建表，这里无需额外工作
+    }
+
+    /**
+     * 评估 7 张牌，返回牌力等级 1..7462 (越大越强)
+     */
+    public static int evaluate7(int c0, int c1, int c2, int c3, int c4, int c5, int c6) {
+        int suits = SUIT_INC[c0] + SUIT_INC[c1] + SUIT_INC[c2] + SUIT_INC[c3]
+                + SUIT_INC[c4] + SUIT_INC[c5] + SUIT_INC[c6];
+        int flush = (suits + 0x3333) & 0x8888;
+        if (flush != 0) {
+            long bits = CARD_BIT[c0] | CARD_BIT[c1] | CARD_BIT[c2] | CARD_BIT[c3]
+                    | CARD_BIT[c4] | CARD_BIT[c5] | CARD_BIT[c6];
+            int shift = (Integer.numberOfTrailingZeros(flush) >> 2) * 16;
+            return FLUSH[(int) (bits >>> shift) & 0x1FFF];
+        }
+        long key = RANK_KEY[c0] + RANK_KEY[c1] + RANK_KEY[c2] + RANK_KEY[c3]
+                + RANK_KEY[c4] + RANK_KEY[c5] + RANK_KEY[c6];
+        return NON_FLUSH[HI_BASE[2][(int) (key >>> 32)] + LO_INDEX[(int) key]];
+    }
+
+    /**
+     * 评估 int[7] 数组
+     */
+    public static int evaluate7(int[] cards) {
+        return evaluate7(cards[0], cards[1], cards[2], cards[3], cards[4], cards[5], cards[6]);
+    }
+
+    /**
+     * 评估任意 5-7 张牌 (取前 len 张)
+     */
+    public static int evaluate(int[] cards, int len) {
+        if (len < 5 || len > 7) {
+            throw new IllegalArgumentException("Hand must contain 5-7 cards, got " + len);
+        }
+        int suits = 0;
+        long bits = 0;
+        long key = 0;
+        for (int i = 0; i < len; i++) {
+            int c = cards[i];
+            suits += SUIT_INC[c];
+            bits |= CARD_BIT[c];
+            key += RANK_KEY[c];
+        }
+        int flush = (suits + 0x3333) & 0x8888;
+        if (flush != 0) {
+            int shift = (Integer.numberOfTrailingZeros(flush) >> 2) * 16;
+            return FLUSH[(int) (bits >>> shift) & 0x1FFF];
+        }
+        return NON_FLUSH[HI_BASE[len - 5][(int) (key >>> 32)] + LO_INDEX[(int) key]];
+    }
+
+    /**
+     * 公牌增量评估：公牌的点数键、花色计数和点数位只累加一次，之后每组 2 张手牌只做 2 次累加 + 查表
+     * <p>
+     * 公牌上没有任何花色达到 3 张时，手牌不可能凑成同花，直接跳过同花检查。
+     * 实例可反复 {@link #set} 复用，不分配内存；非线程安全。
+     */
+    public static final class Board {
+        private int suits;
+        private long bits;
+        private long key;
+        private boolean flushPossible;
+        private int[] hiBase = HI_BASE[2];
+
+        /**
+         * 设置 5 张公牌 (河牌后的完整牌面)
+         */
+        public Board set(int b0, int b1, int b2, int b3, int b4) {
+            suits = SUIT_INC[b0] + SUIT_INC[b1] + SUIT_INC[b2] + SUIT_INC[b3] + SUIT_INC[b4];
+            bits = CARD_BIT[b0] | CARD_BIT[b1] | CARD_BIT[b2] | CARD_BIT[b3] | CARD_BIT[b4];
+            key = RANK_KEY[b0] + RANK_KEY[b1] + RANK_KEY[b2] + RANK_KEY[b3] + RANK_KEY[b4];
+            flushPossible = ((suits + 0x5555) & 0x8888) != 0; // 某个花色 >= 3 张
+            hiBase = HI_BASE[2];
+            return this;
+        }
+
+        /**
+         * 设置前 len 张公牌 (3-5 张)，评估结果为手牌 + 这些公牌共 len + 2 张的牌力
+         */
+        public Board set(int[] cards, int len) {
+            if (len < 3 || len > 5) {
+                throw new IllegalArgumentException("Board must contain 3-5 cards, got " + len);
+            }
+            int s = 0;
+            long b = 0;
+            long k = 0;
+            for (int i = 0; i < len; i++) {
+                int c = cards[i];
+                s += SUIT_INC[c];
+                b |= CARD_BIT[c];
+                k += RANK_KEY[c];
+            }
+            suits = s;
+            bits = b;
+            key = k;
+            flushPossible = ((s + 0x5555) & 0x8888) != 0;
+            hiBase = HI_BASE[len - 3];
+            return this;
+        }
+
+        /**
+         * 手牌 c0, c1 加上公牌的牌力等级 1..7462 (与 {@link HandEvaluator#evaluate} 结果一致)
+         */
+        public int evaluate(int c0, int c1) {
+            if (flushPossible) {
+                int flush = (suits + SUIT_INC[c0] + SUIT_INC[c1] + 0x3333) & 0x8888;
+                if (flush != 0) {
+                    long b = bits | CARD_BIT[c0] | CARD_BIT[c1];
+                    int shift = (Integer.numberOfTrailingZeros(flush) >> 2) * 16;
+                    return FLUSH[(int) (b >>> shift) & 0x1FFF];
+                }
+            }
+            long k = key + RANK_KEY[c0] + RANK_KEY[c1];
+            return NON_FLUSH[hiBase[(int) (k >>> 32)] + LO_INDEX[(int) k]];
+        }
+    }
+
+    /**
+     * 兼容层：牌力等级转换为旧版 long 分数，两者排序完全一致
+     */
+    public static long toLegacyScore(int rankClass) {
+        return LEGACY_SCORE[rankClass];
+    }
+
+    /**
+     * 牌力等级所属的牌型
+     */
+    public static HandCategory category(int rankClass) {
+        return HandCategory.values()[(int) (LEGACY_SCORE[rankClass] >>> 20) - 1];
+    }
+
+    // =========================================================================
+    //  建表辅助 (Table Build)
+    // =========================================================================
+
+    private static long pow5(int e) {
+        long v = 1;
+        for (int i = 0; i < e; i++) v *= 5;
+        return v;
+    }
+
+    private static int classOf(long legacyScore) {
+        int idx = Arrays.binarySearch(LEGACY_SCORE, 1, RANK_CLASS_COUNT + 1, legacyScore);
+        if (idx < 0) {
+            throw new IllegalStateException("Unknown score: " + Long.toHexString(legacyScore));
+        }
+        return idx;
+    }
+
+    private static void collectFiveCardScores(int[] counts, int rank, int remaining, long[] out, int[] cursor) {
+        if (rank == 13) {
+            if (remaining == 0) out[cursor[0]++] = legacyScore(counts, 0);
+            return;
+        }
+        for (int k = 0; k <= Math.min(4, remaining); k++) {
+            counts[rank] = k;
+            collectFiveCardScores(counts, rank + 1, remaining - k, out, cursor);
+        }
+        counts[rank] = 0;
+    }
+
+    private static void fillLoIndex(int[] counts, int rank, int total, int[] loSize) {
+        if (rank == LO_RANKS) {
+            int key = 0;
+            for (int r = 0; r < LO_RANKS; r++) key += counts[r] * (int) pow5(r);
+            LO_INDEX[key] = (char) loSize[total]++;
+            return;
+        }
+        for (int k = 0; k <= 4 && total + k <= 7; k++) {
+            counts[rank] = k;
+            fillLoIndex(counts, rank + 1, total + k, loSize);
+        }
+        counts[rank] = 0;
+    }
+
+    private static void fillHiBase(int[] counts, int rank, int total, int[] loSize, int[] offset) {
+        if (rank == HI_RANKS) {
+            int key = 0;
+            for (int r = 0; r < HI_RANKS; r++) key += counts[r] * (int) pow5(r);
+            for (int n = 5; n <= 7; n++) {
+                if (n >= total) {
+                    HI_BASE[n - 5][key] = offset[0];
+                    offset[0] += loSize[n - total];
+                }
+            }
+            return;
+        }
+        for (int k = 0; k <= 4 && total + k <= 7; k++) {
+            counts[rank] = k;
+            fillHiBase(counts, rank + 1, total + k, loSize, offset);
+        }
+        counts[rank] = 0;
+    }
+
+    private static void fillNonFlush(int[] counts, int rank, int total) {
+        if (rank == 13) {
+            if (total < 5) return;
+            int lo = 0;
+            int hi = 0;
+            for (int r = 0; r < LO_RANKS; r++) lo += counts[r] * (int) pow5(r);
+            for (int r = 0; r < HI_RANKS; r++) hi += counts[LO_RANKS + r] * (int) pow5(r);
+            NON_FLUSH[HI_BASE[total - 5][hi] + LO_INDEX[lo]] = (short) classOf(legacyScore(counts, 0));
+            return;
+        }
+        for (int k = 0; k <= 4 && total + k <= 7; k++) {
+            counts[rank] = k;
+            fillNonFlush(counts, rank + 1, total + k);
+        }
+        counts[rank] = 0;
+    }
+
+    /**
+     * 旧版评分格式：category(1-9) 后跟最多 5 个 4 位 kicker (点数值 2-14)
+     *
+     * @param rankCounts 各点数张数 (同花时可为 null)
+     * @param flushMask  同花花色的点数掩码，非同花传 0
+     */
+    private static long legacyScore(int[] rankCounts, int flushMask) {
+        if (flushMask != 0) {
+            int sf = straightHigh(flushMask);
+            if (sf != -1) return encode(9, sf, 1);
+            return encode(6, topRanks(flushMask, 5), 5);
+        }
+
+        int mask = 0;
+        int quad = -1, trip = -1, trip2 = -1, pair1 = -1, pair2 = -1;
+        for (int r = 12; r >= 0; r--) {
+            int c = rankCounts[r];
+            if (c > 0) mask |= 1 << r;
+            if (c == 4) {
+                if (quad == -1) quad = r;
+            } else if (c == 3) {
+                if (trip == -1) trip = r;
+                else if (trip2 == -1) trip2 = r;
+            } else if (c == 2) {
+                if (pair1 == -1) pair1 = r;
+                else if (pair2 == -1) pair2 = r;
+            }
+        }
+
+        if (quad != -1) {
+            return encode(8, ((quad + 2) << 4) | topRanks(mask & ~(1 << quad), 1), 2);
+        }
+        if (trip != -1 && (trip2 != -1 || pair1 != -1)) {
+            // 两个三条时较小的三条当作对子
+            int pair = Math.max(trip2, pair1);
+            return encode(7, ((trip + 2) << 4) | (pair + 2), 2);
+        }
+        int straight = straightHigh(mask);
+        if (straight != -1) {
+            return encode(5, straight, 1);
+        }
+        if (trip != -1) {
+            return encode(4, ((trip + 2) << 8) | topRanks(mask & ~(1 << trip), 2), 3);
+        }
+        if (pair1 != -1 && pair2 != -1) {
+            int rest = mask & ~(1 << pair1) & ~(1 << pair2);
+            return encode(3, ((pair1 + 2) << 8) | ((pair2 + 2) << 4) | topRanks(rest, 1), 3);
+        }
+        if (pair1 != -1) {
+            return encode(2, ((pair1 + 2) << 12) | topRanks(mask & ~(1 << pair1), 3), 4);
+        }
+        return encode(1, topRanks(mask, 5), 5);
+    }
+
+    // 位掩码中最大的 n 个点数，打包为 n 个 4 位 kicker
+    private static int topRanks(int mask, int n) {
+        int packed = 0;
+        int taken = 0;
+        for (int r = 12; r >= 0 && taken < n; r--) {
+            if ((mask & (1 << r)) != 0) {
+                packed = (packed << 4) | (r + 2);
+                taken++;
+            }
+        }
+        return packed << (4 * (n - taken));
+    }
+
+    // 与旧版 encodeScoreFast 相同：category 后跟 slots 个 kicker，右侧补齐到 5 个
+    private static long encode(int category, int packedKickers, int slots) {
+        long s = ((long) category << (4 * slots)) | packedKickers;
+        return s << (4 * (5 - slots));
+    }
+
+    // 顺子最大点数值 (2-14)，无顺子返回 -1
+    private static int straightHigh(int mask) {
+        for (int i = 12; i >= 4; i--) {
+            int m = 0x1F << (i - 4);
+            if ((mask & m) == m) return i + 2;
+        }
+        if ((mask & 0x100F) == 0x100F) return 5;
+        return -1;
+    }
+}
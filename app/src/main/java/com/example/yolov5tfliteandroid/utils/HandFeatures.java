@@ -0,0 +1,208 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+
+/**
+ * 牌面纹理与听牌特征提取 (位掩码单次计算)
+ * <p>
+ * {@link #extract} 返回一个 int 特征位集：低 16 位为布尔特征，高位打包各类出牌数
+ * (用 {@link #flushOuts}/{@link #straightOuts}/{@link #overcards} 读取)。
+ * 只与公牌有关的纹理特征在翻牌圈直接查预计算表 (全部 C(52,3) = 22,100 种翻牌)，一次数组读取。
+ * <p>
+ * FLUSH_DRAW / STRAIGHT_DRAW / SET_MINING / BOARD_PAIRED / WET_BOARD 与原先的判定规则完全一致；
+ * 出牌数只计算手牌参与的听牌 (公牌自身组成的同花/顺子听牌不算我的出牌)，同一张牌不重复计数。
+ */
+public final class HandFeatures {
+
+    // ---------- 听牌与手牌特征 ----------
+    /** 手牌+公牌中某花色恰好 4 张 */
+    public static final int FLUSH_DRAW = 1;
+    /** 任意跨度 5 的点数窗口内有 4 个点数 (A 可当 1) */
+    public static final int STRAIGHT_DRAW = 1 << 1;
+    /** 口袋对子且公牌没有同点数的牌 */
+    public static final int SET_MINING = 1 << 2;
+    /** 两端顺子听牌 (或双卡顺)：至少两个点数能补成顺子 */
+    public static final int OPEN_ENDED = 1 << 3;
+    /** 卡顺：只有一个点数能补成顺子 */
+    public static final int GUTSHOT = 1 << 4;
+
+    // ---------- 公牌纹理 (翻牌圈查表) ----------
+    /** 公牌有重复点数 */
+    public static final int BOARD_PAIRED = 1 << 8;
+    /** 公牌中 3 张以上同花色 (翻牌即单色面) */
+    public static final int FLUSH_POSSIBLE = 1 << 9;
+    /** 公牌中恰好 2 张同花色的最多花色 (双色面) */
+    public static final int TWO_TONE = 1 << 10;
+    /** 公牌中有 3 个点数落在跨度 5 的窗口内 */
+    public static final int CONNECTED = 1 << 11;
+    /** 湿润牌面：FLUSH_POSSIBLE 或 CONNECTED (至少 3 张公牌) */
+    public static final int WET_BOARD = 1 << 12;
+
+    private static final int FLUSH_OUTS_SHIFT = 16;    // 4 位
+    private static final int STRAIGHT_OUTS_SHIFT = 20; // 4 位
+    private static final int OVERCARDS_SHIFT = 24;     // 2 位
+
+    /** 翻牌总数 C(52,3) */
+    public static final int FLOP_COUNT = 22100;
+    private static final char[] FLOP_TEXTURE = new char[FLOP_COUNT];
+
+    static {
+        for (int c2 = 2; c2 < 52; c2++) {
+            for (int c1 = 1; c1 < c2; c1++) {
+                for (int c0 = 0; c0 < c1; c0++) {
+                    FLOP_TEXTURE[flopIndex(c0, c1, c2)] = (char) computeTexture((1L << c0) | (1L << c1) | (1L << c2));
+                }
+            }
+        }
+    }
+
+    private HandFeatures() {
+    }
+
+    /**
+     * 计算全部特征
+     *
+     * @param hand  手牌位掩码
+     * @param board 公牌位掩码 (0-5 张)
+     */
+    public static int extract(long hand, long board) {
+        int boardSize = CardSet.size(board);
+        int f = texture(board);
+
+        long all = hand | board;
+        int ranks = CardSet.rankMask(all);
+        int boardRanks = CardSet.rankMask(board);
+        int handRanks = CardSet.rankMask(hand);
+
+        // 同花：恰好 4 张的花色；手牌参与且还有牌要发时才有出牌
+        int flushSuit = -1;
+        for (int s = 0; s < 4; s++) {
+            if (CardSet.suitCount(all, s) == 4) {
+                f |= FLUSH_DRAW;
+                if (CardSet.suitCount(hand, s) > 0) flushSuit = s;
+            }
+        }
+        int flushOuts = 0;
+        if (flushSuit >= 0 && boardSize < 5) {
+            flushOuts = 13 - 4;
+        }
+
+        // 顺子：沿用原规则的 STRAIGHT_DRAW，再按"补一张即成顺"计算出牌点数
+        if (maxRanksInWindow(withWheel(ranks)) >= 4) f |= STRAIGHT_DRAW;
+        int straightOuts = 0;
+        if (boardSize >= 3 && boardSize < 5 && !hasStraight(ranks)) {
+            int outRanks = 0;
+            for (int r = 0; r < 13; r++) {
+                int bit = 1 << r;
+                if ((ranks & bit) == 0 && hasStraight(ranks | bit) && !hasStraight(boardRanks | bit)) {
+                    outRanks |= bit;
+                }
+            }
+            int n = Integer.bitCount(outRanks);
+            if (n >= 2) f |= OPEN_ENDED;
+            else if (n == 1) f |= GUTSHOT;
+            for (int m = outRanks; m != 0; m &= m - 1) {
+                int r = Integer.numberOfTrailingZeros(m);
+                for (int s = 0; s < 4; s++) {
+                    // 已见过的牌、已算作同花出牌的牌不计
+                    if (s == flushSuit || ((all >>> (s * 13 + r)) & 1) != 0) continue;
+                    straightOuts++;
+                }
+            }
+        }
+
+        // 高张：手牌中高于公牌最大点数的张数
+        int overcards = 0;
+        if (boardSize > 0) {
+            int top = Integer.highestOneBit(boardRanks);
+            for (long m = hand; m != 0; m &= m - 1) {
+                if ((1 << (Long.numberOfTrailingZeros(m) % 13)) > top) overcards++;
+            }
+        }
+
+        // 口袋对子且公牌没有同点数
+        if (CardSet.size(hand) == 2 && Integer.bitCount(handRanks) == 1 && (boardRanks & handRanks) == 0) {
+            f |= SET_MINING;
+        }
+
+        return f | (flushOuts << FLUSH_OUTS_SHIFT) | (straightOuts << STRAIGHT_OUTS_SHIFT)
+                | (overcards << OVERCARDS_SHIFT);
+    }
+
+    /**
+     * 只与公牌有关的纹理特征 (翻牌圈查表)
+     */
+    public static int texture(long board) {
+        if (CardSet.size(board) == 3) {
+            long m = board;
+            int c0 = Long.numberOfTrailingZeros(m);
+            m &= m - 1;
+            int c1 = Long.numberOfTrailingZeros(m);
+            m &= m - 1;
+            int c2 = Long.numberOfTrailingZeros(m);
+            return FLOP_TEXTURE[flopIndex(c0, c1, c2)];
+        }
+        return computeTexture(board);
+    }
+
+    public static boolean has(int features, int flag) {
+        return (features & flag) != 0;
+    }
+
+    public static int flushOuts(int features) {
+        return (features >>> FLUSH_OUTS_SHIFT) & 0xF;
+    }
+
+    public static int straightOuts(int features) {
+        return (features >>> STRAIGHT_OUTS_SHIFT) & 0xF;
+    }
+
+    /**
+     * 同花与顺子出牌合计 (不重复)
+     */
+    public static int outs(int features) {
+        return flushOuts(features) + straightOuts(features);
+    }
+
+    public static int overcards(int features) {
+        return (features >>> OVERCARDS_SHIFT) & 0x3;
+    }
+
+    // 组合数系统下标：c0 < c1 < c2，结果 0..22099
+    static int flopIndex(int c0, int c1, int c2) {
+        return c0 + c1 * (c1 - 1) / 2 + c2 * (c2 - 1) * (c2 - 2) / 6;
+    }
+
+    private static int computeTexture(long board) {
+        int size = CardSet.size(board);
+        int f = 0;
+        int ranks = CardSet.rankMask(board);
+        if (Integer.bitCount(ranks) < size) f |= BOARD_PAIRED;
+        int maxSuit = 0;
+        for (int s = 0; s < 4; s++) maxSuit = Math.max(maxSuit, CardSet.suitCount(board, s));
+        if (maxSuit >= 3) f |= FLUSH_POSSIBLE;
+        else if (maxSuit == 2) f |= TWO_TONE;
+        if (size >= 3 && maxRanksInWindow(ranks) >= 3) f |= CONNECTED;
+        if (size >= 3 && (f & (FLUSH_POSSIBLE | CONNECTED)) != 0) f |= WET_BOARD;
+        return f;
+    }
+
+    // A 同时当作最小点数：左移一位腾出 bit 0 给 A-low
+    private static int withWheel(int ranks) {
+        return (ranks << 1) | (ranks >>> 12);
+    }
+
+    private static boolean hasStraight(int ranks) {
+        int w = withWheel(ranks);
+        return (w & (w >>> 1) & (w >>> 2) & (w >>> 3) & (w >>> 4)) != 0;
+    }
+
+    // 任意连续 5 个点数窗口中出现的最多点数个数
+    private static int maxRanksInWindow(int rankMask) {
+        int best = 0;
+        for (int low = 0; low + 5 <= 14; low++) {
+            best = Math.max(best, Integer.bitCount(rankMask & (0x1F << low)));
+        }
+        return best;
+    }
+}
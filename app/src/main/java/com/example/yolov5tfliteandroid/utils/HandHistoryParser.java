@@ -0,0 +1,521 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionSpot;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 流式牌谱解析器 (PokerStars 文本格式)，逐个产出主角 (Dealt to 的玩家) 每次行动前的决策局面
+ * <p>
+ * 文件按窗口 (默认 {@value #DEFAULT_WINDOW} 字节) 内存映射，逐字节扫描，不构造任何中间 String：
+ * 玩家名复制到固定的字节数组中比较，金额直接从字节解析 (支持 $ / € / £ 前缀与千分位逗号)，
+ * 牌直接解码为 int 编码 0-51 (与 {@link CardSet#toIntArray} 一致) 并累加到位掩码。
+ * 跨窗口的行会从行首重新映射，因此文件大小不受 2 GB 映射上限限制。
+ * <p>
+ * 每条记录 ({@link DecisionSpot}) 给出主角行动前的手牌、公牌、底池 (含本街所有下注)、需跟注额、剩余筹码、
+ * 最小加注额、未弃牌的对手数，以及记录中主角实际的动作与金额 (下注/加注为加注到的总额)。
+ * 前注直接计入底池，不计入跟注额；标记 "is sitting out" 的座位不算对手。
+ * <p>
+ * 用法 (测吞吐量)：
+ * <pre>
+ *   java -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.HandHistoryParser &lt;牌谱文件&gt;
+ * </pre>
+ * 非线程安全。
+ */
+public final class HandHistoryParser implements Closeable {
+
+    public static final int DEFAULT_WINDOW = 256 << 20;
+
+    private static final int MAX_SEATS = 10;
+    private static final int MAX_NAME = 64;
+
+    private static final byte[] HAND_START = ascii("PokerStars ");
+    private static final byte[] SEAT = ascii("Seat ");
+    private static final byte[] HOLE_CARDS = ascii("*** HOLE CARDS");
+    private static final byte[] FLOP = ascii("*** FLOP");
+    private static final byte[] TURN = ascii("*** TURN");
+    private static final byte[] RIVER = ascii("*** RIVER");
+    private static final byte[] SHOW_DOWN = ascii("*** SHOW DOWN");
+    private static final byte[] SUMMARY = ascii("*** SUMMARY");
+    private static final byte[] DEALT_TO = ascii("Dealt to ");
+    private static final byte[] UNCALLED = ascii("Uncalled bet (");
+    private static final byte[] RETURNED_TO = ascii(") returned to ");
+    private static final byte[] SITTING_OUT = ascii("is sitting out");
+    private static final byte[] ALL_IN = ascii("all-in");
+    private static final byte[] POSTS = ascii("posts ");
+    private static final byte[] ANTE = ascii("posts the ante");
+    private static final byte[] BIG_BLIND = ascii("posts big blind");
+    private static final byte[] BOTH_BLINDS = ascii("posts small & big blinds");
+    private static final byte[] FOLDS = ascii("folds");
+    private static final byte[] CHECKS = ascii("checks");
+    private static final byte[] CALLS = ascii("calls ");
+    private static final byte[] BETS = ascii("bets ");
+    private static final byte[] RAISES = ascii("raises ");
+    private static final byte[] TO = ascii(" to ");
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int limit;
+    private int pos;
+    private int lineStart;
+    private int lineEnd;
+
+    // 统计
+    private long hands;
+    private long decisions;
+
+    // 当前一手牌的状态
+    private boolean inHand;       // 已读到手牌头，尚未到摊牌/总结
+    private boolean dealt;        // 已读到 HOLE CARDS
+    private int seats;
+    private final byte[][] names = new byte[MAX_SEATS][MAX_NAME];
+    private final int[] nameLength = new int[MAX_SEATS];
+    private final double[] stack = new double[MAX_SEATS];
+    private final double[] street = new double[MAX_SEATS];
+    private final boolean[] folded = new boolean[MAX_SEATS];
+    private int hero;
+    private long heroHand;
+    private long board;
+    private double pot;
+    private double currentBet;
+    private double lastRaise;
+    private double bigBlind;
+    private int cursor; // parseAmount 之后的位置
+
+    private HandHistoryParser(File path, int windowBytes) throws IOException {
+        if (windowBytes < 1) {
+            throw new IllegalArgumentException("Window must be >= 1 byte, got " + windowBytes);
+        }
+        this.file = new RandomAccessFile(path, "r");
+        this.channel = file.getChannel();
+        this.fileSize = channel.size();
+        this.windowBytes = windowBytes;
+        map(0);
+        // 跳过 UTF-8 BOM
+        if (limit >= 3 && (window.get(0) & 0xFF) == 0xEF && (window.get(1) & 0xFF) == 0xBB
+                && (window.get(2) & 0xFF) == 0xBF) {
+            pos = 3;
+        }
+    }
+
+    public static HandHistoryParser open(File path) throws IOException {
+        return new HandHistoryParser(path, DEFAULT_WINDOW);
+    }
+
+    /**
+     * 指定映射窗口大小 (须大于最长的一行)
+     */
+    public static HandHistoryParser open(File path, int windowBytes) throws IOException {
+        return new HandHistoryParser(path, windowBytes);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: HandHistoryParser <hand history file>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        HandHistoryParser parser = open(new File(args[0]));
+        try {
+            DecisionSpot spot = new DecisionSpot();
+            while (parser.next(spot)) {
+                // 只计数
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d bytes, %d hands, %d decisions in %.2fs: %.1f MB/s, %.0f hands/s%n",
+                    parser.bytesRead(), parser.hands(), parser.decisions(), seconds,
+                    parser.bytesRead() / 1e6 / seconds, parser.hands() / seconds);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * 读到下一个主角决策并填入 out；文件结束返回 false
+     */
+    public boolean next(DecisionSpot out) throws IOException {
+        while (readLine()) {
+            if (handleLine(out)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 作为 {@link DecisionReplay} 的局面来源 (每条记录一个新对象)
+     */
+    public DecisionReplay.Source asSource() {
+        return () -> {
+            DecisionSpot spot = new DecisionSpot();
+            return next(spot) ? spot : null;
+        };
+    }
+
+    public long bytesRead() {
+        return windowStart + pos;
+    }
+
+    public long hands() {
+        return hands;
+    }
+
+    public long decisions() {
+        return decisions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    // ==================== 行处理 ====================
+
+    private boolean handleLine(DecisionSpot out) {
+        if (startsWith(lineStart, HAND_START)) {
+            newHand();
+            return false;
+        }
+        if (!inHand || lineEnd == lineStart) {
+            return false;
+        }
+        if (!dealt) {
+            if (startsWith(lineStart, SEAT)) {
+                seatLine();
+            } else if (startsWith(lineStart, HOLE_CARDS)) {
+                dealt = true;
+            } else {
+                actionLine(null); // 前注与盲注
+            }
+            return false;
+        }
+        if (startsWith(lineStart, DEALT_TO)) {
+            dealtLine();
+        } else if (startsWith(lineStart, FLOP) || startsWith(lineStart, TURN) || startsWith(lineStart, RIVER)) {
+            boardLine();
+        } else if (startsWith(lineStart, SHOW_DOWN) || startsWith(lineStart, SUMMARY)) {
+            inHand = false;
+        } else if (startsWith(lineStart, UNCALLED)) {
+            uncalledLine();
+        } else {
+            return actionLine(out);
+        }
+        return false;
+    }
+
+    private void newHand() {
+        hands++;
+        inHand = true;
+        dealt = false;
+        seats = 0;
+        hero = -1;
+        heroHand = 0;
+        board = 0;
+        pot = 0;
+        currentBet = 0;
+        lastRaise = 0;
+        bigBlind = 0;
+    }
+
+    // Seat 3: name ($12.34 in chips) [is sitting out]
+    private void seatLine() {
+        int colon = indexOf((byte) ':', lineStart, lineEnd);
+        int paren = lastIndexOf((byte) '(', lineStart, lineEnd);
+        if (colon < 0 || paren < colon + 3 || seats == MAX_SEATS) {
+            return;
+        }
+        int s = seats++;
+        int length = Math.min(MAX_NAME, paren - 1 - (colon + 2));
+        for (int i = 0; i < length; i++) names[s][i] = window.get(colon + 2 + i);
+        nameLength[s] = length;
+        stack[s] = parseAmount(paren + 1);
+        street[s] = 0;
+        folded[s] = indexOf(SITTING_OUT, paren, lineEnd) >= 0;
+    }
+
+    // Dealt to name [As Kd]
+    private void dealtLine() {
+        int bracket = lastIndexOf((byte) '[', lineStart, lineEnd);
+        if (hero >= 0 || bracket < 0) {
+            return;
+        }
+        int s = seatAt(lineStart + DEALT_TO.length, bracket - 1);
+        if (s < 0) {
+            return;
+        }
+        hero = s;
+        heroHand = parseCards(bracket + 1);
+    }
+
+    // *** FLOP *** [2c 7d 9h] / *** TURN *** [2c 7d 9h] [Ts]：取最后一对方括号中的新牌
+    private void boardLine() {
+        int bracket = lastIndexOf((byte) '[', lineStart, lineEnd);
+        if (bracket >= 0) {
+            board |= parseCards(bracket + 1);
+        }
+        for (int s = 0; s < seats; s++) street[s] = 0;
+        currentBet = 0;
+        lastRaise = bigBlind;
+    }
+
+    // Uncalled bet ($8.70) returned to name
+    private void uncalledLine() {
+        double amount = parseAmount(lineStart + UNCALLED.length);
+        int to = indexOf(RETURNED_TO, cursor, lineEnd);
+        int s = to < 0 ? -1 : seatAt(to + RETURNED_TO.length, lineEnd);
+        if (s >= 0) {
+            stack[s] += amount;
+            street[s] -= amount;
+            pot -= amount;
+        }
+    }
+
+    /**
+     * name: verb ...，主角的 fold/check/call/bet/raise 且 out 非空时先填入决策再应用
+     */
+    private boolean actionLine(DecisionSpot out) {
+        int s = -1;
+        int verb = -1;
+        for (int i = 0; i < seats; i++) {
+            int end = lineStart + nameLength[i];
+            if (end + 2 <= lineEnd && window.get(end) == ':' && window.get(end + 1) == ' '
+                    && nameMatches(i, lineStart, end)) {
+                s = i;
+                verb = end + 2;
+                break;
+            }
+        }
+        if (s < 0) {
+            return false;
+        }
+        if (startsWith(verb, POSTS)) {
+            double amount = parseAmount(verb + POSTS.length);
+            if (startsWith(verb, ANTE)) {
+                stack[s] -= amount;
+                pot += amount;
+            } else if (startsWith(verb, BOTH_BLINDS)) {
+                // 死的小盲直接进底池，只有大盲部分计入本街下注
+                double live = Math.min(amount, bigBlind > 0 ? bigBlind : amount);
+                stack[s] -= amount - live;
+                pot += amount - live;
+                commit(s, live);
+            } else {
+                if (startsWith(verb, BIG_BLIND) && bigBlind == 0) {
+                    bigBlind = amount;
+                    lastRaise = amount;
+                }
+                commit(s, amount);
+            }
+            return false;
+        }
+
+        Action action;
+        double amount = 0;
+        double raiseTo = 0;
+        if (startsWith(verb, FOLDS)) {
+            action = Action.FOLD;
+        } else if (startsWith(verb, CHECKS)) {
+            action = Action.CHECK_FOLD;
+        } else if (startsWith(verb, CALLS)) {
+            action = Action.CALL;
+            amount = parseAmount(verb + CALLS.length);
+        } else if (startsWith(verb, BETS)) {
+            action = Action.RAISE;
+            amount = parseAmount(verb + BETS.length);
+            raiseTo = street[s] + amount;
+        } else if (startsWith(verb, RAISES)) {
+            action = Action.RAISE;
+            amount = parseAmount(verb + RAISES.length); // 加注增量
+            int to = indexOf(TO, cursor, lineEnd);
+            raiseTo = to >= 0 ? parseAmount(to + TO.length) : currentBet + amount;
+        } else {
+            return false; // shows / mucks / collected / 聊天等
+        }
+        boolean allIn = indexOf(ALL_IN, verb, lineEnd) >= 0;
+        boolean emit = out != null && s == hero;
+        if (emit) {
+            fill(out, allIn && action != Action.FOLD ? Action.ALL_IN : action,
+                    action == Action.RAISE ? raiseTo : amount);
+        }
+
+        if (action == Action.FOLD) {
+            folded[s] = true;
+        } else if (action == Action.CALL) {
+            commit(s, amount);
+        } else if (action == Action.RAISE) {
+            lastRaise = Math.max(lastRaise, raiseTo - currentBet);
+            commit(s, raiseTo - street[s]);
+        }
+        return emit;
+    }
+
+    private void fill(DecisionSpot out, Action action, double amount) {
+        int opponents = 0;
+        for (int i = 0; i < seats; i++) {
+            if (i != hero && !folded[i]) opponents++;
+        }
+        out.id = ++decisions;
+        out.hand = heroHand;
+        out.board = board;
+        out.numOpponents = opponents;
+        out.potSize = pot;
+        out.costToCall = Math.min(currentBet - street[hero], stack[hero]);
+        out.myStack = stack[hero];
+        out.minRaise = Math.max(lastRaise, bigBlind);
+        out.action = action;
+        out.amount = amount;
+    }
+
+    private void commit(int s, double amount) {
+        stack[s] -= amount;
+        street[s] += amount;
+        pot += amount;
+        if (street[s] > currentBet) currentBet = street[s];
+    }
+
+    // ==================== 字节级解析 ====================
+
+    /**
+     * 从 at 开始跳过货币符号等非数字字符，解析 "1,234.56" 形式的金额；结束位置写入 cursor
+     */
+    private double parseAmount(int at) {
+        int i = at;
+        while (i < lineEnd && !isDigit(window.get(i))) i++;
+        long mantissa = 0;
+        long scale = 1;
+        boolean fraction = false;
+        for (; i < lineEnd; i++) {
+            byte b = window.get(i);
+            if (isDigit(b)) {
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) scale *= 10;
+            } else if (b == '.' && !fraction && i + 1 < lineEnd && isDigit(window.get(i + 1))) {
+                fraction = true;
+            } else if (b != ',') {
+                break;
+            }
+        }
+        cursor = i;
+        return (double) mantissa / scale;
+    }
+
+    /**
+     * 解析 "As Kd ..." 直到 ']'，返回位掩码
+     */
+    private long parseCards(int at) {
+        long cards = 0;
+        for (int i = at; i + 1 < lineEnd && window.get(i) != ']'; i++) {
+            byte b = window.get(i);
+            if (b == ' ') continue;
+            int c = CardSet.cardIndex((char) b, (char) window.get(i + 1));
+            if (c >= 0) cards |= 1L << c;
+            i++;
+        }
+        return cards;
+    }
+
+    // [from, to) 正好是某个玩家名
+    private int seatAt(int from, int to) {
+        for (int i = 0; i < seats; i++) {
+            if (to - from == nameLength[i] && nameMatches(i, from, to)) return i;
+        }
+        return -1;
+    }
+
+    private boolean nameMatches(int seat, int from, int to) {
+        byte[] name = names[seat];
+        for (int i = from; i < to; i++) {
+            if (window.get(i) != name[i - from]) return false;
+        }
+        return true;
+    }
+
+    private boolean startsWith(int at, byte[] literal) {
+        if (at < 0 || at + literal.length > lineEnd) {
+            return false;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (window.get(at + i) != literal[i]) return false;
+        }
+        return true;
+    }
+
+    private int indexOf(byte[] literal, int from, int to) {
+        for (int i = from; i + literal.length <= to; i++) {
+            if (startsWith(i, literal)) return i;
+        }
+        return -1;
+    }
+
+    private int indexOf(byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (window.get(i) == b) return i;
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(byte b, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (window.get(i) == b) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // ==================== 映射窗口 ====================
+
+    /**
+     * 读入下一行到 [lineStart, lineEnd)，不含行尾 \r\n；文件结束返回 false
+     */
+    private boolean readLine() throws IOException {
+        if (pos >= limit) {
+            if (windowStart + limit >= fileSize) {
+                return false;
+            }
+            map(windowStart + pos);
+        }
+        int nl = indexOf((byte) '\n', pos, limit);
+        if (nl < 0 && windowStart + limit < fileSize) {
+            // 行跨越窗口边界：从行首重新映射
+            map(windowStart + pos);
+            nl = indexOf((byte) '\n', pos, limit);
+            if (nl < 0 && windowStart + limit < fileSize) {
+                throw new IOException("Line at byte " + windowStart + " is longer than the " + windowBytes + "-byte window");
+            }
+        }
+        lineStart = pos;
+        lineEnd = nl < 0 ? limit : nl;
+        pos = nl < 0 ? limit : nl + 1;
+        if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        return true;
+    }
+
+    private void map(long start) throws IOException {
+        long size = Math.min(windowBytes, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        limit = (int) size;
+        pos = 0;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 花色同构局面的稠密下标 (Hand Isomorphism Indexer)
+ * <p>
+ * 把 (2 张手牌, n 张公牌) 映射到 [0, size) 的整数，花色同构的局面得到同一个下标，且下标之间没有空洞：
+ * 翻前 169、翻牌 1,286,792、转牌 13,960,050、河牌 123,156,254。
+ * 可以直接作为离线表 (如 {@link CardAbstraction} 的分桶文件) 的数组下标。
+ * <p>
+ * 原理：每个花色由 (手牌张数 h, 公牌张数 b) 组成的“形状”和该形状下的点数组合序号描述，
+ * 序号 = 手牌点数集合的组合序号 + C(13, h) × 公牌点数集合 (去掉手牌占用的点数后) 的组合序号。
+ * 4 个花色按 (形状, 序号) 降序排列后，形状序列 (“配置”) 决定一段连续的下标区间，
+ * 区间内形状相同的花色组成一组，组内序号是可重复组合，用组合数系统编号，各组再按混合进制拼接。
+ * 花色的重新排列只改变排序前的顺序，因此同构局面的下标相同。
+ * <p>
+ * {@link #index} 只做 4 次查表、一次 4 元素排序网络和一次小数组二分查找，不分配内存；
+ * {@link #unindex} 还原一个规范局面，供离线枚举使用。实例不可变，线程安全。
+ */
+public final class HandIndexer {
+
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+    private static final int HAND_CARDS = 2;
+    private static final int RANK_MASK = (1 << RANKS) - 1;
+
+    // 点数集合 (13 位掩码) <-> 组合序号 (colex，与集合所在的点数范围无关)
+    private static final int[][] NCR = new int[RANKS + 1][RANKS + 1];
+    private static final int[] RANK_SET_INDEX = new int[1 << RANKS];
+    private static final int[][] INDEX_TO_RANK_SET = new int[RANKS + 1][];
+
+    private static final HandIndexer[] BY_BOARD_SIZE = new HandIndexer[6];
+
+    static {
+        for (int n = 0; n <= RANKS; n++) {
+            NCR[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                NCR[n][k] = NCR[n - 1][k - 1] + (k < n ? NCR[n - 1][k] : 0);
+            }
+        }
+        for (int k = 0; k <= RANKS; k++) {
+            INDEX_TO_RANK_SET[k] = new int[NCR[RANKS][k]];
+        }
+        for (int set = 0; set <= RANK_MASK; set++) {
+            int index = 0;
+            int j = 1;
+            for (int m = set; m != 0; m &= m - 1, j++) {
+                int r = Integer.numberOfTrailingZeros(m);
+                index += r >= j ? NCR[r][j] : 0;
+            }
+            RANK_SET_INDEX[set] = index;
+            INDEX_TO_RANK_SET[Integer.bitCount(set)][index] = set;
+        }
+        for (int boardSize : new int[]{0, 3, 4, 5}) {
+            BY_BOARD_SIZE[boardSize] = new HandIndexer(boardSize);
+        }
+    }
+
+    private final int boardSize;
+    private final int shapes;          // 形状数 = 3 × (boardSize + 1)，形状编号 = h × (boardSize + 1) + b
+    private final long[] shapeSize;    // 每种形状下的点数组合数
+    private final int[] configKeys;    // 配置键 (4 个形状编号降序拼接)，升序
+    private final long[] configOffset; // 每个配置的起始下标
+    private final int[][] groupStart;  // 每个配置内各组的起始位置 / 长度 / 组合数 / 进制权重
+    private final int[][] groupLength;
+    private final long[][] groupCount;
+    private final long[][] groupWeight;
+    private final long size;
+
+    private HandIndexer(int boardSize) {
+        this.boardSize = boardSize;
+        this.shapes = (HAND_CARDS + 1) * (boardSize + 1);
+        this.shapeSize = new long[shapes];
+        for (int t = 0; t < shapes; t++) {
+            int h = t / (boardSize + 1);
+            int b = t % (boardSize + 1);
+            shapeSize[t] = (long) NCR[RANKS][h] * NCR[RANKS - h][b];
+        }
+
+        // 枚举所有形状降序排列、张数合计正确的配置 (按键升序)
+        List<int[]> configs = new ArrayList<>();
+        for (int t0 = 0; t0 < shapes; t0++) {
+            for (int t1 = 0; t1 <= t0; t1++) {
+                for (int t2 = 0; t2 <= t1; t2++) {
+                    for (int t3 = 0; t3 <= t2; t3++) {
+                        int[] t = {t0, t1, t2, t3};
+                        int h = 0;
+                        int b = 0;
+                        for (int s : t) {
+                            h += s / (boardSize + 1);
+                            b += s % (boardSize + 1);
+                        }
+                        if (h == HAND_CARDS && b == boardSize) configs.add(t);
+                    }
+                }
+            }
+        }
+        int n = configs.size();
+        configKeys = new int[n];
+        configOffset = new long[n];
+        groupStart = new int[n][];
+        groupLength = new int[n][];
+        groupCount = new long[n][];
+        groupWeight = new long[n][];
+        long offset = 0;
+        for (int c = 0; c < n; c++) {
+            int[] t = configs.get(c);
+            configKeys[c] = configKey(t[0], t[1], t[2], t[3]);
+            configOffset[c] = offset;
+            int groups = 1;
+            for (int p = 1; p < SUITS; p++) {
+                if (t[p] != t[p - 1]) groups++;
+            }
+            groupStart[c] = new int[groups];
+            groupLength[c] = new int[groups];
+            groupCount[c] = new long[groups];
+            groupWeight[c] = new long[groups];
+            long weight = 1;
+            for (int g = 0, p = 0; g < groups; g++) {
+                int start = p;
+                while (p < SUITS && t[p] == t[start]) p++;
+                int len = p - start;
+                groupStart[c][g] = start;
+                groupLength[c][g] = len;
+                groupCount[c][g] = binomial(shapeSize[t[start]] + len - 1, len);
+                groupWeight[c][g] = weight;
+                weight *= groupCount[c][g];
+            }
+            offset += weight;
+        }
+        size = offset;
+    }
+
+    /**
+     * 公牌张数为 0 / 3 / 4 / 5 的索引器
+     */
+    public static HandIndexer forBoardSize(int boardSize) {
+        HandIndexer indexer = boardSize >= 0 && boardSize < BY_BOARD_SIZE.length ? BY_BOARD_SIZE[boardSize] : null;
+        if (indexer == null) {
+            throw new IllegalArgumentException("Board must contain 0, 3, 4 or 5 cards, got " + boardSize);
+        }
+        return indexer;
+    }
+
+    public int boardSize() {
+        return boardSize;
+    }
+
+    /**
+     * 规范局面总数 (下标范围 [0, size))
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 局面下标 (int 编码 0-51)
+     */
+    public long index(int[] hand, int[] board) {
+        return index(CardSet.of(hand), CardSet.of(board));
+    }
+
+    /**
+     * 局面下标 (位掩码，见 {@link CardSet})
+     */
+    public long index(long hand, long board) {
+        if (Long.bitCount(hand) != HAND_CARDS || Long.bitCount(board) != boardSize || (hand & board) != 0) {
+            throw new IllegalArgumentException("Expected 2 hand cards and " + boardSize
+                    + " distinct board cards, got " + CardSet.toString(hand) + " / " + CardSet.toString(board));
+        }
+        // 每个花色编码为 形状 << 32 | 序号，降序排序 (5 次比较交换的排序网络)
+        long k0 = suitKey(hand, board, 0);
+        long k1 = suitKey(hand, board, 1);
+        long k2 = suitKey(hand, board, 2);
+        long k3 = suitKey(hand, board, 3);
+        long t;
+        if (k0 < k1) { t = k0; k0 = k1; k1 = t; }
+        if (k2 < k3) { t = k2; k2 = k3; k3 = t; }
+        if (k0 < k2) { t = k0; k0 = k2; k2 = t; }
+        if (k1 < k3) { t = k1; k1 = k3; k3 = t; }
+        if (k1 < k2) { t = k1; k1 = k2; k2 = t; }
+
+        int c = Arrays.binarySearch(configKeys,
+                configKey((int) (k0 >>> 32), (int) (k1 >>> 32), (int) (k2 >>> 32), (int) (k3 >>> 32)));
+        long index = configOffset[c];
+        int[] starts = groupStart[c];
+        int[] lengths = groupLength[c];
+        for (int g = 0; g < starts.length; g++) {
+            // 组内序号降序 a_1 >= ... >= a_len，编号 = Σ C(a_j + len - j, len - j + 1)
+            int len = lengths[g];
+            long rank = 0;
+            for (int j = 1; j <= len; j++) {
+                long a = sorted(starts[g] + j - 1, k0, k1, k2, k3) & 0xFFFFFFFFL;
+                rank += binomial(a + len - j, len - j + 1);
+            }
+            index += rank * groupWeight[c][g];
+        }
+        return index;
+    }
+
+    /**
+     * 还原下标对应的规范局面：out[0] = 手牌位掩码，out[1] = 公牌位掩码
+     */
+    public void unindex(long index, long[] out) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index out of range [0, " + size + "): " + index);
+        }
+        int c = Arrays.binarySearch(configOffset, index);
+        if (c < 0) c = -c - 2;
+        long rest = index - configOffset[c];
+        int key = configKeys[c];
+        long hand = 0;
+        long board = 0;
+        int suit = 0;
+        for (int g = 0; g < groupStart[c].length; g++) {
+            int len = groupLength[c][g];
+            int shape = (key >>> (8 * (SUITS - 1 - groupStart[c][g]))) & 0xFF;
+            long rank = rest / groupWeight[c][g] % groupCount[c][g];
+            for (int j = 1; j <= len; j++) {
+                int k = len - j + 1;
+                long b = largestBelow(rank, k, shapeSize[shape] + len - 1);
+                rank -= binomial(b, k);
+                long a = b - (len - j);
+                int h = shape / (boardSize + 1);
+                int handSet = INDEX_TO_RANK_SET[h][(int) (a % NCR[RANKS][h])];
+                int boardSet = expand(INDEX_TO_RANK_SET[shape % (boardSize + 1)][(int) (a / NCR[RANKS][h])], handSet);
+                hand |= (long) handSet << (13 * suit);
+                board |= (long) boardSet << (13 * suit);
+                suit++;
+            }
+        }
+        out[0] = hand;
+        out[1] = board;
+    }
+
+    private long suitKey(long hand, long board, int suit) {
+        int handSet = CardSet.suitMask(hand, suit);
+        int boardSet = CardSet.suitMask(board, suit);
+        int h = Integer.bitCount(handSet);
+        int shape = h * (boardSize + 1) + Integer.bitCount(boardSet);
+        long index = RANK_SET_INDEX[handSet] + (long) NCR[RANKS][h] * RANK_SET_INDEX[compress(boardSet, handSet)];
+        return ((long) shape << 32) | index;
+    }
+
+    private static int configKey(int t0, int t1, int t2, int t3) {
+        return (t0 << 24) | (t1 << 16) | (t2 << 8) | t3;
+    }
+
+    private static long sorted(int position, long k0, long k1, long k2, long k3) {
+        switch (position) {
+            case 0:
+                return k0;
+            case 1:
+                return k1;
+            case 2:
+                return k2;
+            default:
+                return k3;
+        }
+    }
+
+    /**
+     * 去掉 used 占用的点数位，其余位依次下移 (set 与 used 不相交)
+     */
+    private static int compress(int set, int used) {
+        for (int m = used; m != 0; m &= ~Integer.highestOneBit(m)) {
+            int bit = 31 - Integer.numberOfLeadingZeros(m);
+            set = (set & ((1 << bit) - 1)) | ((set >>> (bit + 1)) << bit);
+        }
+        return set;
+    }
+
+    /**
+     * compress 的逆运算：在 used 占用的点数位插入空位
+     */
+    private static int expand(int set, int used) {
+        for (int m = used; m != 0; m &= m - 1) {
+            int bit = Integer.numberOfTrailingZeros(m);
+            set = (set & ((1 << bit) - 1)) | ((set >>> bit) << (bit + 1));
+        }
+        return set;
+    }
+
+    /**
+     * 满足 C(b, k) <= value 的最大 b (b < limit)
+     */
+    private static long largestBelow(long value, int k, long limit) {
+        if (k == 1) {
+            return value;
+        }
+        long b = k - 1;
+        while (b + 1 < limit && binomial(b + 1, k) <= value) b++;
+        return b;
+    }
+
+    private static long binomial(long n, int k) {
+        if (k < 0 || n < k) {
+            return 0;
+        }
+        long r = 1;
+        for (int i = 0; i < k; i++) {
+            r = r * (n - i) / (i + 1);
+        }
+        return r;
+    }
+}
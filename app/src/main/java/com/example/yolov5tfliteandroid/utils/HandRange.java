@@ -0,0 +1,246 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 加权手牌范围：1326 种底牌组合各有一个权重 (0 表示不在范围内)
+ * <p>
+ * 组合下标：两张牌 a &lt; b (int 编码 0-51)，index = b * (b - 1) / 2 + a。
+ * 支持标准记法解析，例如 "TT+, AKs, KQo, A2s-A5s, 76s:0.5, AhKh"：
+ * <ul>
+ *   <li>对子 "TT"、"TT+" (TT 到 AA)、"22-55"</li>
+ *   <li>非对子 "AKs" (同花 4 种)、"AKo" (非同花 12 种)、"AK" (全部 16 种)、"A2s+" (A2s 到 AKs)、"A2s-A5s"</li>
+ *   <li>具体组合 "AhKh"</li>
+ *   <li>任意项后加 ":权重" 指定 0-1 的权重，默认 1</li>
+ * </ul>
+ * 解析结果按字符串缓存，实例不可变，可在线程间共享。
+ */
+public final class HandRange {
+
+    public static final int COMBOS = 1326;
+
+    private static final String RANK_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "cdhs"; // 与 Suit 枚举顺序一致
+
+    private static final int[] COMBO_CARD0 = new int[COMBOS];
+    private static final int[] COMBO_CARD1 = new int[COMBOS];
+
+    static {
+        for (int b = 1; b < 52; b++) {
+            for (int a = 0; a < b; a++) {
+                int idx = comboIndex(a, b);
+                COMBO_CARD0[idx] = a;
+                COMBO_CARD1[idx] = b;
+            }
+        }
+    }
+
+    // 解析结果缓存 (LRU)
+    private static final int PARSE_CACHE_CAPACITY = 256;
+    private static final Map<String, HandRange> PARSE_CACHE =
+            new LinkedHashMap<String, HandRange>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, HandRange> eldest) {
+                    return size() > PARSE_CACHE_CAPACITY;
+                }
+            };
+
+    private static final HandRange ANY = new HandRange(filled(1f));
+
+    private final float[] weights;
+
+    private HandRange(float[] weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * 所有组合等权 (即随机手牌)
+     */
+    public static HandRange any() {
+        return ANY;
+    }
+
+    /**
+     * 由 1326 个权重构造 (会复制数组)
+     */
+    public static HandRange of(float[] weights) {
+        if (weights.length != COMBOS) {
+            throw new IllegalArgumentException("Range needs " + COMBOS + " weights, got " + weights.length);
+        }
+        return new HandRange(weights.clone());
+    }
+
+    /**
+     * 解析标准范围记法 (带缓存)
+     */
+    public static HandRange parse(String notation) {
+        synchronized (PARSE_CACHE) {
+            HandRange cached = PARSE_CACHE.get(notation);
+            if (cached != null) return cached;
+        }
+        float[] weights = new float[COMBOS];
+        for (String raw : notation.split(",")) {
+            String token = raw.trim();
+            if (token.isEmpty()) continue;
+            float weight = 1f;
+            int colon = token.indexOf(':');
+            if (colon >= 0) {
+                weight = Float.parseFloat(token.substring(colon + 1).trim());
+                token = token.substring(0, colon).trim();
+            }
+            if (weight < 0 || weight > 1) {
+                throw new IllegalArgumentException("Weight out of range [0,1]: " + raw);
+            }
+            applyToken(token, weight, weights);
+        }
+        HandRange range = new HandRange(weights);
+        synchronized (PARSE_CACHE) {
+            PARSE_CACHE.put(notation, range);
+        }
+        return range;
+    }
+
+    public static int comboIndex(int c0, int c1) {
+        int a = Math.min(c0, c1);
+        int b = Math.max(c0, c1);
+        return b * (b - 1) / 2 + a;
+    }
+
+    public static int comboCard0(int comboIndex) {
+        return COMBO_CARD0[comboIndex];
+    }
+
+    public static int comboCard1(int comboIndex) {
+        return COMBO_CARD1[comboIndex];
+    }
+
+    public float weight(int comboIndex) {
+        return weights[comboIndex];
+    }
+
+    public float weight(int c0, int c1) {
+        return weights[comboIndex(c0, c1)];
+    }
+
+    /**
+     * 权重 &gt; 0 的组合数
+     */
+    public int comboCount() {
+        int n = 0;
+        for (float w : weights) {
+            if (w > 0) n++;
+        }
+        return n;
+    }
+
+    /**
+     * 建立排除死牌后的别名采样器 (死牌为 52 位掩码)
+     */
+    public AliasSampler sampler(long deadCards) {
+        return new AliasSampler(weights, blockedCombos(deadCards));
+    }
+
+    /**
+     * 与死牌冲突的组合 (卡牌移除效应)
+     */
+    public static boolean[] blockedCombos(long deadCards) {
+        boolean[] blocked = new boolean[COMBOS];
+        for (int i = 0; i < COMBOS; i++) {
+            blocked[i] = ((deadCards >>> COMBO_CARD0[i]) & 1) != 0 || ((deadCards >>> COMBO_CARD1[i]) & 1) != 0;
+        }
+        return blocked;
+    }
+
+    // =========================================================================
+    //  记法解析
+    // =========================================================================
+
+    private static void applyToken(String token, float weight, float[] weights) {
+        // 具体组合，如 AhKh
+        if (token.length() == 4 && SUIT_CHARS.indexOf(token.charAt(1)) >= 0 && SUIT_CHARS.indexOf(token.charAt(3)) >= 0) {
+            int c0 = SUIT_CHARS.indexOf(token.charAt(1)) * 13 + rankOf(token.charAt(0), token);
+            int c1 = SUIT_CHARS.indexOf(token.charAt(3)) * 13 + rankOf(token.charAt(2), token);
+            if (c0 == c1) throw new IllegalArgumentException("Duplicate card in combo: " + token);
+            weights[comboIndex(c0, c1)] = weight;
+            return;
+        }
+
+        int dash = token.indexOf('-');
+        if (dash >= 0) {
+            int[] from = parseClass(token.substring(0, dash), token);
+            int[] to = parseClass(token.substring(dash + 1), token);
+            if (from[2] != to[2]) throw new IllegalArgumentException("Mismatched range ends: " + token);
+            if (from[0] == from[1] && to[0] == to[1]) {
+                for (int r = Math.min(from[0], to[0]); r <= Math.max(from[0], to[0]); r++) {
+                    addClass(r, r, from[2], weight, weights);
+                }
+            } else {
+                if (from[0] != to[0]) throw new IllegalArgumentException("Range must keep the high card: " + token);
+                for (int lo = Math.min(from[1], to[1]); lo <= Math.max(from[1], to[1]); lo++) {
+                    addClass(from[0], lo, from[2], weight, weights);
+                }
+            }
+            return;
+        }
+
+        boolean plus = token.endsWith("+");
+        int[] cls = parseClass(plus ? token.substring(0, token.length() - 1) : token, token);
+        if (!plus) {
+            addClass(cls[0], cls[1], cls[2], weight, weights);
+        } else if (cls[0] == cls[1]) {
+            for (int r = cls[0]; r <= 12; r++) addClass(r, r, cls[2], weight, weights);
+        } else {
+            for (int lo = cls[1]; lo < cls[0]; lo++) addClass(cls[0], lo, cls[2], weight, weights);
+        }
+    }
+
+    /**
+     * 解析手牌类型：返回 {高点数, 低点数, 同花标记 (1=同花, 2=非同花, 0=全部)}
+     */
+    private static int[] parseClass(String s, String token) {
+        if (s.length() < 2 || s.length() > 3) {
+            throw new IllegalArgumentException("Bad hand class '" + s + "' in: " + token);
+        }
+        int r0 = rankOf(s.charAt(0), token);
+        int r1 = rankOf(s.charAt(1), token);
+        int suitedness = 0;
+        if (s.length() == 3) {
+            char k = Character.toLowerCase(s.charAt(2));
+            if (k == 's') suitedness = 1;
+            else if (k == 'o') suitedness = 2;
+            else throw new IllegalArgumentException("Bad suitedness '" + k + "' in: " + token);
+        }
+        if (r0 == r1 && suitedness == 1) {
+            throw new IllegalArgumentException("Pairs cannot be suited: " + token);
+        }
+        return new int[]{Math.max(r0, r1), Math.min(r0, r1), suitedness};
+    }
+
+    private static void addClass(int hi, int lo, int suitedness, float weight, float[] weights) {
+        for (int s0 = 0; s0 < 4; s0++) {
+            for (int s1 = 0; s1 < 4; s1++) {
+                int c0 = s0 * 13 + hi;
+                int c1 = s1 * 13 + lo;
+                if (c0 == c1) continue;
+                if (hi == lo && s1 <= s0) continue; // 对子每种组合只计一次
+                boolean suited = s0 == s1;
+                if ((suitedness == 1 && !suited) || (suitedness == 2 && suited)) continue;
+                weights[comboIndex(c0, c1)] = weight;
+            }
+        }
+    }
+
+    private static int rankOf(char c, String token) {
+        int r = RANK_CHARS.indexOf(Character.toUpperCase(c));
+        if (r < 0) throw new IllegalArgumentException("Bad rank '" + c + "' in: " + token);
+        return r;
+    }
+
+    private static float[] filled(float value) {
+        float[] w = new float[COMBOS];
+        Arrays.fill(w, value);
+        return w;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.yolov5tfliteandroid.utils;
+
+/**
+ * 可复用的蒙特卡洛模拟器
+ * <p>
+ * 牌堆、公牌和随机数生成器都是实例内的固定数组/对象，{@link #setup} 只做拷贝，
+ * {@link #run} 的循环内不分配任何堆内存。每个线程持有一个实例 (见 EquityEngine)，
+ * 重复决策时不会产生 GC 压力，避免卡住摄像头识别流水线。
+ * {@link #runDetailed} 支持分层抽样，并可额外统计牌力分布 (EHS / 潜力 / 下一街直方图)。
+ * 非线程安全。
+ */
+public final class MonteCarloSimulator {
+
+    private final int[] hand = new int[2];
+    private final int[] deck = new int[52];
+    private final int[] board = new int[5];
+    private final RandomSource random = RandomSources.create(0);
+    // 公牌增量评估：runout 为每次发完的 5 张公牌，known 为已知公牌 (当前牌力，setup 时设置一次)
+    private final HandEvaluator.Board runout = new HandEvaluator.Board();
+    private final HandEvaluator.Board known = new HandEvaluator.Board();
+    // 分层抽样：各层对应的牌 (setup 时的牌堆顺序)，以及每张牌在牌堆中的当前位置
+    private final int[] strata = new int[52];
+    private final int[] pos = new int[52];
+    private int deckSize;
+    private int knownBoardSize;
+    private int numOpponents;
+    private int myCurrentRank;
+
+    /**
+     * 设置局面 (不分配内存)
+     */
+    public MonteCarloSimulator setup(int[] myHand, int[] knownBoard, int numOpponents) {
+        // 标记已知牌，用于洗牌时跳过
+        long used = 0;
+        for (int c : myHand) used |= 1L << c;
+        for (int c : knownBoard) used |= 1L << c;
+
+        // 准备剩余牌堆
+        int size = 0;
+        for (int i = 0; i < 52; i++) {
+            if (((used >>> i) & 1) == 0) {
+                deck[size++] = i;
+            }
+        }
+        this.deckSize = size;
+        System.arraycopy(deck, 0, strata, 0, size);
+        this.hand[0] = myHand[0];
+        this.hand[1] = myHand[1];
+        this.knownBoardSize = knownBoard.length;
+        this.numOpponents = numOpponents;
+        // 先复制已知的公牌，循环内只补发未知的
+        System.arraycopy(knownBoard, 0, board, 0, knownBoardSize);
+        if (knownBoardSize >= 3) {
+            myCurrentRank = known.set(knownBoard, knownBoardSize).evaluate(myHand[0], myHand[1]);
+        }
+        return this;
+    }
+
+    public MonteCarloSimulator seed(long seed) {
+        random.setSeed(seed);
+        return this;
+    }
+
+    /**
+     * 运行 iterations 次，结果累加到 counts[0]=wins, counts[1]=ties
+     */
+    public void run(int iterations, long[] counts) {
+        int[] deck = this.deck;
+        int[] board = this.board;
+        RandomSource random = this.random;
+        HandEvaluator.Board runout = this.runout;
+        int deckSize = this.deckSize;
+        int knownBoardSize = this.knownBoardSize;
+        int numOpponents = this.numOpponents;
+        int h0 = hand[0];
+        int h1 = hand[1];
+
+        long wins = 0;
+        long ties = 0;
+        int cardsToDealBoard = 5 - knownBoardSize;
+        // 每个对手发2张，加上公牌需要补的张数
+        int cardsNeeded = cardsToDealBoard + (numOpponents * 2);
+
+        // --- 核心循环 START ---
+        for (int i = 0; i < iterations; i++) {
+            // 1. 局部洗牌 (Fisher-Yates) - 只洗我们需要发出的那几张牌
+            // 相当于从牌堆里随机抽 cardsNeeded 张牌放到 deck 数组的前面
+            for (int j = 0; j < cardsNeeded; j++) {
+                int r = j + random.nextInt(deckSize - j);
+                int temp = deck[r];
+                deck[r] = deck[j];
+                deck[j] = temp;
+            }
+
+            int deckIndex = 0;
+
+            // 2. 补齐公共牌
+            for (int k = 0; k < cardsToDealBoard; k++) {
+                board[knownBoardSize + k] = deck[deckIndex++];
+            }
+            // 公牌状态每次发牌只累加一次，所有玩家共用
+            runout.set(board[0], board[1], board[2], board[3], board[4]);
+
+            // 3. 计算我的牌力等级 (查表)
+            int myRank = runout.evaluate(h0, h1);
+
+            boolean iWin = true;
+            boolean isTie = false;
+
+            // 4. 模拟对手
+            for (int op = 0; op < numOpponents; op++) {
+                // 发两张牌给对手
+                int opRank = runout.evaluate(deck[deckIndex], deck[deckIndex + 1]);
+                deckIndex += 2;
+
+                if (opRank > myRank) {
+                    iWin = false;
+                    break;
+                } else if (opRank == myRank) {
+                    isTie = true;
+                }
+            }
+
+            if (iWin) {
+                if (isTie) ties++;
+                else wins++;
+            }
+        }
+        // --- 核心循环 END ---
+
+        counts[0] += wins;
+        counts[1] += ties;
+    }
+
+    /**
+     * 同 {@link #run}，可选分层抽样与牌力分布统计，counts 至少 {@link EquityEngine#DETAILED_SLOTS} 长
+     * (布局见 EquityEngine 的 PROFILE_* / STRATA 常量)
+     *
+     * @param stratified 分层抽样：第一张发出的牌 (翻前/翻牌/转牌为下一张公牌，河牌为对手的第一张牌)
+     *                   从随机起点开始轮流取遍剩余牌堆，各层样本数最多相差 1，并按层累计得分
+     * @param profiled   统计牌力分布 (仅翻牌/转牌圈)
+     */
+    public void runDetailed(int iterations, long[] counts, boolean stratified, boolean profiled) {
+        if (profiled && (knownBoardSize < 3 || knownBoardSize > 4)) {
+            throw new IllegalStateException("Profile needs a flop or turn board, got " + knownBoardSize + " cards");
+        }
+        int[] deck = this.deck;
+        int[] pos = this.pos;
+        int[] strata = this.strata;
+        int[] board = this.board;
+        RandomSource random = this.random;
+        HandEvaluator.Board runout = this.runout;
+        HandEvaluator.Board known = this.known;
+        int deckSize = this.deckSize;
+        int knownBoardSize = this.knownBoardSize;
+        int numOpponents = this.numOpponents;
+        int myCurrentRank = this.myCurrentRank;
+        int h0 = hand[0];
+        int h1 = hand[1];
+        int cardsToDealBoard = 5 - knownBoardSize;
+        int cardsNeeded = cardsToDealBoard + (numOpponents * 2);
+
+        // 普通 run() 打乱牌堆时不维护位置表，这里重建
+        for (int k = 0; k < deckSize; k++) pos[deck[k]] = k;
+        int stratum = stratified ? random.nextInt(deckSize) : 0;
+        int first = stratified ? 1 : 0;
+
+        for (int i = 0; i < iterations; i++) {
+            if (stratified) {
+                // 把本层的牌换到第 0 位，其余照常局部洗牌
+                int card = strata[stratum];
+                if (++stratum == deckSize) stratum = 0;
+                int r = pos[card];
+                int temp = deck[0];
+                deck[0] = card;
+                deck[r] = temp;
+                pos[card] = 0;
+                pos[temp] = r;
+            }
+            for (int j = first; j < cardsNeeded; j++) {
+                int r = j + random.nextInt(deckSize - j);
+                int temp = deck[r];
+                deck[r] = deck[j];
+                deck[j] = temp;
+                pos[deck[r]] = r;
+                pos[temp] = j;
+            }
+            int deckIndex = 0;
+            for (int k = 0; k < cardsToDealBoard; k++) {
+                board[knownBoardSize + k] = deck[deckIndex++];
+            }
+            int myRank = runout.set(board[0], board[1], board[2], board[3], board[4]).evaluate(h0, h1);
+
+            // 状态 0=领先 1=平局 2=落后，取所有对手中最差的一个
+            int now = EquityEngine.STATE_AHEAD;
+            int fin = EquityEngine.STATE_AHEAD;
+            for (int op = 0; op < numOpponents; op++) {
+                int o0 = deck[deckIndex];
+                int o1 = deck[deckIndex + 1];
+                deckIndex += 2;
+                if (profiled) {
+                    now = Math.max(now, EquityEngine.state(myCurrentRank, known.evaluate(o0, o1)));
+                } else if (fin == EquityEngine.STATE_BEHIND) {
+                    break; // 不统计牌力分布时，输给任一对手即可结束
+                }
+                fin = Math.max(fin, EquityEngine.state(myRank, runout.evaluate(o0, o1)));
+            }
+
+            if (fin == EquityEngine.STATE_AHEAD) counts[0]++;
+            else if (fin == EquityEngine.STATE_TIED) counts[1]++;
+            if (profiled) {
+                EquityEngine.recordProfile(counts, now, fin, board[knownBoardSize], -1);
+            }
+            if (stratified) {
+                long score = 2 - fin;
+                int b = EquityEngine.STRATA + deck[0] * 3;
+                counts[b]++;
+                counts[b + 1] += score;
+                counts[b + 2] += score * score;
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.MultiwayResult;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 多人全下：一次遍历所有发牌，同时得到每个玩家在每个边池的份额
+ * <p>
+ * 所有玩家手牌已知，只有剩余公牌是随机的。每种公牌下每手牌只评估一次，
+ * 然后按底池从主池到最高边池依次在有资格的玩家中比牌。
+ * 份额以 1/2520 为单位整数累加 (2520 可被 1..10 整除)，任意人数平分都没有舍入误差，
+ * 并且可以直接复用 {@link EquityEngine} 的并行模拟任务合并计数。
+ * <p>
+ * 剩余公牌组合数不超过 {@link EquityEngine#getExactThreshold()} 时精确穷举 (按第一张补发公牌拆分到 Fork/Join 池)，
+ * 否则蒙特卡洛。
+ */
+public final class MultiwayEquity {
+
+    // 1..10 的最小公倍数：n 人平分时每人 SHARE_UNIT / n
+    private static final int SHARE_UNIT = 2520;
+    private static final int MAX_PLAYERS = 10;
+
+    private MultiwayEquity() {
+    }
+
+    /**
+     * @param hands         每个玩家的 2 张手牌 (int 编码 0-51)
+     * @param board         已知公牌 (0-5 张)
+     * @param contributions 每个玩家本手投入的总筹码 (全下额)，决定主池与边池的划分
+     * @param iterations    需要抽样时的模拟次数
+     */
+    public static MultiwayResult calculate(int[][] hands, int[] board, double[] contributions, int iterations) {
+        int players = hands.length;
+        if (players < 2 || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Multiway equity needs 2-" + MAX_PLAYERS + " players, got " + players);
+        }
+        if (contributions.length != players) {
+            throw new IllegalArgumentException("Expected " + players + " contributions, got " + contributions.length);
+        }
+        if (board.length > 5) {
+            throw new IllegalArgumentException("Board has more than 5 cards: " + board.length);
+        }
+        long used = 0;
+        int cardCount = 0;
+        for (int[] hand : hands) {
+            if (hand.length != 2) {
+                throw new IllegalArgumentException("Each hand must contain 2 cards");
+            }
+            used |= EquityEngine.cardMask(hand);
+            cardCount += 2;
+        }
+        used |= EquityEngine.cardMask(board);
+        cardCount += board.length;
+        if (Long.bitCount(used) != cardCount) {
+            throw new IllegalArgumentException("Duplicate cards among hands and board");
+        }
+
+        long dead = used;
+        Pots pots = Pots.of(contributions);
+        Showdown showdown = new Showdown(hands, board, pots, dead);
+        int slots = players * pots.amounts.length;
+
+        long boards = combinations(showdown.deckSize, 5 - board.length);
+        long[] shares;
+        long samples;
+        boolean exact = boards <= EquityEngine.getExactThreshold();
+        if (exact) {
+            int toDeal = 5 - board.length;
+            if (toDeal == 0 || EquityEngine.getParallelism() == 1 || boards < EquityEngine.EXACT_PARALLEL_MIN) {
+                shares = new long[slots];
+                showdown.enumerate(0, showdown.deckSize, shares);
+            } else {
+                // 与 EquityEngine 的精确穷举相同：按第一张补发公牌的位置拆分，工作窃取平衡前重后轻的负载
+                shares = EquityEngine.pool().invoke(new EnumerationTask(hands, board, pots, dead, slots,
+                        0, showdown.deckSize - toDeal + 1));
+            }
+            samples = boards;
+        } else {
+            long seed = RandomSources.nextSeed();
+            EquityEngine.Simulation simulation = (n, chunkSeed, out) -> new Showdown(hands, board, pots, dead)
+                    .sample(n, RandomSources.create(chunkSeed), out);
+            int parallelism = EquityEngine.getParallelism();
+            if (parallelism == 1 || iterations < 512) {
+                shares = new long[slots];
+                simulation.run(iterations, seed, shares);
+            } else {
+                int chunks = Math.max(1, Math.min(parallelism * 4, iterations / 256));
+                shares = EquityEngine.pool().invoke(
+                        new EquityEngine.SimulationTask(simulation, iterations, chunks, 0, chunks, seed, slots));
+            }
+            samples = iterations;
+        }
+        return toResult(shares, samples, exact, pots, contributions);
+    }
+
+    private static MultiwayResult toResult(long[] shares, long samples, boolean exact, Pots pots,
+                                           double[] contributions) {
+        int players = contributions.length;
+        int potCount = pots.amounts.length;
+        MultiwayResult r = new MultiwayResult();
+        r.potAmounts = pots.amounts;
+        r.eligible = pots.eligible;
+        r.potShare = new double[players][potCount];
+        r.equity = new double[players];
+        r.expectedPayout = new double[players];
+        r.ev = new double[players];
+        r.samples = samples;
+        r.exact = exact;
+        double scale = 1.0 / ((double) SHARE_UNIT * samples);
+        for (int p = 0; p < players; p++) {
+            for (int k = 0; k < potCount; k++) {
+                double share = shares[p * potCount + k] * scale;
+                r.potShare[p][k] = share;
+                r.expectedPayout[p] += share * pots.amounts[k];
+            }
+            r.equity[p] = r.potShare[p][0];
+            r.ev[p] = r.expectedPayout[p] - contributions[p];
+        }
+        return r;
+    }
+
+    private static long combinations(int n, int k) {
+        long r = 1;
+        for (int i = 1; i <= k; i++) {
+            r = r * (n - k + i) / i;
+        }
+        return r;
+    }
+
+    /**
+     * 主池与边池：按不同的投入层级切分，投入达到该层级的玩家有资格争夺
+     */
+    private static final class Pots {
+        final double[] amounts;
+        final boolean[][] eligible;
+        final int[][] members;
+
+        private Pots(double[] amounts, boolean[][] eligible, int[][] members) {
+            this.amounts = amounts;
+            this.eligible = eligible;
+            this.members = members;
+        }
+
+        static Pots of(double[] contributions) {
+            int players = contributions.length;
+            double[] levels = contributions.clone();
+            Arrays.sort(levels);
+            double[] amounts = new double[players];
+            boolean[][] eligible = new boolean[players][];
+            int[][] members = new int[players][];
+            int count = 0;
+            double previous = 0;
+            for (double level : levels) {
+                if (level <= previous) continue;
+                double amount = 0;
+                int n = 0;
+                for (double c : contributions) {
+                    amount += Math.min(c, level) - Math.min(c, previous);
+                    if (c >= level) n++;
+                }
+                boolean[] in = new boolean[players];
+                int[] list = new int[n];
+                for (int p = 0, i = 0; p < players; p++) {
+                    if (contributions[p] >= level) {
+                        in[p] = true;
+                        list[i++] = p;
+                    }
+                }
+                amounts[count] = amount;
+                eligible[count] = in;
+                members[count] = list;
+                count++;
+                previous = level;
+            }
+            if (count == 0) {
+                throw new IllegalArgumentException("Contributions must include a positive amount");
+            }
+            return new Pots(Arrays.copyOf(amounts, count), Arrays.copyOf(eligible, count),
+                    Arrays.copyOf(members, count));
+        }
+    }
+
+    /**
+     * 单个线程的结算状态：剩余牌堆、公牌、各玩家牌力等级 (循环内不分配内存)
+     */
+    private static final class Showdown {
+        final int[][] hands;
+        final int[] knownBoard;
+        final int[][] members;
+        final int potCount;
+        final int[] deck = new int[52];
+        final int deckSize;
+        final int[] board = new int[5];
+        final HandEvaluator.Board runout = new HandEvaluator.Board();
+        final int[] ranks;
+
+        Showdown(int[][] hands, int[] knownBoard, Pots pots, long used) {
+            this.hands = hands;
+            this.knownBoard = knownBoard;
+            this.members = pots.members;
+            this.potCount = pots.amounts.length;
+            this.ranks = new int[hands.length];
+            int size = 0;
+            for (int c = 0; c < 52; c++) {
+                if (((used >>> c) & 1) == 0) deck[size++] = c;
+            }
+            this.deckSize = size;
+            System.arraycopy(knownBoard, 0, board, 0, knownBoard.length);
+        }
+
+        void sample(int iterations, RandomSource random, long[] shares) {
+            int known = knownBoard.length;
+            int toDeal = 5 - known;
+            for (int i = 0; i < iterations; i++) {
+                for (int j = 0; j < toDeal; j++) {
+                    int r = j + random.nextInt(deckSize - j);
+                    int temp = deck[r];
+                    deck[r] = deck[j];
+                    deck[j] = temp;
+                    board[known + j] = temp;
+                }
+                score(shares);
+            }
+        }
+
+        /**
+         * 枚举第一张补发公牌位于 [firstFrom, firstTo) 的所有公牌组合
+         */
+        void enumerate(int firstFrom, int firstTo, long[] shares) {
+            int known = knownBoard.length;
+            if (known == 5) {
+                score(shares);
+                return;
+            }
+            for (int first = firstFrom; first < firstTo; first++) {
+                board[known] = deck[first];
+                deal(known + 1, first + 1, shares);
+            }
+        }
+
+        private void deal(int filled, int from, long[] shares) {
+            if (filled == 5) {
+                score(shares);
+                return;
+            }
+            for (int i = from; i < deckSize; i++) {
+                board[filled] = deck[i];
+                deal(filled + 1, i + 1, shares);
+            }
+        }
+
+        // 每手牌评估一次，再逐个底池比牌
+        private void score(long[] shares) {
+            runout.set(board[0], board[1], board[2], board[3], board[4]);
+            for (int p = 0; p < hands.length; p++) {
+                ranks[p] = runout.evaluate(hands[p][0], hands[p][1]);
+            }
+            for (int k = 0; k < potCount; k++) {
+                int[] in = members[k];
+                int best = -1;
+                int winners = 0;
+                for (int p : in) {
+                    int rank = ranks[p];
+                    if (rank > best) {
+                        best = rank;
+                        winners = 1;
+                    } else if (rank == best) {
+                        winners++;
+                    }
+                }
+                long unit = SHARE_UNIT / winners;
+                for (int p : in) {
+                    if (ranks[p] == best) shares[p * potCount + k] += unit;
+                }
+            }
+        }
+    }
+
+    /**
+     * 精确穷举的并行任务：每个叶子任务使用自己的结算状态
+     */
+    private static final class EnumerationTask extends RecursiveTask<long[]> {
+        private final int[][] hands;
+        private final int[] board;
+        private final Pots pots;
+        private final long dead;
+        private final int slots;
+        private final int firstFrom;
+        private final int firstTo;
+
+        EnumerationTask(int[][] hands, int[] board, Pots pots, long dead, int slots, int firstFrom, int firstTo) {
+            this.hands = hands;
+            this.board = board;
+            this.pots = pots;
+            this.dead = dead;
+            this.slots = slots;
+            this.firstFrom = firstFrom;
+            this.firstTo = firstTo;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (firstTo - firstFrom == 1) {
+                long[] shares = new long[slots];
+                new Showdown(hands, board, pots, dead).enumerate(firstFrom, firstTo, shares);
+                return shares;
+            }
+            int mid = (firstFrom + firstTo) >>> 1;
+            EnumerationTask left = new EnumerationTask(hands, board, pots, dead, slots, firstFrom, mid);
+            EnumerationTask right = new EnumerationTask(hands, board, pots, dead, slots, mid, firstTo);
+            left.fork();
+            long[] r = right.compute();
+            long[] l = left.join();
+            for (int i = 0; i < slots; i++) r[i] += l[i];
+            return r;
+        }
+    }
+}
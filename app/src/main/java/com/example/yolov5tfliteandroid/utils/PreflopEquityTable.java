@@ -0,0 +1,131 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 翻前胜率表：169 种起手牌类型 × 1-9 个随机对手
+ * <p>
+ * 翻前胜率只取决于起手牌类型 (对子 / 同花 / 非同花) 和对手数量，离线由
+ * {@link PreflopEquityTableGenerator} 高精度模拟生成，运行时一次数组读取即可得到结果。
+ * <p>
+ * 文件格式 (大端)：
+ * <pre>
+ *   int  MAGIC ("PFEQ")
+ *   int  VERSION
+ *   int  样本数 (每格)
+ *   char[169 * 9] 胜率 × 65535，下标 = classIndex * 9 + (numOpponents - 1)
+ * </pre>
+ * 表文件作为 Java 资源随 APK 打包，首次查询时读入直接内存 (direct ByteBuffer)。
+ */
+public final class PreflopEquityTable {
+
+    public static final String RESOURCE_NAME = "preflop_equity.bin";
+    public static final int MAGIC = 0x50464551; // "PFEQ"
+    public static final int VERSION = 1;
+    public static final int HAND_CLASSES = 169;
+    public static final int MAX_OPPONENTS = 9;
+    static final int HEADER_BYTES = 12;
+    static final double SCALE = 65535.0;
+
+    private PreflopEquityTable() {
+    }
+
+    /**
+     * 起手牌类型下标 0-168：hi * 13 + lo
+     * 同花存在对角线上方 (hi > lo)，非同花存在下方 (交换 hi/lo)，对子在对角线上
+     */
+    public static int classIndex(int c0, int c1) {
+        int r0 = c0 % 13;
+        int r1 = c1 % 13;
+        int hi = Math.max(r0, r1);
+        int lo = Math.min(r0, r1);
+        boolean suited = c0 / 13 == c1 / 13;
+        return suited ? hi * 13 + lo : lo * 13 + hi;
+    }
+
+    /**
+     * 某个类型的代表手牌 (int 编码)
+     */
+    public static int[] representative(int classIndex) {
+        int a = classIndex / 13;
+        int b = classIndex % 13;
+        if (a > b) {
+            return new int[]{a, b};           // 同花：都用梅花
+        }
+        return new int[]{b, 13 + a};          // 对子 / 非同花：梅花 + 方块
+    }
+
+    /**
+     * 表是否可用 (资源存在且格式正确)
+     */
+    public static boolean isAvailable() {
+        return Holder.TABLE != null;
+    }
+
+    /**
+     * 查表：返回胜率估计，表不可用或对手数超出范围时返回 null
+     */
+    public static EquityEstimate lookup(int[] hand, int numOpponents) {
+        ByteBuffer table = Holder.TABLE;
+        if (table == null || hand.length != 2 || numOpponents < 1 || numOpponents > MAX_OPPONENTS) {
+            return null;
+        }
+        int index = classIndex(hand[0], hand[1]) * MAX_OPPONENTS + (numOpponents - 1);
+        EquityEstimate estimate = new EquityEstimate();
+        estimate.winRate = table.getChar(HEADER_BYTES + index * 2) / SCALE;
+        estimate.samples = Holder.SAMPLES;
+        estimate.stdError = Math.sqrt(estimate.winRate * (1 - estimate.winRate) / Holder.SAMPLES);
+        return estimate;
+    }
+
+    // 延迟加载：第一次访问 Holder 时才读取资源
+    private static final class Holder {
+        static final ByteBuffer TABLE;
+        static final int SAMPLES;
+
+        static {
+            ByteBuffer table = null;
+            try {
+                table = load();
+            } catch (IOException e) {
+                table = null;
+            }
+            TABLE = table;
+            SAMPLES = table == null ? 0 : table.getInt(8);
+        }
+    }
+
+    private static ByteBuffer load() throws IOException {
+        InputStream in = PreflopEquityTable.class.getResourceAsStream(RESOURCE_NAME);
+        if (in == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + HAND_CLASSES * MAX_OPPONENTS * 2);
+        try {
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = in.read(chunk)) != -1) {
+                bytes.write(chunk, 0, n);
+            }
+        } finally {
+            in.close();
+        }
+        byte[] raw = bytes.toByteArray();
+        if (raw.length != HEADER_BYTES + HAND_CLASSES * MAX_OPPONENTS * 2) {
+            throw new IOException("Unexpected preflop table size: " + raw.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(raw.length).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(raw);
+        buffer.flip();
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Bad preflop table header");
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 离线生成翻前胜率表 (见 {@link PreflopEquityTable})
+ * <p>
+ * 用法 (普通 JVM)：
+ * <pre>
+ *   java -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.PreflopEquityTableGenerator \
+ *        app/src/main/resources/com/example/yolov5tfliteandroid/utils/preflop_equity.bin [样本数]
+ * </pre>
+ * 每格使用同一个样本数的并行蒙特卡洛 (单挑对随机手牌精确穷举需要约 21 亿次评估/格，不划算)。
+ */
+public final class PreflopEquityTableGenerator {
+
+    private static final int DEFAULT_SAMPLES = 500_000;
+
+    private PreflopEquityTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PreflopEquityTableGenerator <output file> [samples per cell]");
+            System.exit(1);
+        }
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SAMPLES;
+        long start = System.currentTimeMillis();
+        char[] table = generate(samples);
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(args[0]));
+        try {
+            write(out, table, samples);
+        } finally {
+            out.close();
+        }
+        System.out.printf("Wrote %s (%d samples/cell) in %ds%n", args[0], samples,
+                (System.currentTimeMillis() - start) / 1000);
+    }
+
+    /**
+     * 计算全部 169 × 9 格的胜率 (× 65535 量化)
+     */
+    public static char[] generate(int samples) {
+        int[] noBoard = new int[0];
+        char[] table = new char[PreflopEquityTable.HAND_CLASSES * PreflopEquityTable.MAX_OPPONENTS];
+        for (int cls = 0; cls < PreflopEquityTable.HAND_CLASSES; cls++) {
+            int[] hand = PreflopEquityTable.representative(cls);
+            for (int opp = 1; opp <= PreflopEquityTable.MAX_OPPONENTS; opp++) {
+                double equity = EquityEngine.calculateWinRate(hand, noBoard, opp, samples);
+                table[cls * PreflopEquityTable.MAX_OPPONENTS + opp - 1] =
+                        (char) Math.round(equity * PreflopEquityTable.SCALE);
+            }
+        }
+        return table;
+    }
+
+    static void write(DataOutputStream out, char[] table, int samples) throws IOException {
+        out.writeInt(PreflopEquityTable.MAGIC);
+        out.writeInt(PreflopEquityTable.VERSION);
+        out.writeInt(samples);
+        for (char v : table) {
+            out.writeChar(v);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.yolov5tfliteandroid.utils;
+
+/**
+ * 随机数源 (非线程安全，每个线程/工作块各持有一个)
+ * <p>
+ * 胜率引擎、范围采样与下注策略的随机性都经过此接口，
+ * 默认实现为 {@link Xoroshiro128PlusPlus}，可通过 {@link RandomSources#setFactory} 替换。
+ */
+public interface RandomSource {
+
+    /**
+     * 重新播种：相同种子产生完全相同的序列
+     */
+    void setSeed(long seed);
+
+    long nextLong();
+
+    /**
+     * [0, bound) 内均匀分布的整数，bound > 0
+     */
+    int nextInt(int bound);
+
+    /**
+     * [0, 1) 内均匀分布的浮点数
+     */
+    double nextDouble();
+
+    /**
+     * 拆分出一个与当前序列不重叠的独立随机数源 (用于交给另一个工作线程)
+     */
+    RandomSource split();
+}
@@ -0,0 +1,88 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 随机数源工厂与种子分配
+ * <p>
+ * 每次决策/胜率计算从 {@link #nextSeed()} 取一个种子，工作块再用 {@link #mixSeed} 按块号派生各自的种子，
+ * 因此结果只取决于起始种子，与线程调度无关。调用 {@link #setSeed} 后种子序列固定，
+ * 测试和回归基准可以逐位复现同一个决策：此时决策引擎绕过胜率缓存，自适应蒙特卡洛不看时间预算、
+ * 按固定块数切分，结果与缓存状态、机器负载和核数无关。{@link #clearSeed} 恢复随机种子。
+ */
+public final class RandomSources {
+
+    /**
+     * 按种子创建随机数源
+     */
+    public interface Factory {
+        RandomSource create(long seed);
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static volatile Factory factory = Xoroshiro128PlusPlus::new;
+
+    // 种子序列本身是 SplitMix64：每取一次前进一个 gamma
+    private static final AtomicLong SEED_STATE = new AtomicLong(timeSeed());
+    private static volatile boolean seeded;
+
+    private RandomSources() {
+    }
+
+    public static void setFactory(Factory f) {
+        factory = f;
+    }
+
+    public static RandomSource create(long seed) {
+        return factory.create(seed);
+    }
+
+    /**
+     * 固定种子序列 (测试 / 基准复现用)
+     */
+    public static void setSeed(long seed) {
+        SEED_STATE.set(seed);
+        seeded = true;
+    }
+
+    /**
+     * 撤销 {@link #setSeed}，恢复按时间初始化的种子序列
+     */
+    public static void clearSeed() {
+        SEED_STATE.set(timeSeed());
+        seeded = false;
+    }
+
+    /**
+     * 是否处于固定种子 (可复现) 模式
+     */
+    public static boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * 下一个计算使用的种子
+     */
+    public static long nextSeed() {
+        return mix(SEED_STATE.addAndGet(GOLDEN_GAMMA));
+    }
+
+    /**
+     * 由主种子与流编号派生子种子 (SplitMix64)，不同编号得到互不相关的序列
+     */
+    public static long mixSeed(long seed, int stream) {
+        return mix(seed + (stream + 1) * GOLDEN_GAMMA);
+    }
+
+    private static long timeSeed() {
+        return mix(System.nanoTime()) ^ System.currentTimeMillis();
+    }
+
+    // SplitMix64 输出函数
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
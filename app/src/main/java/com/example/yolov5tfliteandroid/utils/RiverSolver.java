@@ -0,0 +1,653 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.RiverSolution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 河牌子博弈求解器 (CFR+)
+ * <p>
+ * 输入双方范围、底池、有效筹码和少量下注/加注尺度，构建单街博弈树后做 CFR+ 迭代
+ * (交替更新、后悔值下限截断为 0、按迭代次数线性加权的平均策略)，输出根节点行动者每手牌的混合策略。
+ * <p>
+ * 实现要点：
+ * 1. 河牌公牌已定，每手牌的牌力等级建树前用 {@link HandEvaluator.Board} 算一次并按等级排序；
+ * 2. 信息集 = (节点, 手牌)，后悔值与策略累计按节点存放在 double[行动 * 手牌数] 中，没有对象；
+ * 3. 摊牌/弃牌收益对整个对手范围一次扫描完成 (按牌力排序后的前缀和，减去与本手共用牌的对手组合)，
+ *    复杂度 O(n + m) 而不是 O(n * m)；
+ * 4. 每次迭代先自顶向下算出对手在各节点的到达概率 (与本方手牌无关)，
+ *    再把本方手牌切块，各块独立自底向上更新后悔值，在 Fork/Join 线程池上并行 (块之间写入的下标不重叠)。
+ * <p>
+ * 收益以子博弈开始时为基准：赢得底池和对手本街投入，输掉自己本街投入，双方收益之和恒为底池。
+ * 下注与加注的增量不小于最小加注额 (之前的最大加注增量)，不足时补足，超过剩余筹码时为全下。
+ */
+public final class RiverSolver {
+
+    // 默认尺度 (占底池比例)；全下总是可选
+    private static volatile double[] betSizes = {0.5, 1.0};
+    private static volatile double[] raiseSizes = {1.0};
+    private static volatile int maxRaises = 1;
+
+    // 停止条件
+    private static volatile int maxIterations = 1000;
+    private static volatile double targetExploitability = 0.005; // 0.5% 底池
+    private static volatile long timeBudgetMs = 500;
+    private static final int CHECK_INTERVAL = 20; // 每隔多少次迭代计算一次可剥削度
+
+    // 每个并行块的最少手牌数
+    private static final int MIN_CHUNK = 128;
+
+    private static final int PLAYER = 0;
+    private static final int FOLD = 1;
+    private static final int SHOWDOWN = 2;
+
+    private RiverSolver() {
+    }
+
+    /**
+     * 设置下注 (无人下注时) 与加注尺度，均为占底池比例；全下总是包含在内
+     */
+    public static void setSizes(double[] bets, double[] raises, int raisesAllowed) {
+        betSizes = bets.clone();
+        raiseSizes = raises.clone();
+        maxRaises = raisesAllowed;
+    }
+
+    /**
+     * 设置停止条件：迭代上限、目标可剥削度 (占底池比例)、时间预算
+     */
+    public static void setLimits(int iterations, double exploitability, long budgetMs) {
+        maxIterations = iterations;
+        targetExploitability = exploitability;
+        timeBudgetMs = budgetMs;
+    }
+
+    /**
+     * 求解河牌子博弈
+     *
+     * @param board     5 张公牌
+     * @param range0    根节点行动者 (玩家 0) 的范围
+     * @param range1    另一方 (玩家 1) 的范围
+     * @param pot       子博弈开始前的底池 (不含 facingBet)
+     * @param stack     有效筹码 (双方剩余筹码的较小值)
+     * @param facingBet 玩家 1 已下注的金额，0 表示玩家 0 先行动且无人下注
+     */
+    public static RiverSolution solve(int[] board, HandRange range0, HandRange range1,
+                                      double pot, double stack, double facingBet) {
+        return solve(board, range0, range1, pot, stack, facingBet, 0);
+    }
+
+    /**
+     * 求解河牌子博弈，下注/加注增量至少为 minRaise
+     *
+     * @param minRaise 根节点的最小加注增量 (通常为 1BB 或上次加注额)
+     */
+    public static RiverSolution solve(int[] board, HandRange range0, HandRange range1,
+                                      double pot, double stack, double facingBet, double minRaise) {
+        if (board.length != 5) {
+            throw new IllegalArgumentException("River solver needs 5 board cards, got " + board.length);
+        }
+        long start = System.nanoTime();
+        Game game = new Game(board, range0, range1, pot, stack, facingBet, minRaise, betSizes, raiseSizes,
+                maxRaises);
+        if (game.n[0] == 0 || game.n[1] == 0) {
+            throw new IllegalArgumentException("Both ranges need at least one combo compatible with the board");
+        }
+        long deadline = start + timeBudgetMs * 1_000_000L;
+        int iteration = 0;
+        double exploitability = Double.MAX_VALUE;
+        while (iteration < maxIterations) {
+            iteration++;
+            game.iterate(0, iteration);
+            game.iterate(1, iteration);
+            if (iteration % CHECK_INTERVAL == 0 || iteration == maxIterations) {
+                exploitability = game.exploitability();
+                if (exploitability <= targetExploitability || System.nanoTime() >= deadline) break;
+            }
+        }
+        if (iteration % CHECK_INTERVAL != 0 && iteration != maxIterations) {
+            exploitability = game.exploitability();
+        }
+
+        RiverSolution solution = game.rootSolution();
+        solution.exploitability = exploitability;
+        solution.iterations = iteration;
+        solution.solveNanos = System.nanoTime() - start;
+        return solution;
+    }
+
+    // =========================================================================
+    //  博弈树与手牌
+    // =========================================================================
+
+    private static final class Node {
+        final int type;
+        final int player;           // 行动者；弃牌节点为弃牌者
+        final double[] contrib;     // 双方本街投入
+        Node[] children;
+        Action[] actions;
+        double[] amounts;
+        double[] regret;            // [行动 * n + 手牌]
+        double[] strategySum;
+        double[] current;           // 本次迭代的当前策略 (或平均策略)
+        double[] reach;             // 父节点写入：对手到达概率 (父为对手节点时) 或本方到达概率
+        double[] value;             // 遍历者每手牌的反事实收益
+
+        Node(int type, int player, double[] contrib) {
+            this.type = type;
+            this.player = player;
+            this.contrib = contrib;
+        }
+    }
+
+    private static final class Game {
+        final double pot;
+        final double stack;
+        final double[] betSizes;
+        final double[] raiseSizes;
+        final int maxRaises;
+
+        final int[] n = new int[2];
+        final int[][] card0 = new int[2][];
+        final int[][] card1 = new int[2][];
+        final int[][] combo = new int[2][];
+        final int[][] rank = new int[2][];
+        final double[][] weight = new double[2][];
+        final int[][] ascending = new int[2][];   // 按牌力升序的手牌下标
+        final int[][] indexOfCombo = new int[2][]; // 组合下标 -> 手牌下标 (-1 表示不在范围内)
+        final int maxN;
+        final Node root;
+
+        // 终局扫描用的单牌累计 (仅在单线程的自顶向下阶段使用)
+        final double[] cardWin = new double[52];
+        final double[] cardLose = new double[52];
+        final double[] cardAll = new double[52];
+        final double[] wins;
+
+        Game(int[] board, HandRange range0, HandRange range1, double pot, double stack, double facingBet,
+             double minRaise, double[] betSizes, double[] raiseSizes, int maxRaises) {
+            this.pot = pot;
+            this.stack = stack;
+            this.betSizes = betSizes;
+            this.raiseSizes = raiseSizes;
+            this.maxRaises = maxRaises;
+            HandEvaluator.Board evaluator = new HandEvaluator.Board().set(board, 5);
+            long dead = EquityEngine.cardMask(board);
+            HandRange[] ranges = {range0, range1};
+            for (int p = 0; p < 2; p++) {
+                buildHands(p, ranges[p], dead, evaluator);
+            }
+            maxN = Math.max(n[0], n[1]);
+            wins = new double[maxN];
+            // 面对下注时根节点为玩家 0 的跟注/弃牌/加注决策
+            root = playerNode(0, new double[]{0, Math.max(0, Math.min(facingBet, stack))}, 0, false, minRaise);
+        }
+
+        private void buildHands(int p, HandRange range, long dead, HandEvaluator.Board evaluator) {
+            int[] c0 = new int[HandRange.COMBOS];
+            int[] c1 = new int[HandRange.COMBOS];
+            int[] cb = new int[HandRange.COMBOS];
+            double[] w = new double[HandRange.COMBOS];
+            int[] index = new int[HandRange.COMBOS];
+            Arrays.fill(index, -1);
+            int count = 0;
+            for (int i = 0; i < HandRange.COMBOS; i++) {
+                float wt = range.weight(i);
+                int a = HandRange.comboCard0(i);
+                int b = HandRange.comboCard1(i);
+                if (wt <= 0 || ((dead >>> a) & 1) != 0 || ((dead >>> b) & 1) != 0) continue;
+                c0[count] = a;
+                c1[count] = b;
+                cb[count] = i;
+                w[count] = wt;
+                index[i] = count;
+                count++;
+            }
+            n[p] = count;
+            card0[p] = Arrays.copyOf(c0, count);
+            card1[p] = Arrays.copyOf(c1, count);
+            combo[p] = Arrays.copyOf(cb, count);
+            weight[p] = Arrays.copyOf(w, count);
+            indexOfCombo[p] = index;
+            int[] r = new int[count];
+            for (int i = 0; i < count; i++) r[i] = evaluator.evaluate(c0[i], c1[i]);
+            rank[p] = r;
+
+            // 按牌力升序：等级打包在高位，下标在低位，排序 long 即可
+            long[] keys = new long[count];
+            for (int i = 0; i < count; i++) keys[i] = ((long) r[i] << 32) | i;
+            Arrays.sort(keys);
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) order[i] = (int) keys[i];
+            ascending[p] = order;
+        }
+
+        // ==================== 建树 ====================
+
+        // 玩家 0 过牌后轮到玩家 1；玩家 1 过牌即摊牌。minRaise 为本节点下注/加注增量的下限
+        private Node playerNode(int p, double[] c, int raises, boolean afterCheck, double minRaise) {
+            Node node = new Node(PLAYER, p, c);
+            List<Action> actions = new ArrayList<>();
+            List<Double> amounts = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            double toCall = c[1 - p] - c[p];
+            double behind = stack - c[p];
+            if (toCall <= 0) {
+                actions.add(Action.CHECK_FOLD);
+                amounts.add(0.0);
+                children.add(p == 0 && !afterCheck
+                        ? playerNode(1, c, raises, true, minRaise) : terminal(SHOWDOWN, -1, c));
+                for (double size : betSizes) {
+                    addAggressive(p, c, size * (pot + c[0] + c[1]), raises, minRaise, actions, amounts, children);
+                }
+                addAggressive(p, c, behind, raises, minRaise, actions, amounts, children);
+            } else {
+                actions.add(Action.FOLD);
+                amounts.add(0.0);
+                children.add(terminal(FOLD, p, c));
+                double call = Math.min(toCall, behind);
+                actions.add(Action.CALL);
+                amounts.add(call);
+                children.add(terminal(SHOWDOWN, -1, with(c, p, call)));
+                if (raises < maxRaises && c[1 - p] < stack && behind > toCall) {
+                    double potAfterCall = pot + c[0] + c[1] + toCall;
+                    for (double size : raiseSizes) {
+                        addAggressive(p, c, toCall + size * potAfterCall, raises + 1, minRaise,
+                                actions, amounts, children);
+                    }
+                    addAggressive(p, c, behind, raises + 1, minRaise, actions, amounts, children);
+                }
+            }
+            int k = actions.size();
+            node.actions = actions.toArray(new Action[k]);
+            node.amounts = new double[k];
+            for (int a = 0; a < k; a++) node.amounts[a] = amounts.get(a);
+            node.children = children.toArray(new Node[k]);
+            int size = k * n[p];
+            node.regret = new double[size];
+            node.strategySum = new double[size];
+            node.current = new double[size];
+            node.reach = new double[maxN];
+            node.value = new double[maxN];
+            return node;
+        }
+
+        // 下注/加注：增量不足 minRaise 时补足；金额达到剩余筹码即为全下；与已有行动金额相同的尺度只保留一个
+        private void addAggressive(int p, double[] c, double amount, int raises, double minRaise,
+                                   List<Action> actions, List<Double> amounts, List<Node> children) {
+            double behind = stack - c[p];
+            if (behind <= 0) return;
+            double toCall = Math.max(0, c[1 - p] - c[p]);
+            amount = Math.max(amount, toCall + minRaise);
+            boolean allIn = amount >= behind - 1e-9;
+            double put = allIn ? behind : amount;
+            if (put <= c[1 - p] - c[p] + 1e-9) return; // 不足以构成加注
+            for (int a = 0; a < amounts.size(); a++) {
+                if (actions.get(a) != Action.FOLD && actions.get(a) != Action.CALL
+                        && Math.abs(amounts.get(a) - put) < 1e-9) return;
+            }
+            actions.add(allIn ? Action.ALL_IN : Action.RAISE);
+            amounts.add(put);
+            children.add(playerNode(1 - p, with(c, p, put), raises, false, Math.max(minRaise, put - toCall)));
+        }
+
+        private Node terminal(int type, int folder, double[] c) {
+            Node node = new Node(type, folder, c);
+            node.reach = new double[maxN];
+            node.value = new double[maxN];
+            return node;
+        }
+
+        private static double[] with(double[] c, int p, double put) {
+            double[] next = c.clone();
+            next[p] += put;
+            return next;
+        }
+
+        // ==================== 迭代 ====================
+
+        /**
+         * 以 t 为遍历者做一次 CFR+ 更新
+         */
+        void iterate(int t, int iteration) {
+            down(root, t, weight[1 - t], false);
+            up(t, weight[t], iteration, false);
+        }
+
+        /**
+         * 双方对平均策略的最佳应对收益之和超出底池的一半，折算为底池比例
+         */
+        double exploitability() {
+            double total = 0;
+            double pairs = compatiblePairs();
+            for (int t = 0; t < 2; t++) {
+                down(root, t, weight[1 - t], true);
+                up(t, weight[t], 0, true);
+                double[] w = weight[t];
+                double v = 0;
+                for (int i = 0; i < n[t]; i++) v += w[i] * root.value[i];
+                total += v / pairs;
+            }
+            return Math.max(0, (total - pot) / 2 / pot);
+        }
+
+        // 双方手牌不冲突的加权组合总数
+        private double compatiblePairs() {
+            double[] values = new double[n[0]];
+            compatibleReach(0, weight[1], values);
+            double sum = 0;
+            for (int i = 0; i < n[0]; i++) sum += weight[0][i] * values[i];
+            return sum;
+        }
+
+        // 阶段一 (单线程)：自顶向下传播对手到达概率，并算出所有终局节点上遍历者每手牌的收益
+        private void down(Node node, int t, double[] oppReach, boolean average) {
+            if (node.type == FOLD) {
+                int o = 1 - t;
+                double payoff = node.player == t ? -node.contrib[t] : pot + node.contrib[o];
+                compatibleReach(t, oppReach, node.value);
+                for (int i = 0; i < n[t]; i++) node.value[i] *= payoff;
+                return;
+            }
+            if (node.type == SHOWDOWN) {
+                showdown(t, node, oppReach);
+                return;
+            }
+            if (node.player == t) {
+                for (Node child : node.children) down(child, t, oppReach, average);
+                return;
+            }
+            int o = node.player;
+            int m = n[o];
+            if (average) {
+                averageStrategy(node, m);
+            } else {
+                regretMatching(node, m, 0, m);
+            }
+            double[] sigma = node.current;
+            for (int a = 0; a < node.children.length; a++) {
+                Node child = node.children[a];
+                double[] r = child.reach;
+                int off = a * m;
+                for (int j = 0; j < m; j++) r[j] = oppReach[j] * sigma[off + j];
+                down(child, t, r, average);
+            }
+        }
+
+        // 阶段二：本方手牌切块并行，自底向上合并收益、更新后悔值与平均策略
+        private void up(int t, double[] selfReach, int iteration, boolean bestResponse) {
+            int count = n[t];
+            int parallelism = EquityEngine.getParallelism();
+            if (parallelism == 1 || count < 2 * MIN_CHUNK) {
+                up(root, t, selfReach, 0, count, iteration, bestResponse);
+            } else {
+                int chunks = Math.min(parallelism * 2, count / MIN_CHUNK);
+                EquityEngine.pool().invoke(new HandChunkTask(this, t, selfReach, iteration, bestResponse,
+                        count, chunks, 0, chunks));
+            }
+        }
+
+        void up(Node node, int t, double[] selfReach, int from, int to, int iteration, boolean bestResponse) {
+            if (node.type != PLAYER) return; // 终局收益已在阶段一算好
+            Node[] children = node.children;
+            int k = children.length;
+            double[] value = node.value;
+            if (node.player != t) {
+                for (Node child : children) up(child, t, selfReach, from, to, iteration, bestResponse);
+                Arrays.fill(value, from, to, 0);
+                for (Node child : children) {
+                    double[] cv = child.value;
+                    for (int i = from; i < to; i++) value[i] += cv[i];
+                }
+                return;
+            }
+            int nt = n[t];
+            if (bestResponse) {
+                for (Node child : children) up(child, t, selfReach, from, to, iteration, true);
+                Arrays.fill(value, from, to, -Double.MAX_VALUE);
+                for (Node child : children) {
+                    double[] cv = child.value;
+                    for (int i = from; i < to; i++) value[i] = Math.max(value[i], cv[i]);
+                }
+                return;
+            }
+            regretMatching(node, nt, from, to);
+            double[] sigma = node.current;
+            for (int a = 0; a < k; a++) {
+                double[] r = children[a].reach;
+                int off = a * nt;
+                for (int i = from; i < to; i++) r[i] = selfReach[i] * sigma[off + i];
+                up(children[a], t, r, from, to, iteration, false);
+            }
+            Arrays.fill(value, from, to, 0);
+            for (int a = 0; a < k; a++) {
+                double[] cv = children[a].value;
+                int off = a * nt;
+                for (int i = from; i < to; i++) value[i] += sigma[off + i] * cv[i];
+            }
+            double[] regret = node.regret;
+            double[] strategySum = node.strategySum;
+            for (int a = 0; a < k; a++) {
+                double[] cv = children[a].value;
+                int off = a * nt;
+                for (int i = from; i < to; i++) {
+                    // CFR+：后悔值累加后截断为非负；平均策略按迭代次数线性加权
+                    regret[off + i] = Math.max(0, regret[off + i] + cv[i] - value[i]);
+                    strategySum[off + i] += iteration * selfReach[i] * sigma[off + i];
+                }
+            }
+        }
+
+        // 后悔值匹配：按正后悔值比例行动，全为 0 时均匀
+        private static void regretMatching(Node node, int count, int from, int to) {
+            int k = node.children.length;
+            double[] regret = node.regret;
+            double[] sigma = node.current;
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                for (int a = 0; a < k; a++) sum += regret[a * count + i];
+                if (sum > 0) {
+                    for (int a = 0; a < k; a++) sigma[a * count + i] = regret[a * count + i] / sum;
+                } else {
+                    for (int a = 0; a < k; a++) sigma[a * count + i] = 1.0 / k;
+                }
+            }
+        }
+
+        private static void averageStrategy(Node node, int count) {
+            int k = node.children.length;
+            double[] sum = node.strategySum;
+            double[] sigma = node.current;
+            for (int i = 0; i < count; i++) {
+                double total = 0;
+                for (int a = 0; a < k; a++) total += sum[a * count + i];
+                for (int a = 0; a < k; a++) {
+                    sigma[a * count + i] = total > 0 ? sum[a * count + i] / total : 1.0 / k;
+                }
+            }
+        }
+
+        // ==================== 终局收益 ====================
+
+        // 遍历者每手牌可对上的对手到达概率之和：总和 - 含 c0 的 - 含 c1 的 + 同一组合 (被减了两次)
+        private void compatibleReach(int t, double[] oppReach, double[] out) {
+            int o = 1 - t;
+            double[] card = cardAll;
+            Arrays.fill(card, 0);
+            double total = 0;
+            int[] oc0 = card0[o];
+            int[] oc1 = card1[o];
+            for (int j = 0; j < n[o]; j++) {
+                double r = oppReach[j];
+                total += r;
+                card[oc0[j]] += r;
+                card[oc1[j]] += r;
+            }
+            int[] tc0 = card0[t];
+            int[] tc1 = card1[t];
+            int[] same = indexOfCombo[o];
+            int[] combos = combo[t];
+            for (int i = 0; i < n[t]; i++) {
+                int s = same[combos[i]];
+                out[i] = total - card[tc0[i]] - card[tc1[i]] + (s >= 0 ? oppReach[s] : 0);
+            }
+        }
+
+        // 摊牌：按牌力升序扫一遍得到每手牌赢的对手概率，降序扫一遍得到输的，其余为平
+        private void showdown(int t, Node node, double[] oppReach) {
+            int o = 1 - t;
+            double[] value = node.value;
+            compatibleReach(t, oppReach, value);
+            double win = pot + node.contrib[o];
+            double lose = -node.contrib[t];
+            double tie = pot / 2;
+
+            int[] tOrder = ascending[t];
+            int[] oOrder = ascending[o];
+            int[] tRank = rank[t];
+            int[] oRank = rank[o];
+            int[] tc0 = card0[t];
+            int[] tc1 = card1[t];
+            int[] oc0 = card0[o];
+            int[] oc1 = card1[o];
+            int nt = n[t];
+            int no = n[o];
+
+            // 赢：对手牌力严格更低 (同一组合牌力相同，不会被计入)
+            double[] cw = cardWin;
+            Arrays.fill(cw, 0);
+            double[] wins = this.wins;
+            double sum = 0;
+            int j = 0;
+            for (int x = 0; x < nt; x++) {
+                int i = tOrder[x];
+                int r = tRank[i];
+                while (j < no && oRank[oOrder[j]] < r) {
+                    int q = oOrder[j++];
+                    double p = oppReach[q];
+                    sum += p;
+                    cw[oc0[q]] += p;
+                    cw[oc1[q]] += p;
+                }
+                wins[i] = sum - cw[tc0[i]] - cw[tc1[i]];
+            }
+
+            // 输：对手牌力严格更高
+            double[] cl = cardLose;
+            Arrays.fill(cl, 0);
+            sum = 0;
+            j = no - 1;
+            for (int x = nt - 1; x >= 0; x--) {
+                int i = tOrder[x];
+                int r = tRank[i];
+                while (j >= 0 && oRank[oOrder[j]] > r) {
+                    int q = oOrder[j--];
+                    double p = oppReach[q];
+                    sum += p;
+                    cl[oc0[q]] += p;
+                    cl[oc1[q]] += p;
+                }
+                double l = sum - cl[tc0[i]] - cl[tc1[i]];
+                double w = wins[i];
+                double ties = value[i] - w - l;
+                value[i] = win * w + lose * l + tie * ties;
+            }
+        }
+
+        // ==================== 输出 ====================
+
+        RiverSolution rootSolution() {
+            int count = n[0];
+            int k = root.children.length;
+            // 双方都按平均策略时玩家 0 的反事实收益，除以可对上的对手权重即为每个行动的期望收益
+            down(root, 0, weight[1], true);
+            averageValue(root);
+            double[] norm = new double[count];
+            compatibleReach(0, weight[1], norm);
+            RiverSolution solution = new RiverSolution();
+            solution.actions = root.actions.clone();
+            solution.amounts = root.amounts.clone();
+            solution.combos = combo[0].clone();
+            solution.strategy = new double[count][k];
+            solution.actionValues = new double[count][k];
+            for (int i = 0; i < count; i++) {
+                for (int a = 0; a < k; a++) {
+                    solution.strategy[i][a] = root.current[a * count + i];
+                    solution.actionValues[i][a] = norm[i] > 0 ? root.children[a].value[i] / norm[i] : 0;
+                }
+            }
+            return solution;
+        }
+
+        // 自底向上合并玩家 0 的收益：对手节点求和 (到达概率已在阶段一计入)，本方节点按平均策略加权
+        private void averageValue(Node node) {
+            if (node.type != PLAYER) return;
+            int count = n[0];
+            Node[] children = node.children;
+            for (Node child : children) averageValue(child);
+            double[] value = node.value;
+            Arrays.fill(value, 0, count, 0);
+            if (node.player != 0) {
+                for (Node child : children) {
+                    double[] cv = child.value;
+                    for (int i = 0; i < count; i++) value[i] += cv[i];
+                }
+                return;
+            }
+            averageStrategy(node, count);
+            double[] sigma = node.current;
+            for (int a = 0; a < children.length; a++) {
+                double[] cv = children[a].value;
+                int off = a * count;
+                for (int i = 0; i < count; i++) value[i] += sigma[off + i] * cv[i];
+            }
+        }
+    }
+
+    /**
+     * 阶段二的并行块：按本方手牌下标切分，各块写入的数组区间互不重叠
+     */
+    private static final class HandChunkTask extends RecursiveAction {
+        private final Game game;
+        private final int traverser;
+        private final double[] selfReach;
+        private final int iteration;
+        private final boolean bestResponse;
+        private final int count;
+        private final int totalChunks;
+        private final int fromChunk;
+        private final int toChunk;
+
+        HandChunkTask(Game game, int traverser, double[] selfReach, int iteration, boolean bestResponse,
+                      int count, int totalChunks, int fromChunk, int toChunk) {
+            this.game = game;
+            this.traverser = traverser;
+            this.selfReach = selfReach;
+            this.iteration = iteration;
+            this.bestResponse = bestResponse;
+            this.count = count;
+            this.totalChunks = totalChunks;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = (int) ((long) count * fromChunk / totalChunks);
+                int to = (int) ((long) count * toChunk / totalChunks);
+                game.up(game.root, traverser, selfReach, from, to, iteration, bestResponse);
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new HandChunkTask(game, traverser, selfReach, iteration, bestResponse, count, totalChunks,
+                            fromChunk, mid),
+                    new HandChunkTask(game, traverser, selfReach, iteration, bestResponse, count, totalChunks,
+                            mid, toChunk));
+        }
+    }
+}
@@ -0,0 +1,549 @@
+package com.example.yolov5tfliteandroid.utils;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 自我对局模拟器 (普通 JVM 命令行)：2-9 人无限注桌，每个座位由一个 {@link Bot} 决策，统计各座位的 bb/100
+ * <p>
+ * 用法：
+ * <pre>
+ *   java -cp &lt;classes&gt; com.example.yolov5tfliteandroid.utils.SelfPlaySimulator \
+ *        [--seats N] [--hands H] [--threads T] [--seed S] [--stack BB] [--bots engine,call,...]
+ *        [--river-solver [--river-iterations N]]
+ * </pre>
+ * --bots 按座位依次分配 (不足时循环使用)：engine 为 {@link TexasHoldemCalUtil#analyzeAndDecide}，
+ * call 为只跟注/过牌的 {@link #CALLING_STATION}。
+ * <p>
+ * 规则：小盲 0.5、大盲 1 (金额均以大盲为单位)，筹码跨手保留，每手开始时不足 --stack (默认 100) 的座位自动补到 --stack
+ * (现金局自动补码)，因此各座位筹码深度不同，全下时会形成多层边池；按钮每手轮转，每个座位在所有位置上打同样多的手数。完整处理翻前/翻牌/转牌/河牌的下注轮、全下与边池、摊牌平分。
+ * 不足最小加注额的全下加注同样重新开放行动 (简化处理)。
+ * <p>
+ * 每个工作线程独占一张桌子：牌堆、每座位状态与公牌评估器 ({@link HandEvaluator.Board}) 全部预先分配、逐手复用，
+ * 发牌只对牌堆做部分 Fisher-Yates 洗牌 (只洗用到的 2 * 座位数 + 5 张)。各桌由 --seed 与桌号派生独立种子，
+ * 同一种子、同一线程数下发牌序列完全相同。多个工作线程时胜率引擎的内部并行度设为 1。
+ * <p>
+ * 引擎默认全部走经验规则；--river-solver 开启河牌单挑的子博弈求解 ({@link RiverSolver})，每次数百毫秒，
+ * 会占据自我对局绝大部分时间，可用 --river-iterations 限制 CFR+ 迭代次数。
+ */
+public final class SelfPlaySimulator {
+
+    public static final int MIN_SEATS = 2;
+    public static final int MAX_SEATS = 9;
+
+    public static final double SMALL_BLIND = 0.5;
+    public static final double BIG_BLIND = 1;
+
+    // 下注额是小数，比较时容忍浮点误差
+    private static final double EPSILON = 1e-9;
+
+    // --river-iterations 只改迭代上限，其余停止条件保持 RiverSolver 的默认值
+    private static final double RIVER_EXPLOITABILITY = 0.005;
+    private static final long RIVER_BUDGET_MS = 500;
+
+    /**
+     * 座位决策者，参数与 {@link TexasHoldemCalUtil#analyzeAndDecide(long, long, int, double, double, double, double)} 相同
+     * <p>
+     * 只读取结果的 suggestedAction 与 betAmount (本次行动投入的筹码，RAISE / ALL_IN 时有效)。
+     * 同一个 Bot 会被多个桌子并发调用，实现须线程安全。
+     */
+    public interface Bot {
+        DecisionResult decide(long hand, long board, int numOpponents, double potSize, double costToCall,
+                              double myStack, double minRaise);
+    }
+
+    /** 决策引擎本身 */
+    public static final Bot ENGINE = TexasHoldemCalUtil::analyzeAndDecide;
+
+    /** 基线：有下注就跟，没有就过牌 */
+    public static final Bot CALLING_STATION = (hand, board, numOpponents, potSize, costToCall, myStack, minRaise) -> {
+        DecisionResult r = new DecisionResult();
+        r.suggestedAction = costToCall > 0 ? Action.CALL : Action.CHECK_FOLD;
+        return r;
+    };
+
+    private SelfPlaySimulator() {
+    }
+
+    public static void main(String[] args) {
+        int seats = 6;
+        long hands = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        double stack = 100;
+        String[] botNames = {"engine"};
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seats":
+                    seats = Integer.parseInt(args[++i]);
+                    break;
+                case "--hands":
+                    hands = Long.parseLong(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    RandomSources.setSeed(seed);
+                    break;
+                case "--stack":
+                    stack = Double.parseDouble(args[++i]);
+                    break;
+                case "--bots":
+                    botNames = args[++i].split(",");
+                    break;
+                case "--river-solver":
+                    TexasHoldemCalUtil.setRiverSolverEnabled(true);
+                    break;
+                case "--river-iterations":
+                    RiverSolver.setLimits(Integer.parseInt(args[++i]), RIVER_EXPLOITABILITY, RIVER_BUDGET_MS);
+                    break;
+                default:
+                    System.err.println("Usage: SelfPlaySimulator [--seats N] [--hands H] [--threads T] [--seed S]"
+                            + " [--stack BB] [--bots engine,call,...] [--river-solver [--river-iterations N]]");
+                    System.exit(1);
+            }
+        }
+        Bot[] bots = new Bot[seats];
+        String[] labels = new String[seats];
+        for (int s = 0; s < seats; s++) {
+            labels[s] = botNames[s % botNames.length];
+            bots[s] = botByName(labels[s]);
+        }
+        if (threads > 1) {
+            EquityEngine.setParallelism(1);
+        }
+        Result result = run(bots, hands, threads, seed, stack);
+        System.out.println(result);
+        for (int s = 0; s < seats; s++) {
+            System.out.printf("seat %d %-8s %+9.2f bb/100 (+/-%.2f)%n", s + 1, labels[s],
+                    result.bbPer100(s), result.bbPer100Error(s));
+        }
+    }
+
+    private static Bot botByName(String name) {
+        switch (name) {
+            case "engine":
+                return ENGINE;
+            case "call":
+                return CALLING_STATION;
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + name);
+        }
+    }
+
+    /**
+     * 并行模拟 hands 手牌 (按线程数平均分到各桌)
+     *
+     * @param bots  每个座位的决策者，长度即座位数 (2-9)
+     * @param stack 补码目标：每手开始时不足该值的座位补到该值 (大盲数)
+     */
+    public static Result run(Bot[] bots, long hands, int threads, long seed, double stack) {
+        if (bots.length < MIN_SEATS || bots.length > MAX_SEATS) {
+            throw new IllegalArgumentException("Seats must be " + MIN_SEATS + "-" + MAX_SEATS + ", got " + bots.length);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be >= 1, got " + threads);
+        }
+        if (stack < BIG_BLIND) {
+            throw new IllegalArgumentException("Stack must cover the big blind, got " + stack);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "self-play");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<Table>> tables = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < threads; i++) {
+                long share = hands / threads + (i < hands % threads ? 1 : 0);
+                Table table = new Table(bots, stack, RandomSources.mixSeed(seed, i));
+                tables.add(pool.submit(() -> {
+                    table.play(share);
+                    return table;
+                }));
+            }
+            Result result = new Result(bots.length);
+            for (Future<Table> f : tables) {
+                result.merge(f.get());
+            }
+            result.elapsedNanos = System.nanoTime() - start;
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 按边池分配底池：每一层由投入达到该层的未弃牌玩家争夺，层内牌力最大者平分 (弃牌玩家的投入照常计入各层)
+     *
+     * @param contributed 各座位本手投入的总筹码
+     * @param folded      是否已弃牌
+     * @param strength    未弃牌座位的牌力 (越大越强，如 {@link HandEvaluator} 的等级)
+     * @param won         输出：各座位分得的筹码 (先清零)
+     * @return 有两名及以上玩家争夺的底池数 (主池 + 边池；只退回给一人的未跟注部分不算)
+     */
+    public static int settle(int seats, double[] contributed, boolean[] folded, int[] strength, double[] won) {
+        for (int s = 0; s < seats; s++) won[s] = 0;
+        double level = 0;
+        int contested = 0;
+        while (true) {
+            // 下一层：未弃牌玩家中大于当前层的最小投入
+            double next = Double.MAX_VALUE;
+            for (int s = 0; s < seats; s++) {
+                if (!folded[s] && contributed[s] > level && contributed[s] < next) next = contributed[s];
+            }
+            if (next == Double.MAX_VALUE) {
+                return contested;
+            }
+            double layer = 0;
+            int best = 0;
+            int winners = 0;
+            int eligible = 0;
+            for (int s = 0; s < seats; s++) {
+                layer += Math.max(0, Math.min(contributed[s], next) - level);
+                if (!folded[s] && contributed[s] >= next) {
+                    eligible++;
+                    if (strength[s] > best) {
+                        best = strength[s];
+                        winners = 1;
+                    } else if (strength[s] == best) {
+                        winners++;
+                    }
+                }
+            }
+            double share = layer / winners;
+            for (int s = 0; s < seats; s++) {
+                if (!folded[s] && contributed[s] >= next && strength[s] == best) won[s] += share;
+            }
+            if (eligible > 1) contested++;
+            level = next;
+        }
+    }
+
+    /**
+     * 一张桌子 (单线程)：全部状态预先分配、逐手复用
+     */
+    private static final class Table {
+        private final Bot[] bots;
+        private final int seats;
+        private final double startingStack;
+        private final RandomSource random;
+        private final int[] deck = new int[52];
+        private final int[] boardCards = new int[5];
+        private final HandEvaluator.Board evaluator = new HandEvaluator.Board();
+
+        // 每座位状态
+        private final int[] hole;          // 2 * 座位数
+        private final long[] handMask;
+        private final double[] stack;
+        private final double[] street;     // 本街投入
+        private final double[] contributed; // 本手投入
+        private final boolean[] folded;
+        private final boolean[] allIn;
+        private final boolean[] pending;   // 本街还需要行动
+        private final int[] strength;
+        private final double[] won;
+
+        // 每座位累计结果
+        private final double[] net;
+        private final double[] netSquares;
+        private long hands;
+        private long decisions;
+        private long sidePotHands;
+
+        private int button;
+        private long board;
+        private double pot;
+        private double currentBet;
+        private double lastRaise;
+
+        Table(Bot[] bots, double startingStack, long seed) {
+            this.bots = bots;
+            this.seats = bots.length;
+            this.startingStack = startingStack;
+            this.random = RandomSources.create(seed);
+            for (int i = 0; i < 52; i++) deck[i] = i;
+            hole = new int[2 * seats];
+            handMask = new long[seats];
+            stack = new double[seats];
+            street = new double[seats];
+            contributed = new double[seats];
+            folded = new boolean[seats];
+            allIn = new boolean[seats];
+            pending = new boolean[seats];
+            strength = new int[seats];
+            won = new double[seats];
+            net = new double[seats];
+            netSquares = new double[seats];
+        }
+
+        void play(long count) {
+            for (long h = 0; h < count; h++) {
+                playHand();
+                button = (button + 1) % seats;
+            }
+        }
+
+        private void playHand() {
+            // 部分洗牌：只把前 2 * 座位数 + 5 个位置换成随机牌 (牌堆本身始终是 52 张的排列)
+            int needed = 2 * seats + 5;
+            for (int i = 0; i < needed; i++) {
+                int j = i + random.nextInt(52 - i);
+                int t = deck[i];
+                deck[i] = deck[j];
+                deck[j] = t;
+            }
+            for (int s = 0; s < seats; s++) {
+                hole[2 * s] = deck[2 * s];
+                hole[2 * s + 1] = deck[2 * s + 1];
+                handMask[s] = (1L << hole[2 * s]) | (1L << hole[2 * s + 1]);
+                if (stack[s] < startingStack) stack[s] = startingStack;
+                contributed[s] = 0;
+                folded[s] = false;
+                allIn[s] = false;
+            }
+            for (int i = 0; i < 5; i++) boardCards[i] = deck[2 * seats + i];
+            board = 0;
+            pot = 0;
+
+            // 单挑时按钮位是小盲，翻前先行动、翻后后行动
+            int sb = seats == 2 ? button : (button + 1) % seats;
+            int bb = (sb + 1) % seats;
+            startStreet();
+            post(sb, SMALL_BLIND);
+            post(bb, BIG_BLIND);
+            currentBet = BIG_BLIND;
+            lastRaise = BIG_BLIND;
+            boolean contested = bettingRound((bb + 1) % seats);
+            for (int dealt = 3; contested && dealt <= 5; dealt++) {
+                for (int i = dealt == 3 ? 0 : dealt - 1; i < dealt; i++) board |= 1L << boardCards[i];
+                startStreet();
+                contested = bettingRound((button + 1) % seats);
+            }
+            finishHand(contested);
+        }
+
+        private void startStreet() {
+            for (int s = 0; s < seats; s++) street[s] = 0;
+            currentBet = 0;
+            lastRaise = BIG_BLIND;
+        }
+
+        private void post(int s, double blind) {
+            double amount = Math.min(blind, stack[s]);
+            commit(s, amount);
+        }
+
+        /**
+         * 一轮下注，从 first 开始按顺序行动；只剩一名未弃牌玩家时返回 false
+         */
+        private boolean bettingRound(int first) {
+            int canAct = 0;
+            for (int s = 0; s < seats; s++) {
+                pending[s] = !folded[s] && !allIn[s];
+                if (pending[s]) canAct++;
+            }
+            // 最多一人还能下注且无需跟注时，本街没有行动
+            if (canAct < 2) {
+                for (int s = 0; s < seats; s++) {
+                    if (pending[s] && street[s] + EPSILON >= currentBet) pending[s] = false;
+                }
+            }
+            int s = first;
+            int idle = 0;
+            while (idle < seats) {
+                if (!pending[s]) {
+                    idle++;
+                    s = (s + 1) % seats;
+                    continue;
+                }
+                idle = 0;
+                pending[s] = false;
+                act(s);
+                if (liveCount() == 1) {
+                    return false;
+                }
+                s = (s + 1) % seats;
+            }
+            return true;
+        }
+
+        private void act(int s) {
+            int opponents = liveCount() - 1;
+            double cost = Math.min(currentBet - street[s], stack[s]);
+            if (cost < EPSILON) cost = 0;
+            decisions++;
+            DecisionResult r = bots[s].decide(handMask[s], board, opponents, pot, cost, stack[s], lastRaise);
+            Action action = r.suggestedAction;
+            if (action == Action.FOLD || action == Action.CHECK_FOLD) {
+                if (cost > 0) folded[s] = true; // 无需跟注时不弃牌，视为过牌
+                return;
+            }
+            double add = cost;
+            if (action == Action.ALL_IN) {
+                add = stack[s];
+            } else if (action == Action.RAISE && canRaise(s)) {
+                // betAmount 是本次投入 (含跟注部分)，不足最小加注时补足
+                add = Math.max(r.betAmount, cost + lastRaise);
+                add = Math.min(add, stack[s]);
+            }
+            double before = currentBet;
+            commit(s, add);
+            if (currentBet > before + EPSILON) {
+                // 加注 (或全下超过当前注)：完整加注才更新最小加注额，其余仍在局且能行动的玩家需重新行动
+                if (currentBet - before >= lastRaise) lastRaise = currentBet - before;
+                for (int o = 0; o < seats; o++) {
+                    if (o != s && !folded[o] && !allIn[o]) pending[o] = true;
+                }
+            }
+        }
+
+        // 还有其他能行动的玩家时才能加注
+        private boolean canRaise(int s) {
+            for (int o = 0; o < seats; o++) {
+                if (o != s && !folded[o] && !allIn[o]) return true;
+            }
+            return false;
+        }
+
+        private void commit(int s, double amount) {
+            stack[s] -= amount;
+            street[s] += amount;
+            contributed[s] += amount;
+            pot += amount;
+            if (stack[s] < EPSILON) {
+                stack[s] = 0;
+                allIn[s] = true;
+            }
+            if (street[s] > currentBet) currentBet = street[s];
+        }
+
+        private int liveCount() {
+            int live = 0;
+            for (int s = 0; s < seats; s++) {
+                if (!folded[s]) live++;
+            }
+            return live;
+        }
+
+        private void finishHand(boolean contested) {
+            if (contested) {
+                evaluator.set(boardCards[0], boardCards[1], boardCards[2], boardCards[3], boardCards[4]);
+                for (int s = 0; s < seats; s++) {
+                    strength[s] = folded[s] ? 0 : evaluator.evaluate(hole[2 * s], hole[2 * s + 1]);
+                }
+            } else {
+                for (int s = 0; s < seats; s++) strength[s] = folded[s] ? 0 : 1;
+            }
+            if (settle(seats, contributed, folded, strength, won) > 1) sidePotHands++;
+            for (int s = 0; s < seats; s++) {
+                stack[s] += won[s];
+                double result = won[s] - contributed[s];
+                net[s] += result;
+                netSquares[s] += result * result;
+            }
+            hands++;
+        }
+    }
+
+    /**
+     * 模拟结果：手数、决策数、各座位累计输赢 (大盲数)
+     */
+    public static final class Result {
+        private final int seats;
+        private final double[] net;
+        private final double[] netSquares;
+        private long hands;
+        private long decisions;
+        private long sidePotHands;
+        private long elapsedNanos;
+
+        Result(int seats) {
+            this.seats = seats;
+            this.net = new double[seats];
+            this.netSquares = new double[seats];
+        }
+
+        void merge(Table table) {
+            for (int s = 0; s < seats; s++) {
+                net[s] += table.net[s];
+                netSquares[s] += table.netSquares[s];
+            }
+            hands += table.hands;
+            decisions += table.decisions;
+            sidePotHands += table.sidePotHands;
+        }
+
+        public int seats() {
+            return seats;
+        }
+
+        public long hands() {
+            return hands;
+        }
+
+        public long decisions() {
+            return decisions;
+        }
+
+        /**
+         * 结算时有边池 (两个及以上有人争夺的底池) 的手数
+         */
+        public long sidePotHands() {
+            return sidePotHands;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 座位累计输赢 (大盲数)，各座位之和为 0
+         */
+        public double net(int seat) {
+            return net[seat];
+        }
+
+        public double bbPer100(int seat) {
+            return hands == 0 ? 0 : net[seat] * 100 / hands;
+        }
+
+        /**
+         * bb/100 的 95% 置信区间半宽 (按每手输赢的样本方差)
+         */
+        public double bbPer100Error(int seat) {
+            if (hands < 2) {
+                return 0;
+            }
+            double mean = net[seat] / hands;
+            double variance = Math.max(0, (netSquares[seat] - hands * mean * mean) / (hands - 1));
+            return 1.96 * Math.sqrt(variance / hands) * 100;
+        }
+
+        public double handsPerSecond() {
+            return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hands=%d decisions=%d side-pot hands=%d elapsed=%.2fs"
+                            + " throughput=%.0f hands/s (%.2fM hands/hour)",
+                    hands, decisions, sidePotHands, elapsedNanos / 1e9, handsPerSecond(), handsPerSecond() * 3600 / 1e6);
+        }
+    }
+}
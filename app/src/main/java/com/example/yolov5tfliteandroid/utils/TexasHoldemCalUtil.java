@@ -1,34 +1,33 @@
 package com.example.yolov5tfliteandroid.utils;
 
 import com.example.yolov5tfliteandroid.enums.Action;
-import com.example.yolov5tfliteandroid.enums.Suit;
 import com.example.yolov5tfliteandroid.model.BetStrategy;
 import com.example.yolov5tfliteandroid.model.Card;
+import com.example.yolov5tfliteandroid.model.CardSet;
 import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.model.MultiwayResult;
+import com.example.yolov5tfliteandroid.model.RiverSolution;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
 
 public class TexasHoldemCalUtil {
 
     private static final int SIMULATION_COUNT = 5000;
 
-    // 使用 int 表示牌，0-51。
-    // rank = card % 13 (0=2, 12=A)
-    // suit = card / 13 (0-3)
-    private static final int[] MASTER_DECK_INT = new int[52];
+    // 胜率缓存容量：按花色同构规范化后的局面计
+    private static final int EQUITY_CACHE_CAPACITY = 4096;
+    private static final EquityCache EQUITY_CACHE = new EquityCache(EQUITY_CACHE_CAPACITY);
 
-    static {
-        for (int i = 0; i < 52; i++) {
-            MASTER_DECK_INT[i] = i;
-        }
-    }
+    // 分析报告生成器，注入到每个决策结果中
+    private static final DecisionResult.Renderer REPORT = TexasHoldemCalUtil::formatReport;
+
+    // 下注策略优先查预计算决策表
+    private static volatile boolean decisionTableEnabled = true;
+
+    // 河牌单挑是否求解子博弈 (默认关闭，与其余街道一样走经验规则)
+    private static volatile boolean riverSolverEnabled = false;
 
     /**
      * 【对外入口】战术分析报告生成 (含加注策略)
@@ -44,70 +43,182 @@ public class TexasHoldemCalUtil {
     public static DecisionResult analyzeAndDecide(List<Card> myHand, List<Card> board, int numOpponents,
                                                   double potSize, double costToCall,
                                                   double myStack, double minRaise) {
+        return analyzeAndDecide(CardSet.of(myHand), CardSet.of(board), numOpponents,
+                potSize, costToCall, myStack, minRaise);
+    }
+
+    /**
+     * 【对外入口】战术分析报告生成 (位掩码版本，见 {@link CardSet})
+     *
+     * @param myHand 我的手牌位掩码 (2 张)
+     * @param board  公共牌位掩码 (0/3/4/5 张)
+     */
+    public static DecisionResult analyzeAndDecide(long myHand, long board, int numOpponents,
+                                                  double potSize, double costToCall,
+                                                  double myStack, double minRaise) {
 
+        DecisionResult result = new DecisionResult();
+        result.renderer = REPORT;
+        result.hand = myHand;
+        result.board = board;
+        result.numOpponents = numOpponents;
+        result.potSize = potSize;
+        result.costToCall = costToCall;
+        result.myStack = myStack;
+
+        // 1. 基础局势
+        double spr = (potSize > 0) ? myStack / potSize : 0;
+        result.spr = spr;
+
+        // 2. 听牌特征与牌面湿度 (先于胜率计算，用于确定自适应模拟的决策阈值)
+        int boardSize = CardSet.size(board);
+        int handFeatures = HandFeatures.extract(myHand, board); // 翻牌圈纹理为查表
+        boolean isFlushDraw = HandFeatures.has(handFeatures, HandFeatures.FLUSH_DRAW);
+        boolean isStraightDraw = HandFeatures.has(handFeatures, HandFeatures.STRAIGHT_DRAW);
+        boolean isSetMining = HandFeatures.has(handFeatures, HandFeatures.SET_MINING);
+        boolean isWetBoard = HandFeatures.has(handFeatures, HandFeatures.WET_BOARD); // 牌面是否湿润(危险)
+        double impliedOddsScale = calculateImpliedOddsScale(isSetMining, isFlushDraw, isStraightDraw, boardSize);
+        double totalPotIfCall = potSize + costToCall;
+        double potOdds = (costToCall > 0) ? costToCall / totalPotIfCall : 0.0;
+        result.features = handFeatures;
+        result.potOdds = potOdds;
+
+        // 3. 胜率计算：组合数足够小时精确穷举，否则自适应蒙特卡洛
+        int[] myHandInt = CardSet.toIntArray(myHand);
+        int[] boardInt = CardSet.toIntArray(board);
+        double[] thresholds = decisionThresholds(potOdds, impliedOddsScale);
+        long startTime = System.nanoTime();
+        // 翻前直接查预计算胜率表；否则先查花色同构缓存，已有结论性的结果直接复用。
+        // 种子在查缓存之前取，命中与否不会改变后面策略随机数的种子；固定种子时绕过缓存，结果不依赖之前算过什么
+        long equitySeed = RandomSources.nextSeed();
+        boolean useCache = !RandomSources.isSeeded();
+        EquityEstimate preflop = boardInt.length == 0 ? PreflopEquityTable.lookup(myHandInt, numOpponents) : null;
+        long cacheKey = HandCanonicalizer.canonicalKey(myHandInt, boardInt, numOpponents);
+        EquityEstimate equity = preflop != null ? preflop : (useCache ? EQUITY_CACHE.get(cacheKey) : null);
+        boolean cached = preflop != null || (equity != null && EquityEngine.isConclusive(equity, thresholds));
+        if (!cached) {
+            if (EquityEngine.shouldEnumerate(myHandInt, boardInt, numOpponents)) {
+                equity = EquityEngine.calculateExactEquity(myHandInt, boardInt, numOpponents);
+            } else {
+                equity = EquityEngine.calculateWinRateAdaptive(myHandInt, boardInt, numOpponents, thresholds, equitySeed);
+            }
+            if (useCache) EQUITY_CACHE.put(cacheKey, equity);
+        }
+        double winRate = equity.winRate;
+        result.equityNanos = System.nanoTime() - startTime;
+        result.equity = equity;
+        result.preflopTable = preflop != null;
+        result.cached = cached && preflop == null;
+        result.winRate = winRate;
+        result.sampleCount = equity.samples;
+        result.winRateError = equity.marginOfError();
+        result.handStrength = equity.profile;
+
+        // 4. 潜在赔率与EV
+        double adjustedWinRate = winRate * (1 + impliedOddsScale * 0.2); // 经验修正
+        double ev = (adjustedWinRate * totalPotIfCall) - costToCall;
+        result.adjustedWinRate = adjustedWinRate;
+        result.ev = ev;
+
+        // 5. 策略生成：开启求解器时河牌单挑求解子博弈，其余情况用经验规则
+        RandomSource random = RandomSources.create(RandomSources.nextSeed());
+        BetStrategy strategy;
+        if (riverSolverEnabled && boardSize == 5 && numOpponents == 1 && potSize > costToCall && myStack > 0) {
+            strategy = solveRiverStrategy(myHandInt, boardInt, potSize - costToCall, myStack, costToCall,
+                    minRaise, random, result);
+        } else {
+            strategy = calculateBetStrategy(
+                    winRate, adjustedWinRate, ev, potSize, costToCall, myStack, minRaise, isWetBoard, spr, random
+            );
+        }
+
+        result.suggestedAction = strategy.action;
+        result.betAmount = strategy.amount;
+        result.betType = strategy.betType;
+        result.strategyReason = strategy.reason;
+        result.committed = strategy.committed;
+        return result;
+    }
+
+    /**
+     * 生成可读的战术分析报告 (注入到 {@link DecisionResult#renderer}，由 {@link DecisionResult#reason()} 按需调用)
+     */
+    public static String formatReport(DecisionResult r) {
         StringBuilder logBuilder = new StringBuilder();
         logBuilder.append("=== Texas Hold'em Strategy Report ===\n");
 
         // 1. 基础局势
-        double spr = (potSize > 0) ? myStack / potSize : 0;
         logBuilder.append(String.format("1. Game State:\n   - Hand: %s | Board: %s\n   - Pot: %.1f, Cost: %.1f, Stack: %.1f\n   - SPR: %.2f (%s)\n",
-                myHand.toString(), board.toString(), potSize, costToCall, myStack, spr, getSprDescription(spr)));
-
-        // 2. 极速蒙特卡洛计算
-        long startTime = System.currentTimeMillis();
-        double winRate = calculateWinRateFast(myHand, board, numOpponents);
-        long duration = System.currentTimeMillis() - startTime;
-        logBuilder.append(String.format("2. Equity (Monte Carlo %d runs):\n   - Win Rate: %.2f%% (Calc Time: %dms)\n",
-                SIMULATION_COUNT, winRate * 100, duration));
-
-        // 3. 听牌特征与牌面湿度
-        boolean isFlushDraw = isFlushDraw(myHand, board);
-        boolean isStraightDraw = isStraightDraw(myHand, board);
-        boolean isSetMining = isSetMining(myHand, board);
-        boolean isPairOnBoard = isPairOnBoard(board);
-        boolean isWetBoard = checkBoardTexture(board); // 检查牌面是否湿润(危险)
+                CardSet.toString(r.hand), CardSet.toString(r.board), r.potSize, r.costToCall, r.myStack, r.spr, getSprDescription(r.spr)));
+
+        // 2. 胜率
+        EquityEstimate equity = r.equity;
+        long duration = r.equityNanos / 1_000_000;
+        String source = r.cached ? ", cached" : "";
+        if (r.preflopTable) {
+            logBuilder.append(String.format("2. Equity (Preflop table, %d runs/cell):\n   - Win Rate: %.2f%% (Calc Time: %dms)\n",
+                    equity.samples, r.winRate * 100, duration));
+        } else if (equity.exact) {
+            logBuilder.append(String.format("2. Equity (Exact enumeration %d outcomes%s):\n   - Win Rate: %.2f%% (Calc Time: %dms)\n",
+                    equity.samples, source, r.winRate * 100, duration));
+        } else {
+            logBuilder.append(String.format("2. Equity (Adaptive Monte Carlo %d runs, ESS %.0f%s):\n   - Win Rate: %.2f%% ±%.2f%% (Calc Time: %dms)\n",
+                    equity.samples, equity.effectiveSampleSize(), source, r.winRate * 100, equity.marginOfError() * 100, duration));
+        }
 
+        // 3. 牌型特征
+        int handFeatures = r.features;
         List<String> features = new ArrayList<>();
-        if (isFlushDraw) features.add("FLUSH_DRAW");
-        if (isStraightDraw) features.add("STRAIGHT_DRAW");
-        if (isSetMining) features.add("SET_MINING");
-        if (isPairOnBoard) features.add("BOARD_PAIRED");
-        if (isWetBoard) features.add("WET_BOARD (Dynamic)");
+        if (HandFeatures.has(handFeatures, HandFeatures.FLUSH_DRAW)) features.add("FLUSH_DRAW");
+        if (HandFeatures.has(handFeatures, HandFeatures.STRAIGHT_DRAW)) features.add("STRAIGHT_DRAW");
+        if (HandFeatures.has(handFeatures, HandFeatures.SET_MINING)) features.add("SET_MINING");
+        if (HandFeatures.has(handFeatures, HandFeatures.BOARD_PAIRED)) features.add("BOARD_PAIRED");
+        if (HandFeatures.has(handFeatures, HandFeatures.WET_BOARD)) features.add("WET_BOARD (Dynamic)");
 
         logBuilder.append("3. Features:\n   - ").append(features.isEmpty() ? "Dry / Made Hand" : features.toString()).append("\n");
+        if (HandFeatures.outs(handFeatures) > 0 || HandFeatures.overcards(handFeatures) > 0) {
+            logBuilder.append(String.format("   - Outs: flush %d, straight %d (%s), overcards %d\n",
+                    HandFeatures.flushOuts(handFeatures), HandFeatures.straightOuts(handFeatures),
+                    HandFeatures.has(handFeatures, HandFeatures.OPEN_ENDED) ? "open-ended"
+                            : HandFeatures.has(handFeatures, HandFeatures.GUTSHOT) ? "gutshot" : "none",
+                    HandFeatures.overcards(handFeatures)));
+        }
+        if (r.handStrength != null) {
+            logBuilder.append("   - Strength: ").append(r.handStrength).append("\n");
+        }
 
         // 4. 潜在赔率与EV
-        double impliedOddsScale = calculateImpliedOddsScale(isSetMining, isFlushDraw, isStraightDraw, board.size());
-        double adjustedWinRate = winRate * (1 + impliedOddsScale * 0.2); // 经验修正
-        double totalPotIfCall = potSize + costToCall;
-        double ev = (adjustedWinRate * totalPotIfCall) - costToCall;
-        double potOdds = (costToCall > 0) ? costToCall / totalPotIfCall : 0.0;
-
         logBuilder.append(String.format("4. Math:\n   - PotOdds: %.1f%% vs WinRate: %.1f%%\n   - EV: %.2f\n",
-                potOdds * 100, adjustedWinRate * 100, ev));
-
-        // 5. 策略生成 (核心升级部分)
-        DecisionResult result = new DecisionResult();
-        result.ev = ev;
-
-        // 调用加注策略计算器
-        BetStrategy strategy = calculateBetStrategy(
-                winRate, adjustedWinRate, ev, potSize, costToCall, myStack, minRaise, isWetBoard, spr
-        );
+                r.potOdds * 100, r.adjustedWinRate * 100, r.ev));
 
-        result.suggestedAction = strategy.action;
+        // 5. 策略
         logBuilder.append("5. Strategy & Sizing:\n");
-        logBuilder.append(String.format("   - Action: %s\n", strategy.action));
+        logBuilder.append(String.format("   - Action: %s\n", r.suggestedAction));
 
-        if (strategy.action == Action.RAISE || strategy.action == Action.ALL_IN) {
-            logBuilder.append(String.format("   - Recommended Amount: %.1f (%.1f%% Pot)\n", strategy.amount, (strategy.amount / potSize) * 100));
-            logBuilder.append(String.format("   - Type: %s\n", strategy.betType));
+        if (r.suggestedAction == Action.RAISE || r.suggestedAction == Action.ALL_IN) {
+            logBuilder.append(String.format("   - Recommended Amount: %.1f (%.1f%% Pot)\n", r.betAmount, (r.betAmount / r.potSize) * 100));
+            logBuilder.append(String.format("   - Type: %s\n", r.betType));
         }
 
-        logBuilder.append(String.format("   - Logic: %s\n", strategy.reason));
+        logBuilder.append(String.format("   - Logic: %s%s\n", r.strategyReason, r.committed ? " (Committed, All-in)" : ""));
+        if (r.riverSolution != null) {
+            logBuilder.append("   - Solver: ").append(r.riverSolution).append("\n");
+            logBuilder.append("   - Mix: ").append(r.riverSolution.describe(r.riverStrategy)).append("\n");
+        }
+        return logBuilder.toString();
+    }
 
-        result.reason = logBuilder.toString();
-        return result;
+    /**
+     * 【对外入口】批量胜率计算 (吞吐优先)
+     * 共享公牌和对手数的局面会复用同一批发牌，各组在多核上并行
+     *
+     * @param hands        每个局面 2 张手牌 (int 编码 0-51)，长度 2n
+     * @param boards       每个局面 5 个公牌槽位，未发出的用 -1 填充，长度 5n
+     * @param numOpponents 每个局面的对手数量，长度 n
+     * @return 每个局面的胜率，长度 n
+     */
+    public static double[] calculateWinRateBatch(int[] hands, int[] boards, int[] numOpponents) {
+        return BatchEquityEngine.calculate(hands, boards, numOpponents, SIMULATION_COUNT);
     }
 
     // =========================================================================
@@ -116,116 +227,219 @@ public class TexasHoldemCalUtil {
 
 
 
+    /**
+     * 河牌单挑：双方按随机手牌范围求解子博弈 (CFR+)，按本手牌的混合策略抽取行动，EV 取该行动在解中的期望收益
+     * <p>
+     * 范围假设为任意两张牌 (面对下注时即假设对手用所有手牌下注)，因此默认关闭，见 {@link #setRiverSolverEnabled}。
+     *
+     * @param pot       对手下注前的底池
+     * @param facingBet 需要跟注的金额 (0 表示我先行动)
+     */
+    private static BetStrategy solveRiverStrategy(int[] myHand, int[] board, double pot, double stack,
+                                                  double facingBet, double minRaise, RandomSource random,
+                                                  DecisionResult result) {
+        RiverSolution solution = RiverSolver.solve(board, HandRange.any(), HandRange.any(), pot, stack, facingBet,
+                minRaise);
+        int combo = HandRange.comboIndex(myHand[0], myHand[1]);
+        double[] mix = solution.strategyFor(combo);
+        int a = RiverSolution.pick(mix, random.nextDouble());
+        result.riverSolution = solution;
+        result.riverStrategy = mix;
+        result.ev = solution.valuesFor(combo)[a];
+
+        BetStrategy s = new BetStrategy();
+        s.action = solution.actions[a];
+        s.amount = solution.amounts[a];
+        s.betType = "Solver Mix";
+        s.reason = "River subgame solved by CFR+, action sampled from the mixed strategy.";
+        return s;
+    }
+
+    /**
+     * 是否用预计算的下注决策表代替规则分支 (见 {@link BetDecisionTable}，默认开启；表资源缺失时自动回退到规则)
+     */
+    public static void setDecisionTableEnabled(boolean enabled) {
+        decisionTableEnabled = enabled;
+    }
+
+    /**
+     * 河牌单挑时是否用 {@link RiverSolver} 求解子博弈 (默认关闭)；开启后每次河牌单挑决策需要数百毫秒，
+     * 不适合相机/界面的实时路径，用于离线回放与自我对局中对比求解器策略
+     */
+    public static void setRiverSolverEnabled(boolean enabled) {
+        riverSolverEnabled = enabled;
+    }
+
+    public static boolean isRiverSolverEnabled() {
+        return riverSolverEnabled;
+    }
+
     /**
      * 计算具体的下注/加注策略
+     * 混合策略的随机性来自 random (种子取自 {@link RandomSources#nextSeed()}，固定种子后决策可复现)
      */
     private static BetStrategy calculateBetStrategy(double rawWinRate, double adjWinRate, double ev,
                                                     double potSize, double costToCall, double myStack,
-                                                    double minRaise, boolean isWetBoard, double spr) {
-        BetStrategy s = new BetStrategy();
+                                                    double minRaise, boolean isWetBoard, double spr,
+                                                    RandomSource random) {
+        boolean facing = costToCall != 0;
+        double potOdds = facing ? costToCall / (potSize + costToCall) : 0;
+        int outcome = decisionTableEnabled
+                ? BetDecisionTable.lookup(rawWinRate, adjWinRate, facing, ev > 0, potOdds, isWetBoard, spr)
+                : -1;
+        if (outcome < 0) {
+            outcome = classifyBet(rawWinRate, adjWinRate, facing, ev > 0, potOdds, isWetBoard, spr);
+        }
+        return applyBetOutcome(outcome, potSize, costToCall, myStack, minRaise, random);
+    }
 
+    /**
+     * 下注策略的经验规则：只做阈值判断，返回 {@link BetDecisionTable} 中的决策编号
+     * (下注额由 applyBetOutcome 计算)。决策表由本方法离线展开生成，修改规则后需重新生成。
+     *
+     * @param facing     是否面临下注 (costToCall != 0)
+     * @param positiveEv 跟注 EV 是否为正
+     * @param potOdds    跟注所需胜率
+     */
+    public static int classifyBet(double rawWinRate, double adjWinRate, boolean facing, boolean positiveEv,
+                                  double potOdds, boolean isWetBoard, double spr) {
         // --- 基础状态判断 ---
         boolean isNutHand = rawWinRate > 0.85;       // 坚果牌/超强牌
         boolean isStrongHand = rawWinRate > 0.65;    // 强牌
         boolean isDrawHand = adjWinRate > 0.45 && rawWinRate < 0.4; // 听牌(现在弱未来强)
 
         // --- 场景 A: 没人下注 (Cost == 0) ---
-        if (costToCall == 0) {
+        if (!facing) {
             if (isNutHand) {
-                // 坚果牌：如果是干燥面，可以慢打(Check)；如果是湿润面，必须下注防抽
-                if (isWetBoard) {
-                    s.action = Action.RAISE; // 在没人下注时Raise即Bet
-                    s.amount = calculateSizing(potSize, 0.75, myStack); // 湿面打重注 75%
-                    s.betType = "Value/Protection";
-                    s.reason = "Nut hand on wet board, bet big to charge draws.";
-                } else {
-                    // 慢打，或者打小注引诱
-                    s.action = Action.RAISE;
-                    s.amount = calculateSizing(potSize, 0.33, myStack); // 33% 小注
-                    s.betType = "Value/Trap";
-                    s.reason = "Nut hand on dry board, small bet to induce action.";
-                }
+                // 坚果牌：如果是湿润面，必须下注防抽；干燥面打小注引诱
+                return isWetBoard ? BetDecisionTable.BET_NUT_WET : BetDecisionTable.BET_NUT_DRY;
             } else if (isStrongHand) {
                 // 强牌：通常打价值
-                s.action = Action.RAISE;
-                double sizeRatio = isWetBoard ? 0.66 : 0.5; // 湿面 2/3池，干面 半池
-                s.amount = calculateSizing(potSize, sizeRatio, myStack);
-                s.betType = "Value";
-                s.reason = "Strong hand, extracting value.";
+                return isWetBoard ? BetDecisionTable.BET_STRONG_WET : BetDecisionTable.BET_STRONG_DRY;
             } else if (isDrawHand) {
                 // 听牌：可以半诈唬 (Semi-Bluff)
                 // 只有在有后手优势(SPR合适)时才做
-                if (spr > 3) {
-                    s.action = Action.RAISE;
-                    s.amount = calculateSizing(potSize, 0.5, myStack);
-                    s.betType = "Semi-Bluff";
-                    s.reason = "Good draw, betting to fold out better hands or build pot.";
-                } else {
-                    s.action = Action.CHECK_FOLD; // 这里Action枚举可能没CHECK，用Check_Fold代替
-                    s.reason = "Draw hand but stack too shallow for bluff.";
-                }
-            } else {
-                s.action = Action.CHECK_FOLD;
-                s.reason = "Weak hand, check/fold.";
+                return spr > 3 ? BetDecisionTable.BET_SEMI_BLUFF : BetDecisionTable.CHECK_SHALLOW_DRAW;
             }
+            return BetDecisionTable.CHECK_WEAK;
         }
+
         // --- 场景 B: 面临下注 (Cost > 0) ---
-        else {
-            // 如果加注额太高，导致SPR很低，强制变为 All-in 判断
-            // double commitRatio = costToCall / myStack;
-
-            if (ev > 0) {
-                // 正EV，基础是 Call
-
-                // 1. 什么时候加注 (Raise)?
-                // - 牌极强 (Value Raise)
-                // - 听牌极好且需要弃牌率 (Semi-Bluff Raise)
-
-                if (isNutHand || (isStrongHand && isWetBoard)) {
-                    // 强牌面临湿面，加注保护
-                    s.action = Action.RAISE;
-                    // 加注通常是底池的 3倍 或 对方下注的 2.5倍+
-                    // 公式：Pot + Cost + RaiseAmount
-                    double raiseTotal = (potSize + costToCall) * 0.5 + costToCall;
-                    // 确保至少是最小加注额
-                    if (raiseTotal < minRaise + costToCall) raiseTotal = minRaise + costToCall;
-
-                    s.amount = calculateSizing(0, 0, myStack, raiseTotal);
-                    s.betType = "Value Raise";
-                    s.reason = "Re-raising for value and protection.";
-                } else if (isDrawHand && spr > 5 && Math.random() > 0.6) {
-                    // 听牌有时(40%概率)可以加注诈唬，混合策略
-                    s.action = Action.RAISE;
-                    double raiseTotal = (potSize + costToCall) * 0.4 + costToCall;
-                    if (raiseTotal < minRaise + costToCall) raiseTotal = minRaise + costToCall;
-
-                    s.amount = calculateSizing(0, 0, myStack, raiseTotal);
-                    s.betType = "Semi-Bluff Raise";
-                    s.reason = "Aggressive play with strong draw.";
-                } else {
-                    // 普通强牌或听牌，Call
-                    s.action = Action.CALL;
-                    s.reason = "Positive EV, calling to keep opponent in or see river.";
-                }
-            } else {
-                // 负EV
-                double potOdds = costToCall / (potSize + costToCall);
-                // 投机跟注：赔率极好且有潜在赔率
-                if (potOdds < 0.15 && adjWinRate > 0.2) {
-                    s.action = Action.CALL;
-                    s.reason = "Speculative call due to excellent pot odds.";
-                } else {
-                    s.action = Action.FOLD;
-                    s.reason = "Negative EV, folding.";
-                }
+        if (positiveEv) {
+            // 正EV，基础是 Call
+
+            // 1. 什么时候加注 (Raise)?
+            // - 牌极强 (Value Raise)
+            // - 听牌极好且需要弃牌率 (Semi-Bluff Raise)
+            if (isNutHand || (isStrongHand && isWetBoard)) {
+                // 强牌面临湿面，加注保护
+                return BetDecisionTable.RAISE_VALUE;
+            } else if (isDrawHand && spr > 5) {
+                // 听牌有时(40%概率)可以加注诈唬，混合策略
+                return BetDecisionTable.RAISE_DRAW_MIXED;
             }
+            // 普通强牌或听牌，Call
+            return BetDecisionTable.CALL_POSITIVE_EV;
+        }
+        // 负EV：投机跟注要求赔率极好且有潜在赔率
+        if (potOdds < 0.15 && adjWinRate > 0.2) {
+            return BetDecisionTable.CALL_SPECULATIVE;
+        }
+        return BetDecisionTable.FOLD;
+    }
 
-            // 修正：如果计算出的加注额超过剩余筹码的 40%，直接 All-in
-            if (s.action == Action.RAISE && s.amount > myStack * 0.4) {
-                s.action = Action.ALL_IN;
-                s.amount = myStack;
-                s.reason += " (Committed, All-in)";
+    /**
+     * 按决策编号生成具体策略 (下注额、混合策略抽样)
+     */
+    private static BetStrategy applyBetOutcome(int outcome, double potSize, double costToCall, double myStack,
+                                               double minRaise, RandomSource random) {
+        BetStrategy s = new BetStrategy();
+        if (outcome == BetDecisionTable.RAISE_DRAW_MIXED) {
+            // 混合策略：40% 概率加注，否则按正 EV 跟注
+            outcome = random.nextDouble() > 0.6 ? BetDecisionTable.RAISE_DRAW_MIXED : BetDecisionTable.CALL_POSITIVE_EV;
+        }
+        switch (outcome) {
+            // --- 场景 A: 没人下注，RAISE 即 Bet ---
+            case BetDecisionTable.BET_NUT_WET:
+                s.action = Action.RAISE;
+                s.amount = calculateSizing(potSize, 0.75, myStack); // 湿面打重注 75%
+                s.betType = "Value/Protection";
+                s.reason = "Nut hand on wet board, bet big to charge draws.";
+                break;
+            case BetDecisionTable.BET_NUT_DRY:
+                // 慢打，或者打小注引诱
+                s.action = Action.RAISE;
+                s.amount = calculateSizing(potSize, 0.33, myStack); // 33% 小注
+                s.betType = "Value/Trap";
+                s.reason = "Nut hand on dry board, small bet to induce action.";
+                break;
+            case BetDecisionTable.BET_STRONG_WET:
+            case BetDecisionTable.BET_STRONG_DRY:
+                s.action = Action.RAISE;
+                // 湿面 2/3池，干面 半池
+                double sizeRatio = outcome == BetDecisionTable.BET_STRONG_WET ? 0.66 : 0.5;
+                s.amount = calculateSizing(potSize, sizeRatio, myStack);
+                s.betType = "Value";
+                s.reason = "Strong hand, extracting value.";
+                break;
+            case BetDecisionTable.BET_SEMI_BLUFF:
+                s.action = Action.RAISE;
+                s.amount = calculateSizing(potSize, 0.5, myStack);
+                s.betType = "Semi-Bluff";
+                s.reason = "Good draw, betting to fold out better hands or build pot.";
+                break;
+            case BetDecisionTable.CHECK_SHALLOW_DRAW:
+                s.action = Action.CHECK_FOLD; // 这里Action枚举可能没CHECK，用Check_Fold代替
+                s.reason = "Draw hand but stack too shallow for bluff.";
+                break;
+            case BetDecisionTable.CHECK_WEAK:
+                s.action = Action.CHECK_FOLD;
+                s.reason = "Weak hand, check/fold.";
+                break;
+
+            // --- 场景 B: 面临下注 ---
+            case BetDecisionTable.RAISE_VALUE: {
+                s.action = Action.RAISE;
+                // 加注通常是底池的 3倍 或 对方下注的 2.5倍+
+                // 公式：Pot + Cost + RaiseAmount
+                double raiseTotal = (potSize + costToCall) * 0.5 + costToCall;
+                // 确保至少是最小加注额
+                if (raiseTotal < minRaise + costToCall) raiseTotal = minRaise + costToCall;
+
+                s.amount = calculateSizing(0, 0, myStack, raiseTotal);
+                s.betType = "Value Raise";
+                s.reason = "Re-raising for value and protection.";
+                break;
             }
+            case BetDecisionTable.RAISE_DRAW_MIXED: {
+                s.action = Action.RAISE;
+                double raiseTotal = (potSize + costToCall) * 0.4 + costToCall;
+                if (raiseTotal < minRaise + costToCall) raiseTotal = minRaise + costToCall;
+
+                s.amount = calculateSizing(0, 0, myStack, raiseTotal);
+                s.betType = "Semi-Bluff Raise";
+                s.reason = "Aggressive play with strong draw.";
+                break;
+            }
+            case BetDecisionTable.CALL_POSITIVE_EV:
+                s.action = Action.CALL;
+                s.reason = "Positive EV, calling to keep opponent in or see river.";
+                break;
+            case BetDecisionTable.CALL_SPECULATIVE:
+                s.action = Action.CALL;
+                s.reason = "Speculative call due to excellent pot odds.";
+                break;
+            default:
+                s.action = Action.FOLD;
+                s.reason = "Negative EV, folding.";
+                break;
+        }
+
+        // 修正：面临下注时如果计算出的加注额超过剩余筹码的 40%，直接 All-in
+        if (costToCall != 0 && s.action == Action.RAISE && s.amount > myStack * 0.4) {
+            s.action = Action.ALL_IN;
+            s.amount = myStack;
+            s.committed = true; // 报告中追加 " (Committed, All-in)"
         }
 
         // 最后兜底检查：如果建议Action是RAISE但金额不够，修正为ALL_IN或CALL
@@ -259,36 +473,16 @@ public class TexasHoldemCalUtil {
         return "Commited/All-in Mode";
     }
 
-    // 检查牌面是否“湿润”（容易有同花/顺子）
-    private static boolean checkBoardTexture(List<Card> board) {
-        if (board.size() < 3) return false;
-        // 检查是否有3张同花色
-        int[] suits = new int[4];
-        for (Card c : board) suits[c.getSuit().ordinal()]++;
-        for (int s : suits) if (s >= 3) return true; // 有同花面
-
-        // 检查连接性 (比如 7,8,9)
-        // 简单处理：如果牌面有3张牌跨度在5以内
-        // 这里使用简单的排序判断
-        List<Integer> ranks = new ArrayList<>();
-        for (Card c : board) ranks.add(c.getRank().getValue());
-        Collections.sort(ranks);
-
-        // 去重
-        List<Integer> uniqueRanks = new ArrayList<>();
-        if (!ranks.isEmpty()) {
-            uniqueRanks.add(ranks.get(0));
-            for (int i = 1; i < ranks.size(); i++) {
-                if (!ranks.get(i).equals(ranks.get(i - 1))) uniqueRanks.add(ranks.get(i));
-            }
-        }
-
-        // 检查3张连续
-        for (int i = 0; i <= uniqueRanks.size() - 3; i++) {
-            if (uniqueRanks.get(i + 2) - uniqueRanks.get(i) <= 4) return true;
+    /**
+     * 自适应模拟的决策阈值 (原始胜率口径)
+     * 面临下注时：EV = 0 的保本胜率，即 potOdds / 修正系数；
+     * 无人下注时：强牌 / 坚果牌的分界线 (与 classifyBet 一致)
+     */
+    private static double[] decisionThresholds(double potOdds, double impliedOddsScale) {
+        if (potOdds > 0) {
+            return new double[]{potOdds / (1 + impliedOddsScale * 0.2)};
         }
-
-        return false;
+        return new double[]{0.65, 0.85};
     }
 
     private static double calculateImpliedOddsScale(boolean isSetMining, boolean isFlushDraw, boolean isStraightDraw, int boardSize) {
@@ -306,379 +500,96 @@ public class TexasHoldemCalUtil {
     //  高性能计算核心区 (High Performance Core)
     // =========================================================================
 
-    private static double calculateWinRateFast(List<Card> myHandObj, List<Card> boardObj, int numOpponents) {
-        // 1. 预处理：将对象转换为 int ID (0-51)
-        int[] myHand = toIntArray(myHandObj);
-        int[] knownBoard = toIntArray(boardObj);
-
-        // 标记已知牌，用于洗牌时跳过
-        boolean[] usedCards = new boolean[52];
-        for (int c : myHand) usedCards[c] = true;
-        for (int c : knownBoard) usedCards[c] = true;
-
-        // 准备剩余牌堆
-        int[] deck = new int[52];
-        int deckSize = 0;
-        for (int i = 0; i < 52; i++) {
-            if (!usedCards[i]) {
-                deck[deckSize++] = i;
-            }
-        }
-
-        // 预分配内存，避免循环内 new
-        int[] currentBoard = new int[5]; // 最多5张公牌
-        int[] combinedHand = new int[7]; // 2手牌 + 5公牌
-        int[] opHand = new int[7];       // 对手的手牌容器
-        Random random = new Random();
-
-        int wins = 0;
-        int ties = 0;
-        int knownBoardSize = knownBoard.length;
-        int cardsToDealBoard = 5 - knownBoardSize;
-        // 每个对手发2张，加上公牌需要补的张数
-        int cardsNeeded = cardsToDealBoard + (numOpponents * 2);
-
-        // --- 核心循环 START ---
-        for (int i = 0; i < SIMULATION_COUNT; i++) {
-            // 1. 局部洗牌 (Fisher-Yates) - 只洗我们需要发出的那几张牌
-            // 相当于从牌堆里随机抽 cardsNeeded 张牌放到 deck 数组的前面
-            for (int j = 0; j < cardsNeeded; j++) {
-                int r = j + random.nextInt(deckSize - j);
-                int temp = deck[r];
-                deck[r] = deck[j];
-                deck[j] = temp;
-            }
-
-            int deckIndex = 0;
-
-            // 2. 补齐公共牌
-            // 先复制已知的
-            for (int k = 0; k < knownBoardSize; k++) {
-                currentBoard[k] = knownBoard[k];
-            }
-            // 再补发未知的
-            for (int k = 0; k < cardsToDealBoard; k++) {
-                currentBoard[knownBoardSize + k] = deck[deckIndex++];
-            }
-
-            // 3. 计算我的分数
-            // 组装7张牌
-            combinedHand[0] = myHand[0];
-            combinedHand[1] = myHand[1];
-            System.arraycopy(currentBoard, 0, combinedHand, 2, 5);
-            long myScore = evaluate7CardsFast(combinedHand);
-
-            boolean iWin = true;
-            boolean isTie = false;
-
-            // 4. 模拟对手
-            for (int op = 0; op < numOpponents; op++) {
-                // 发两张牌给对手
-                opHand[0] = deck[deckIndex++];
-                opHand[1] = deck[deckIndex++];
-                // 加上公牌
-                System.arraycopy(currentBoard, 0, opHand, 2, 5);
-
-                long opScore = evaluate7CardsFast(opHand);
-
-                if (opScore > myScore) {
-                    iWin = false;
-                    break;
-                } else if (opScore == myScore) {
-                    isTie = true;
-                }
-            }
-
-            if (iWin) {
-                if (isTie) ties++;
-                else wins++;
-            }
-        }
-        // --- 核心循环 END ---
-
-        return (wins + 0.5 * ties) / SIMULATION_COUNT;
-    }
-
     /**
-     * 极速评分算法
-     * 不排序，不创建对象，基于数组统计和位运算
-     * 输入：int[7] 数组，每个元素 0-51
-     * 返回：long 分数 (同 HandEvaluator 格式)
+     * 固定次数 (SIMULATION_COUNT) 的蒙特卡洛胜率
      */
-    private static long evaluate7CardsFast(int[] cards) {
-        // 统计花色和点数
-        int[] rankCounts = new int[13]; // 0=2, 12=A
-        int[] suitCounts = new int[4];
-
-        // 位掩码记录存在的点数 (用于快速查顺子)
-        int rankBitMask = 0;
-
-        for (int c : cards) {
-            int r = c % 13;
-            int s = c / 13;
-            rankCounts[r]++;
-            suitCounts[s]++;
-            rankBitMask |= (1 << r);
-        }
-
-        // --- 1. 检查同花 ---
-        int flushSuit = -1;
-        for (int i = 0; i < 4; i++) {
-            if (suitCounts[i] >= 5) {
-                flushSuit = i;
-                break;
-            }
-        }
-
-        // 如果有同花，检查是不是同花顺
-        if (flushSuit != -1) {
-            // 收集该花色的所有点数
-            int flushRankMask = 0;
-            for (int c : cards) {
-                if (c / 13 == flushSuit) {
-                    flushRankMask |= (1 << (c % 13));
-                }
-            }
-            int sfRank = getStraightHighRank(flushRankMask);
-            if (sfRank != -1) {
-                return encodeScoreFast(9, sfRank); // 同花顺
-            }
-        }
-
-        // --- 2. 检查四条/葫芦/三条/两对/一对 ---
-        // 寻找频率
-        int quadRank = -1;
-        int tripRank = -1;
-        int pair1 = -1;
-        int pair2 = -1;
-
-        // 从大到小遍历 (A -> 2)
-        for (int r = 12; r >= 0; r--) {
-            int count = rankCounts[r];
-            if (count == 4) {
-                quadRank = r;
-                break; // 只有可能有一个四条
-            } else if (count == 3) {
-                if (tripRank == -1) tripRank = r;
-            } else if (count == 2) {
-                if (pair1 == -1) pair1 = r;
-                else if (pair2 == -1) pair2 = r;
-            }
-        }
-
-        // 四条
-        if (quadRank != -1) {
-            int kicker = -1;
-            for (int r = 12; r >= 0; r--) {
-                if (r != quadRank && rankCounts[r] > 0) {
-                    kicker = r;
-                    break;
-                }
-            }
-            return encodeScoreFast(8, quadRank + 2, kicker + 2); // +2 是为了匹配 Rank枚举值
-        }
-
-        // 葫芦 (三条 + 另一组三条或一对)
-        if (tripRank != -1) {
-            // 如果有两个三条，tripRank存的是大的，找次大的作为葫芦的一对
-            if (pair1 != -1 || pair2 != -1) {
-                // 优先找最大的对子
-                int p = (pair1 != -1) ? pair1 : -1;
-                // 特殊情况：两个三条，取较小的那个做对子
-                for (int r = 12; r >= 0; r--) {
-                    if (r != tripRank && rankCounts[r] >= 2) {
-                        p = r;
-                        break;
-                    }
-                }
-                return encodeScoreFast(7, tripRank + 2, p + 2);
-            }
-        }
-
-        // 同花 (非同花顺)
-        if (flushSuit != -1) {
-            // 找最大的5张同花牌
-            int[] flushKickers = new int[5];
-            int idx = 0;
-            for (int r = 12; r >= 0; r--) {
-                // 检查该点数是否有该花色的牌
-                // 这里为了极致速度，需要重新遍历一下cards或者存bitmap
-                // 简单起见，重新遍历cards找到属于flushSuit且rank为r的
-                boolean hasRankInSuit = false;
-                for (int c : cards) {
-                    if (c / 13 == flushSuit && c % 13 == r) {
-                        hasRankInSuit = true;
-                        break;
-                    }
-                }
-                if (hasRankInSuit) {
-                    flushKickers[idx++] = r + 2;
-                    if (idx == 5) break;
-                }
-            }
-            return encodeScoreFast(6, flushKickers);
-        }
-
-        // --- 3. 检查顺子 ---
-        int straightRank = getStraightHighRank(rankBitMask);
-        if (straightRank != -1) {
-            return encodeScoreFast(5, straightRank);
-        }
-
-        // --- 4. 剩余牌型 ---
-        if (tripRank != -1) {
-            // 三条，找两个踢脚
-            int k1 = -1, k2 = -1;
-            for (int r = 12; r >= 0; r--) {
-                if (r != tripRank && rankCounts[r] > 0) {
-                    if (k1 == -1) k1 = r + 2;
-                    else {
-                        k2 = r + 2;
-                        break;
-                    }
-                }
-            }
-            return encodeScoreFast(4, tripRank + 2, k1, k2);
-        }
-
-        if (pair1 != -1 && pair2 != -1) {
-            // 两对
-            int kicker = -1;
-            for (int r = 12; r >= 0; r--) {
-                if (r != pair1 && r != pair2 && rankCounts[r] > 0) {
-                    kicker = r + 2;
-                    break;
-                }
-            }
-            return encodeScoreFast(3, pair1 + 2, pair2 + 2, kicker);
-        }
-
-        if (pair1 != -1) {
-            // 一对
-            int k1 = -1, k2 = -1, k3 = -1;
-            for (int r = 12; r >= 0; r--) {
-                if (r != pair1 && rankCounts[r] > 0) {
-                    if (k1 == -1) k1 = r + 2;
-                    else if (k2 == -1) k2 = r + 2;
-                    else {
-                        k3 = r + 2;
-                        break;
-                    }
-                }
-            }
-            return encodeScoreFast(2, pair1 + 2, k1, k2, k3);
-        }
-
-        // 高牌
-        int[] kickers = new int[5];
-        int idx = 0;
-        for (int r = 12; r >= 0; r--) {
-            if (rankCounts[r] > 0) {
-                kickers[idx++] = r + 2;
-                if (idx == 5) break;
-            }
-        }
-        return encodeScoreFast(1, kickers);
+    public static double calculateWinRateFast(List<Card> myHandObj, List<Card> boardObj, int numOpponents) {
+        return calculateWinRateFast(CardSet.of(myHandObj), CardSet.of(boardObj), numOpponents);
     }
 
-    // 辅助：使用位运算快速判断顺子最大值
-    private static int getStraightHighRank(int rankBitMask) {
-        // 检查 A-5 (Wheel): 需要 A(12), 2(0), 3(1), 4(2), 5(3)
-        // mask & 0b1000000001111
-        // 0x100F = 1 0000 0000 1111 (A, 5, 4, 3, 2)
-        // 注意：如果同时有 6,5,4,3,2，应该返回 6。
-        // 但普通顺子逻辑涵盖了 6-2。唯一漏掉的是 A-5 作为最小顺子。
-        // 我们先检查普通顺子，如果没有，再返回5。
-
-        // 连续5个1
-        // 从 A (12) 开始往下直到 6 (4)
-        for (int i = 12; i >= 4; i--) {
-            // 检查 i, i-1, i-2, i-3, i-4 是否都存在
-            int mask = (1 << i) | (1 << (i - 1)) | (1 << (i - 2)) | (1 << (i - 3)) | (1 << (i - 4));
-            if ((rankBitMask & mask) == mask) {
-                return i + 2; // rank 12 -> 14 (Ace)
-            }
-        }
-
-        // 单独检查 A-2-3-4-5
-        if ((rankBitMask & 0x100F) == 0x100F) {
-            return 5; // 5 high straight
+    /**
+     * 固定次数的蒙特卡洛胜率 (位掩码版本)
+     */
+    public static double calculateWinRateFast(long myHandMask, long boardMask, int numOpponents) {
+        // 预处理：位掩码展开为 int ID (0-51)，模拟本身交给 EquityEngine (按并行度自动选择单线程/多线程)
+        int[] myHand = CardSet.toIntArray(myHandMask);
+        int[] knownBoard = CardSet.toIntArray(boardMask);
+
+        // 花色同构缓存：已有不少于 SIMULATION_COUNT 次的结果即可复用
+        long cacheKey = HandCanonicalizer.canonicalKey(myHand, knownBoard, numOpponents);
+        EquityEstimate cached = EQUITY_CACHE.get(cacheKey);
+        if (cached != null && (cached.exact || cached.samples >= SIMULATION_COUNT)) {
+            return cached.winRate;
         }
-
-        return -1;
+        EquityEstimate estimate = EquityEngine.estimateWinRate(myHand, knownBoard, numOpponents, SIMULATION_COUNT);
+        EQUITY_CACHE.put(cacheKey, estimate);
+        return estimate.winRate;
     }
 
-    private static long encodeScoreFast(int catScore, int... kickers) {
-        long s = catScore;
-        for (int k : kickers) s = (s << 4) + k;
-        // 补齐到5个kicker长度 (每个4位)
-        return s << (4 * (5 - kickers.length));
-    }
-
-    private static int[] toIntArray(List<Card> cards) {
-        int[] arr = new int[cards.size()];
-        for (int i = 0; i < cards.size(); i++) {
-            Card c = cards.get(i);
-            // Rank: 2=0 ... A=12
-            // Suit: 0-3
-            int r = c.getRank().getValue() - 2; // Rank enum value is 2-14
-            int s = c.getSuit().ordinal();
-            arr[i] = s * 13 + r;
-        }
-        return arr;
+    /**
+     * 【对外入口】异步胜率计算：立即返回，逐批推送逐步收敛的估计，可取消
+     * 识别到新牌时取消旧任务即可；正常完成的结果写入胜率缓存，随后的 analyzeAndDecide 直接复用
+     *
+     * @param timeoutMs 截止时间，到时返回当前最好的估计
+     * @param listener  进度监听器 (在计算线程上回调)，可为 null
+     */
+    public static EquityTask calculateWinRateAsync(List<Card> myHandObj, List<Card> boardObj, int numOpponents,
+                                                   long timeoutMs, EquityTask.Listener listener) {
+        int[] myHand = CardSet.toIntArray(CardSet.of(myHandObj));
+        int[] knownBoard = CardSet.toIntArray(CardSet.of(boardObj));
+        long cacheKey = HandCanonicalizer.canonicalKey(myHand, knownBoard, numOpponents);
+        return EquityEngine.submitWinRate(myHand, knownBoard, numOpponents, null, timeoutMs,
+                (estimate, done) -> {
+                    if (done) EQUITY_CACHE.put(cacheKey, estimate);
+                    if (listener != null) listener.onEstimate(estimate, done);
+                });
     }
 
-    // ==========================================
-    // 特征检测辅助方法 (保持原有逻辑，用于生成Reason)
-    // ==========================================
-
-    private static boolean isPairOnBoard(List<Card> board) {
-        Set<Integer> ranks = new HashSet<>();
-        for (Card c : board) {
-            if (!ranks.add(c.getRank().getValue())) return true;
-        }
-        return false;
+    /**
+     * 对指定手牌范围的胜率 (例如 "TT+, AKs, KQo")，所有对手使用同一个范围
+     * 与随机手牌假设不同，这里会计入对手范围和卡牌移除效应
+     */
+    public static double calculateWinRateVsRange(List<Card> myHandObj, List<Card> boardObj,
+                                                 String opponentRange, int numOpponents) {
+        HandRange range = HandRange.parse(opponentRange);
+        HandRange[] ranges = new HandRange[numOpponents];
+        for (int i = 0; i < numOpponents; i++) ranges[i] = range;
+        return EquityEngine.calculateWinRateVsRanges(CardSet.toIntArray(CardSet.of(myHandObj)),
+                CardSet.toIntArray(CardSet.of(boardObj)), ranges,
+                SIMULATION_COUNT).winRate;
     }
 
-    private static boolean isFlushDraw(List<Card> myHand, List<Card> board) {
-        Map<Suit, Integer> suitCounts = new HashMap<>();
-        List<Card> all = new ArrayList<>(myHand);
-        all.addAll(board);
-        for (Card c : all) {
-            Integer count = suitCounts.get(c.getSuit());
-            if (count == null) count = 0;
-            suitCounts.put(c.getSuit(), count + 1);
-        }
-        for (Integer count : suitCounts.values()) {
-            if (count == 4) return true;
+    /**
+     * 【对外入口】多人全下结算：一次模拟得到每个玩家的胜率与各边池的期望收回
+     *
+     * @param hands         每个玩家的手牌
+     * @param board         公共牌
+     * @param contributions 每个玩家本手投入的总筹码 (全下额)
+     */
+    public static MultiwayResult calculateMultiwayAllIn(List<List<Card>> hands, List<Card> board,
+                                                        double[] contributions) {
+        int[][] handInts = new int[hands.size()][];
+        for (int i = 0; i < hands.size(); i++) {
+            handInts[i] = CardSet.toIntArray(CardSet.of(hands.get(i)));
         }
-        return false;
+        return MultiwayEquity.calculate(handInts, CardSet.toIntArray(CardSet.of(board)), contributions,
+                SIMULATION_COUNT);
     }
 
-    private static boolean isStraightDraw(List<Card> myHand, List<Card> board) {
-        List<Card> all = new ArrayList<>(myHand);
-        all.addAll(board);
-        Set<Integer> ranks = new HashSet<>();
-        for (Card c : all) ranks.add(c.getRank().getValue());
-        if (ranks.contains(14)) ranks.add(1);
-
-        List<Integer> sortedRanks = new ArrayList<>(ranks);
-        Collections.sort(sortedRanks);
-
-        for (int i = 0; i <= sortedRanks.size() - 4; i++) {
-            int span = sortedRanks.get(i + 3) - sortedRanks.get(i);
-            if (span <= 4) return true;
-        }
-        return false;
+    /**
+     * 胜率缓存 (可读取命中/未命中/淘汰计数)
+     */
+    public static EquityCache getEquityCache() {
+        return EQUITY_CACHE;
     }
 
-    private static boolean isSetMining(List<Card> myHand, List<Card> board) {
-        if (myHand.get(0).getRank() != myHand.get(1).getRank()) return false;
-        int rank = myHand.get(0).getRank().getValue();
-        int boardCount = 0;
-        for (Card c : board) {
-            if (c.getRank().getValue() == rank) boardCount++;
-        }
-        return boardCount == 0;
+    /**
+     * 极速评分算法 (兼容层)
+     * 基于 {@link HandEvaluator} 查表得到牌力等级，再换算为旧版 long 分数
+     * 输入：int[7] 数组，每个元素 0-51
+     * 返回：long 分数 (同 HandEvaluator 格式)，排序与牌力等级一致
+     */
+    public static long evaluate7CardsFast(int[] cards) {
+        return HandEvaluator.toLegacyScore(HandEvaluator.evaluate7(cards));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.example.yolov5tfliteandroid.utils;
+
+/**
+ * xoroshiro128++ 随机数生成器 (Blackman &amp; Vigna)
+ * <p>
+ * 128 位状态，周期 2^128 - 1，普通字段读写，没有 java.util.Random 的 CAS 更新。
+ * 种子经 SplitMix64 扩展为初始状态；{@link #jump()} 前进 2^64 步，
+ * {@link #split()} 返回当前状态的副本后自身跳跃，两条序列互不重叠。
+ */
+public final class Xoroshiro128PlusPlus implements RandomSource {
+
+    private static final long[] JUMP = {0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L};
+
+    private long s0;
+    private long s1;
+
+    public Xoroshiro128PlusPlus(long seed) {
+        setSeed(seed);
+    }
+
+    private Xoroshiro128PlusPlus(long s0, long s1) {
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        long x = seed;
+        x += 0x9E3779B97F4A7C15L;
+        s0 = RandomSources.mix(x);
+        x += 0x9E3779B97F4A7C15L;
+        s1 = RandomSources.mix(x);
+        if ((s0 | s1) == 0) s1 = 1; // 全零状态不可用
+    }
+
+    @Override
+    public long nextLong() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+
+    /**
+     * Lemire 乘法取区间：一次 64 位乘法代替取模，仅在极少数情况下拒绝重抽
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * 前进 2^64 步
+     */
+    public void jump() {
+        long j0 = 0;
+        long j1 = 0;
+        for (long jump : JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((jump & (1L << b)) != 0) {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                }
+                nextLong();
+            }
+        }
+        s0 = j0;
+        s1 = j1;
+    }
+
+    @Override
+    public RandomSource split() {
+        Xoroshiro128PlusPlus child = new Xoroshiro128PlusPlus(s0, s1);
+        jump();
+        return child;
+    }
+}
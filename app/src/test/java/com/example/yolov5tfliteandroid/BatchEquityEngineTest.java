@@ -0,0 +1,57 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.utils.BatchEquityEngine;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEquityEngineTest {
+
+    @Test
+    public void test_batchMatchesSingleSpotEstimates() {
+        // 前三个局面共享翻牌 2c 6d 2s (0, 17, 39) 与对手数，归为同一组；第四个局面单独一组 (河牌)
+        int[] hands = {12, 25, 30, 31, 1, 14, 48, 49};
+        int[] boards = {
+                0, 17, 39, -1, -1,
+                0, 17, 39, -1, -1,
+                0, 17, 39, -1, -1,
+                3, 16, 29, 42, 7,
+        };
+        int[] opponents = {2, 2, 2, 1};
+        int iterations = 40000;
+        double[] batch = BatchEquityEngine.calculate(hands, boards, opponents, iterations);
+
+        for (int i = 0; i < opponents.length; i++) {
+            int k = 0;
+            while (k < 5 && boards[5 * i + k] >= 0) k++;
+            int[] board = new int[k];
+            System.arraycopy(boards, 5 * i, board, 0, k);
+            double single = EquityEngine.calculateWinRateSerial(
+                    new int[]{hands[2 * i], hands[2 * i + 1]}, board, opponents[i], iterations, i);
+            assertEquals("spot " + i, single, batch[i], 0.015);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_rejectsHandOverlappingBoard() {
+        BatchEquityEngine.calculate(new int[]{0, 1}, new int[]{0, 2, 3, -1, -1}, new int[]{1}, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_rejectsOpponentCountOutOfRange() {
+        BatchEquityEngine.calculate(new int[]{0, 1, 0, 1}, new int[]{2, 3, 4, -1, -1, 2, 3, 4, -1, -1},
+                new int[]{1, 23}, 100);
+    }
+
+    @Test
+    public void test_opponentCountsAboveFifteenStaySeparate() {
+        // 1 和 17 个对手曾被合并到同一组
+        double[] batch = BatchEquityEngine.calculate(new int[]{51, 38, 51, 38},
+                new int[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, new int[]{1, 17}, 4000);
+        assertTrue(batch[0] > 0.8);
+        assertTrue(batch[1] < 0.5);
+    }
+}
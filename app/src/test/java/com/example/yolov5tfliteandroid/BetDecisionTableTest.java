@@ -0,0 +1,57 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.utils.BetDecisionTable;
+import com.example.yolov5tfliteandroid.utils.BetDecisionTableGenerator;
+import com.example.yolov5tfliteandroid.utils.RandomSource;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BetDecisionTableTest {
+
+    @Test
+    public void test_shippedTableAgreesWithRules() {
+        assertTrue(BetDecisionTable.isAvailable());
+        RandomSource random = RandomSources.create(7);
+        for (int i = 0; i < 200_000; i++) {
+            double raw = random.nextDouble();
+            double adj = raw * (1 + random.nextDouble() * 0.4);
+            double pot = 1 + random.nextDouble() * 999;
+            double cost = random.nextInt(3) == 0 ? 0 : random.nextDouble() * pot * 2;
+            double spr = random.nextDouble() * 12;
+            boolean wet = random.nextInt(2) == 0;
+            boolean facing = cost != 0;
+            double potOdds = facing ? cost / (pot + cost) : 0;
+            boolean positiveEv = adj * (pot + cost) - cost > 0;
+            assertEquals(String.format("raw=%.4f adj=%.4f odds=%.4f spr=%.2f", raw, adj, potOdds, spr),
+                    TexasHoldemCalUtil.classifyBet(raw, adj, facing, positiveEv, potOdds, wet, spr),
+                    BetDecisionTable.lookup(raw, adj, facing, positiveEv, potOdds, wet, spr));
+        }
+    }
+
+    @Test
+    public void test_generatorCellsAreHomogeneous() {
+        // generate() 在任何格子内规则结果不唯一时抛异常
+        byte[] table = BetDecisionTableGenerator.generate();
+        assertEquals((BetDecisionTable.CELLS + 1) / 2, table.length);
+        assertEquals(0, BetDecisionTableGenerator.validate(table, 100_000, 11));
+    }
+
+    @Test
+    public void test_knownCells() {
+        assertEquals(BetDecisionTable.BET_NUT_WET,
+                BetDecisionTable.lookup(0.9, 1.0, false, true, 0, true, 4));
+        assertEquals(BetDecisionTable.CHECK_SHALLOW_DRAW,
+                BetDecisionTable.lookup(0.35, 0.5, false, true, 0, false, 2));
+        assertEquals(BetDecisionTable.RAISE_DRAW_MIXED,
+                BetDecisionTable.lookup(0.35, 0.5, true, true, 0.2, false, 8));
+        assertEquals(BetDecisionTable.CALL_SPECULATIVE,
+                BetDecisionTable.lookup(0.2, 0.25, true, false, 0.1, false, 8));
+        assertEquals(BetDecisionTable.FOLD,
+                BetDecisionTable.lookup(0.2, 0.25, true, false, 0.3, false, 8));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.utils.CardAbstraction;
+import com.example.yolov5tfliteandroid.utils.CardAbstractionGenerator;
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+import com.example.yolov5tfliteandroid.utils.HandIndexer;
+import com.example.yolov5tfliteandroid.utils.RandomSource;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CardAbstractionTest {
+
+    @Test
+    public void test_showdownEquityExtremes() {
+        // 皇家同花顺必胜；公牌已是皇家同花顺时所有人平分
+        int[] board = {card(12, 3), card(11, 3), card(10, 3), card(0, 0), card(5, 1)};
+        HandEvaluator.Board evaluator = new HandEvaluator.Board().set(board, 5);
+        int[] royal = {card(9, 3), card(8, 3)};
+        assertEquals(1.0, CardAbstractionGenerator.showdownEquity(royal[0], royal[1],
+                CardSet.of(board) | CardSet.of(royal), evaluator), 1e-12);
+
+        int[] royalBoard = {card(12, 3), card(11, 3), card(10, 3), card(9, 3), card(8, 3)};
+        evaluator.set(royalBoard, 5);
+        int[] air = {card(0, 0), card(1, 1)};
+        assertEquals(0.5, CardAbstractionGenerator.showdownEquity(air[0], air[1],
+                CardSet.of(royalBoard) | CardSet.of(air), evaluator), 1e-12);
+    }
+
+    @Test
+    public void test_histogramCountsEveryRunout() {
+        int[] hand = {card(12, 2), card(11, 2)};
+        int[] board = {card(0, 2), card(5, 2), card(7, 1), card(9, 0), 0};
+        int[] counts = new int[CardAbstractionGenerator.HISTOGRAM_BINS];
+        HandEvaluator.Board evaluator = new HandEvaluator.Board();
+        CardAbstractionGenerator.equityHistogram(hand, board, 4, evaluator, counts);
+        assertEquals(46, sum(counts));
+        // 同花听牌：9 张河牌成坚果同花，落在最高一格
+        assertTrue(counts[counts.length - 1] >= 9);
+
+        CardAbstractionGenerator.equityHistogram(hand, board, 3, evaluator, counts);
+        assertEquals(47 * 46 / 2, sum(counts));
+    }
+
+    @Test
+    public void test_equityClustersAreOrdered() {
+        RandomSource random = RandomSources.create(3);
+        char[] equities = new char[50_000];
+        for (int i = 0; i < equities.length; i++) equities[i] = (char) random.nextInt(65536);
+        char[] assignment = new char[equities.length];
+        int k = CardAbstractionGenerator.clusterEquities(equities, 50, assignment);
+        assertEquals(50, k);
+        for (int i = 0; i < equities.length; i++) {
+            for (int j = 0; j < 20; j++) {
+                int other = random.nextInt(equities.length);
+                if (equities[other] < equities[i]) assertTrue(assignment[other] <= assignment[i]);
+            }
+        }
+        // 不同胜率值少于桶数时桶数收缩
+        char[] few = {100, 100, 30000, 60000};
+        assertEquals(3, CardAbstractionGenerator.clusterEquities(few, 10, new char[few.length]));
+    }
+
+    @Test
+    public void test_histogramClustersSeparateDistributions() {
+        // 三种分布：集中在低胜率 / 两极分化 / 集中在高胜率，两极分化组的平均胜率居中，但与另外两组的 EMD 都很远
+        int bins = CardAbstractionGenerator.HISTOGRAM_BINS;
+        int perGroup = 3000;
+        byte[] cdfs = new byte[3 * perGroup * bins];
+        RandomSource random = RandomSources.create(5);
+        for (int g = 0; g < 3; g++) {
+            for (int i = 0; i < perGroup; i++) {
+                int[] counts = new int[bins];
+                for (int s = 0; s < 40; s++) {
+                    int b;
+                    if (g == 0) b = random.nextInt(6);
+                    else if (g == 1) b = s % 2 == 0 ? random.nextInt(4) : bins - 1 - random.nextInt(4);
+                    else b = bins - 1 - random.nextInt(6);
+                    counts[b]++;
+                }
+                int offset = (g * perGroup + i) * bins;
+                int cumulative = 0;
+                for (int b = 0; b < bins; b++) {
+                    cumulative += counts[b];
+                    cdfs[offset + b] = (byte) Math.round(cumulative * 255.0 / 40);
+                }
+            }
+        }
+        char[] assignment = new char[3 * perGroup];
+        assertEquals(3, CardAbstractionGenerator.clusterHistograms(cdfs, bins, 3, random, assignment));
+        for (int g = 0; g < 3; g++) {
+            for (int i = 0; i < perGroup; i++) {
+                assertEquals(g, assignment[g * perGroup + i]);
+            }
+        }
+    }
+
+    @Test
+    public void test_bucketFileIsMappedAndLookedUp() throws IOException {
+        File dir = Files.createTempDirectory("buckets").toFile();
+        File file = new File(dir, CardAbstraction.fileName(3));
+        // 映射的缓冲区要等 GC 才解除映射，Windows 上此前无法删除；退出时按登记的逆序先删文件再删目录
+        dir.deleteOnExit();
+        file.deleteOnExit();
+        HandIndexer indexer = HandIndexer.forBoardSize(3);
+        char[] assignment = new char[(int) indexer.size()];
+        for (int i = 0; i < assignment.length; i++) assignment[i] = (char) (i % 977);
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            CardAbstractionGenerator.write(out, 3, 977, assignment);
+        } finally {
+            out.close();
+        }
+        CardAbstraction abstraction = CardAbstraction.open(dir);
+        assertTrue(abstraction.hasStreet(0));
+        assertTrue(abstraction.hasStreet(3));
+        assertFalse(abstraction.hasStreet(5));
+        assertEquals(977, abstraction.bucketCount(3));
+        assertEquals(169, abstraction.bucketCount(0));
+
+        int[] hand = {card(12, 2), card(11, 2)};
+        int[] flop = {card(0, 2), card(5, 0), card(7, 1)};
+        int bucket = abstraction.bucket(hand, flop);
+        assertEquals(assignment[(int) indexer.index(hand, flop)], bucket);
+        // 换花色 (红桃 <-> 黑桃，梅花 <-> 方块) 后是同一个桶
+        int[] hand2 = {card(12, 3), card(11, 3)};
+        int[] flop2 = {card(0, 3), card(5, 1), card(7, 0)};
+        assertEquals(bucket, abstraction.bucket(hand2, flop2));
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) total += c;
+        return total;
+    }
+}
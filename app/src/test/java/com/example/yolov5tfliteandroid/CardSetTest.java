@@ -0,0 +1,110 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.Rank;
+import com.example.yolov5tfliteandroid.enums.Suit;
+import com.example.yolov5tfliteandroid.model.Card;
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CardSetTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void test_cardsAreInternedByIndex() {
+        for (int i = 0; i < 52; i++) {
+            Card c = Card.of(i);
+            assertEquals(i, c.index());
+            assertSame(c, Card.of(c.getRank(), c.getSuit()));
+            assertEquals(1L << i, c.bit());
+        }
+        // 编码与 int 牌编码一致：suit * 13 + rank
+        assertEquals(3 * 13 + 12, Card.of(Rank.ACE, Suit.SPADES).index());
+        assertEquals(0, Card.of(Rank.TWO, Suit.CLUBS).index());
+        // 构造出的新实例与共享实例相等
+        assertEquals(Card.of(Rank.TEN, Suit.HEARTS), new Card(Rank.TEN, Suit.HEARTS));
+    }
+
+    @Test
+    public void test_compareToIsConsistentWithEquals() {
+        Card kingClubs = Card.of(Rank.KING, Suit.CLUBS);
+        Card kingSpades = Card.of(Rank.KING, Suit.SPADES);
+        assertTrue(kingClubs.compareTo(Card.of(Rank.ACE, Suit.CLUBS)) < 0);
+        // 点数相同按花色区分，只有同一张牌比较为 0
+        assertTrue(kingClubs.compareTo(kingSpades) < 0);
+        assertTrue(kingSpades.compareTo(kingClubs) > 0);
+        assertEquals(0, kingClubs.compareTo(Card.of(Rank.KING, Suit.CLUBS)));
+        for (int i = 0; i < 52; i++) {
+            for (int j = 0; j < 52; j++) {
+                assertEquals(i == j, Card.of(i).compareTo(Card.of(j)) == 0);
+            }
+        }
+    }
+
+    @Test
+    public void test_parseAndFormatStandardNotation() {
+        long set = CardSet.parse("AsKd2c");
+        assertEquals(CardSet.of(Card.of(Rank.ACE, Suit.SPADES), Card.of(Rank.KING, Suit.DIAMONDS),
+                Card.of(Rank.TWO, Suit.CLUBS)), set);
+        assertEquals("2cKdAs", CardSet.format(set));
+        assertEquals(set, CardSet.parse(CardSet.format(set)));
+        assertEquals(CardSet.EMPTY, CardSet.parse("-"));
+        assertEquals("-", CardSet.format(CardSet.EMPTY));
+        assertEquals(3 * 13 + 8, CardSet.cardIndex('t', 'S'));
+        assertEquals(-1, CardSet.cardIndex('1', 's'));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parseRejectsDuplicates() {
+        CardSet.parse("AsAs");
+    }
+
+    @Test
+    public void test_setOperations() {
+        long set = CardSet.of(Card.of(Rank.ACE, Suit.SPADES), Card.of(Rank.ACE, Suit.HEARTS),
+                Card.of(Rank.SEVEN, Suit.HEARTS), Card.of(Rank.TWO, Suit.CLUBS));
+        assertEquals(4, CardSet.size(set));
+        assertEquals(2, CardSet.suitCount(set, Suit.HEARTS.ordinal()));
+        assertEquals(2, CardSet.rankCount(set, 12));
+        assertEquals((1 << 12) | (1 << 5) | 1, CardSet.rankMask(set));
+        assertEquals((1 << 12) | (1 << 5), CardSet.suitMask(set, Suit.HEARTS.ordinal()));
+
+        long dead = CardSet.of(Card.of(Rank.TWO, Suit.CLUBS));
+        long live = CardSet.remove(set, dead);
+        assertFalse(CardSet.contains(live, Card.of(Rank.TWO, Suit.CLUBS)));
+        assertEquals(51, CardSet.size(CardSet.remove(CardSet.FULL_DECK, dead)));
+
+        assertArrayEquals(new int[]{0, 31, 38, 51}, CardSet.toIntArray(set));
+        assertEquals(set, CardSet.of(CardSet.toList(set)));
+        assertEquals(set, CardSet.of(CardSet.toIntArray(set)));
+    }
+
+    @Test
+    public void test_maskOverloadMatchesListEntry() {
+        Card[] hand = {Card.of(Rank.NINE, Suit.HEARTS), Card.of(Rank.EIGHT, Suit.HEARTS)};
+        Card[] board = {Card.of(Rank.SEVEN, Suit.HEARTS), Card.of(Rank.THREE, Suit.HEARTS),
+                Card.of(Rank.SIX, Suit.CLUBS)};
+        DecisionResult fromMask = TexasHoldemCalUtil.analyzeAndDecide(
+                CardSet.of(hand), CardSet.of(board), 1, 100, 0, 1000, 2);
+        DecisionResult fromList = TexasHoldemCalUtil.analyzeAndDecide(
+                Arrays.asList(hand), Arrays.asList(board), 1, 100, 0, 1000, 2);
+        assertNotNull(fromMask.suggestedAction);
+        // 同花 + 顺子听牌、湿润牌面
+        assertTrue(fromMask.reason().contains("FLUSH_DRAW"));
+        assertTrue(fromMask.reason().contains("STRAIGHT_DRAW"));
+        assertTrue(fromMask.reason().contains("WET_BOARD"));
+        assertEquals(fromMask.reason().substring(fromMask.reason().indexOf("3. Features")),
+                fromList.reason().substring(fromList.reason().indexOf("3. Features")));
+    }
+}
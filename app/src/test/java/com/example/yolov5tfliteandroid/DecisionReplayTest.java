@@ -0,0 +1,73 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionSpot;
+import com.example.yolov5tfliteandroid.utils.DecisionReplay;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecisionReplayTest {
+
+    @Test
+    public void test_parseSpot() {
+        DecisionSpot spot = DecisionReplay.parseSpot("AsKd 2c7d9h 2 100 20 500 10", 7);
+        assertEquals(7, spot.id);
+        assertEquals(CardSet.parse("AsKd"), spot.hand);
+        assertEquals(CardSet.parse("2c7d9h"), spot.board);
+        assertEquals(2, spot.numOpponents);
+        assertEquals(100, spot.potSize, 0);
+        assertEquals(20, spot.costToCall, 0);
+        assertEquals(500, spot.myStack, 0);
+        assertEquals(10, spot.minRaise, 0);
+        assertEquals(CardSet.EMPTY, DecisionReplay.parseSpot("QhQs - 1 3 2 100 2", 1).board);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parseSpotRejectsPartialBoard() {
+        DecisionReplay.parseSpot("AsKd 2c7d 2 100 20 500 10", 1);
+    }
+
+    @Test
+    public void test_replayKeepsInputOrder() throws IOException {
+        StringBuilder input = new StringBuilder("# hand board opponents pot call stack minRaise\n\n");
+        String[] spots = {
+                "AsAh - 1 3 2 100 2",
+                "7c2d - 5 3 2 100 2",
+                "AsKd 2c7d9h 2 100 20 500 10",
+                "QhQs 2c7d9hTs 1 200 0 800 10",
+                "3h7d Tc3c3s 8 1000 50 10000 10",
+        };
+        int n = 40;
+        for (int i = 0; i < n; i++) input.append(spots[i % spots.length]).append('\n');
+        StringWriter out = new StringWriter();
+        DecisionReplay.Summary summary = DecisionReplay.run(
+                DecisionReplay.textSource(new BufferedReader(new StringReader(input.toString()))), out, 3);
+
+        assertEquals(n, summary.count());
+        String[] lines = out.toString().split("\n");
+        assertEquals(n, lines.length);
+        long actions = 0;
+        for (Action a : Action.values()) actions += summary.actionCount(a);
+        assertEquals(n, actions);
+        for (int i = 0; i < n; i++) {
+            String[] f = lines[i].split("\t");
+            assertEquals(6, f.length);
+            assertEquals(String.valueOf(i + 3), f[0]); // 行号：跳过注释和空行
+            Action.valueOf(f[1]);
+        }
+        // 翻前 AA 单挑必然不弃牌
+        assertTrue(!lines[0].split("\t")[1].equals("FOLD"));
+        assertTrue(summary.latencyPercentile(0.5) <= summary.latencyPercentile(0.99));
+        assertTrue(summary.latencyPercentile(0.99) <= summary.latencyPercentile(1.0));
+        assertTrue(summary.decisionsPerSecond() > 0);
+    }
+}
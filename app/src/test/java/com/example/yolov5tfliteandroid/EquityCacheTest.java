@@ -0,0 +1,56 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.EquityCache;
+import com.example.yolov5tfliteandroid.utils.HandCanonicalizer;
+
+import org.junit.Test;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class EquityCacheTest {
+
+    @Test
+    public void test_suitIsomorphicSpotsShareKey() {
+        // AhKh on 2h7c9d vs AsKs on 2s7c9d
+        long a = HandCanonicalizer.canonicalKey(
+                new int[]{card(12, 2), card(11, 2)}, new int[]{card(0, 2), card(5, 0), card(7, 1)}, 2);
+        long b = HandCanonicalizer.canonicalKey(
+                new int[]{card(12, 3), card(11, 3)}, new int[]{card(0, 3), card(5, 0), card(7, 1)}, 2);
+        // 手牌与公牌的顺序无关
+        long c = HandCanonicalizer.canonicalKey(
+                new int[]{card(11, 1), card(12, 1)}, new int[]{card(7, 0), card(0, 1), card(5, 3)}, 2);
+        assertEquals(a, b);
+        assertEquals(a, c);
+
+        // 同花 vs 非同花、不同对手数都不是同构局面
+        long offsuit = HandCanonicalizer.canonicalKey(
+                new int[]{card(12, 2), card(11, 3)}, new int[]{card(0, 2), card(5, 0), card(7, 1)}, 2);
+        long moreOpponents = HandCanonicalizer.canonicalKey(
+                new int[]{card(12, 2), card(11, 2)}, new int[]{card(0, 2), card(5, 0), card(7, 1)}, 3);
+        assertNotEquals(a, offsuit);
+        assertNotEquals(a, moreOpponents);
+    }
+
+    @Test
+    public void test_lruEvictionAndCounters() {
+        EquityCache cache = new EquityCache(2);
+        EquityEstimate e = new EquityEstimate();
+        e.winRate = 0.5;
+        cache.put(1L, e);
+        cache.put(2L, e);
+        assertNotNull(cache.get(1L)); // 1 变为最近使用
+        cache.put(3L, e);             // 淘汰 2
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+    }
+}
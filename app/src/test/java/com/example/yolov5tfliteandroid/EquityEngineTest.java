@@ -0,0 +1,185 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.SamplingMode;
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EquityEngineTest {
+
+    // AsAh (12, 25) 对 1 个随机对手，理论胜率约 85.2%
+    private static final int[] ACES = {12, 25};
+    private static final int[] NO_BOARD = {};
+
+    private int oldMinSamples;
+    private int oldMaxSamples;
+    private long oldTimeBudgetMs;
+
+    @Before
+    public void saveLimits() {
+        oldMinSamples = EquityEngine.getAdaptiveMinSamples();
+        oldMaxSamples = EquityEngine.getAdaptiveMaxSamples();
+        oldTimeBudgetMs = EquityEngine.getAdaptiveTimeBudgetMs();
+    }
+
+    @After
+    public void restoreLimits() {
+        EquityEngine.setAdaptiveLimits(oldMinSamples, oldMaxSamples, oldTimeBudgetMs);
+    }
+
+    @Test
+    public void test_serialAndParallelAgree() {
+        int iterations = 40000;
+        double serial = EquityEngine.calculateWinRateSerial(ACES, NO_BOARD, 1, iterations, 1L);
+
+        int old = EquityEngine.getParallelism();
+        EquityEngine.setParallelism(4);
+        try {
+            double parallel = EquityEngine.calculateWinRateParallel(ACES, NO_BOARD, 1, iterations, 2L);
+            // 两个独立估计之差的标准差约 sqrt(2 * p(1-p) / N) ≈ 0.0025
+            assertEquals(serial, parallel, 0.01);
+            assertEquals(0.852, parallel, 0.01);
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+
+    @Test
+    public void test_parallelIsReproducibleForSameSeed() {
+        int old = EquityEngine.getParallelism();
+        EquityEngine.setParallelism(3);
+        try {
+            int[] board = {0, 14, 30};
+            double a = EquityEngine.calculateWinRateParallel(ACES, board, 3, 10000, 7L);
+            double b = EquityEngine.calculateWinRateParallel(ACES, board, 3, 10000, 7L);
+            assertEquals(a, b, 0.0);
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+
+    @Test
+    public void test_exactPreflopAcesVsKings() {
+        // AsAh vs KsKh 的精确胜率 (平局计一半) 约 82.6%
+        int[] kings = {11, 24};
+        double equity = EquityEngine.calculateExactWinRate(ACES, kings, NO_BOARD);
+        assertEquals(0.826, equity, 0.005);
+    }
+
+    @Test
+    public void test_exactMatchesBruteForceOnRiver() {
+        int[] board = {0, 14, 30, 45, 8};
+        int[] deck = new int[45];
+        int n = 0;
+        for (int c = 0; c < 52; c++) {
+            if (c != ACES[0] && c != ACES[1] && c != 0 && c != 14 && c != 30 && c != 45 && c != 8) deck[n++] = c;
+        }
+        int myRank = HandEvaluator.evaluate7(ACES[0], ACES[1], board[0], board[1], board[2], board[3], board[4]);
+        double score = 0;
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int opRank = HandEvaluator.evaluate7(deck[i], deck[j], board[0], board[1], board[2], board[3], board[4]);
+                if (myRank > opRank) score += 1;
+                else if (myRank == opRank) score += 0.5;
+                total++;
+            }
+        }
+        assertEquals(score / total, EquityEngine.calculateExactWinRate(ACES, board, 1), 1e-12);
+    }
+
+    @Test
+    public void test_exactParallelMatchesSerialAndMonteCarlo() {
+        int[] board = {3, 17, 40};
+        int old = EquityEngine.getParallelism();
+        try {
+            EquityEngine.setParallelism(1);
+            double serial = EquityEngine.calculateExactWinRate(ACES, board, 1);
+            EquityEngine.setParallelism(4);
+            double parallel = EquityEngine.calculateExactWinRate(ACES, board, 1);
+            assertEquals(serial, parallel, 1e-12);
+            double monteCarlo = EquityEngine.calculateWinRateSerial(ACES, board, 1, 40000, 3L);
+            assertEquals(serial, monteCarlo, 0.01);
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+        assertTrue(EquityEngine.shouldEnumerate(ACES, board, 1));
+        assertFalse(EquityEngine.shouldEnumerate(ACES, NO_BOARD, 3));
+    }
+
+    @Test
+    public void test_adaptiveStopsEarlyOnClearSpots() {
+        int old = EquityEngine.getParallelism();
+        EquityEngine.setParallelism(1);
+        EquityEngine.setAdaptiveLimits(1000, 20000, 60_000);
+        try {
+            // 85% 胜率 vs 30% 阈值：第一次检查即可停止
+            EquityEstimate clear = EquityEngine.calculateWinRateAdaptive(ACES, NO_BOARD, 1, new double[]{0.3});
+            assertEquals(1000, clear.samples);
+            assertEquals(0.852, clear.winRate, 0.05);
+            assertTrue(clear.stdError > 0);
+
+            // 真实胜率附近密集的阈值：置信区间始终跨越某个阈值，跑满上限
+            double[] dense = new double[41];
+            for (int i = 0; i < dense.length; i++) dense[i] = 0.75 + i * 0.005;
+            EquityEstimate marginal = EquityEngine.calculateWinRateAdaptive(ACES, NO_BOARD, 1, dense);
+            assertTrue(marginal.samples > 1000);
+            assertTrue(marginal.marginOfError() < clear.marginOfError());
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+
+    @Test
+    public void test_adaptiveChecksAtMinSamplesWhenParallel() {
+        // 并行时每批按线程数放大，但第一批不越过样本下限，明显的局面仍在下限处停止
+        int old = EquityEngine.getParallelism();
+        EquityEngine.setParallelism(8);
+        EquityEngine.setAdaptiveLimits(1000, 20000, 60_000);
+        try {
+            EquityEstimate clear = EquityEngine.calculateWinRateAdaptive(ACES, NO_BOARD, 1, new double[]{0.3});
+            assertEquals(1000, clear.samples);
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+
+    @Test
+    public void test_stratifiedSamplingNeedsFewerRuns() {
+        // 9c8d on 7h 6s 2c Kd：转牌圈两端顺子听牌 (T 或 5 成顺)，胜率主要取决于河牌
+        int[] hand = {7, 19};
+        int[] board = {31, 43, 0, 24};
+        double exact = EquityEngine.calculateExactWinRate(hand, board, 1);
+        SamplingMode old = EquityEngine.getSamplingMode();
+        int oldParallelism = EquityEngine.getParallelism();
+        // 单线程时每批 500 次，样本数差异不会被并行批次大小抹平
+        EquityEngine.setParallelism(1);
+        EquityEngine.setAdaptiveLimits(500, 50000, 60_000);
+        try {
+            EquityEngine.setSamplingMode(SamplingMode.STRATIFIED);
+            EquityEstimate stratified = EquityEngine.estimateWinRate(hand, board, 1, 20000);
+            assertEquals(exact, stratified.winRate, 4 * stratified.stdError);
+            assertTrue(stratified.effectiveSampleSize() > 1.5 * stratified.samples);
+            EquityEstimate fast = EquityEngine.calculateWinRateToPrecision(hand, board, 1, 0.014);
+
+            EquityEngine.setSamplingMode(SamplingMode.PLAIN);
+            EquityEstimate plain = EquityEngine.calculateWinRateToPrecision(hand, board, 1, 0.014);
+            assertEquals(plain.samples, plain.effectiveSampleSize(), 0);
+
+            assertTrue(fast.marginOfError() <= 0.014);
+            assertTrue(plain.marginOfError() <= 0.014);
+            assertTrue(fast.samples + " vs " + plain.samples, fast.samples < plain.samples);
+        } finally {
+            EquityEngine.setSamplingMode(old);
+            EquityEngine.setParallelism(oldParallelism);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.EquityTask;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EquityTaskTest {
+
+    private static final int[] ACES = {12, 25};
+    private static final int[] FLOP = {0, 14, 30};
+
+    private int oldMinSamples;
+    private int oldMaxSamples;
+    private long oldTimeBudgetMs;
+
+    @Before
+    public void saveLimits() {
+        oldMinSamples = EquityEngine.getAdaptiveMinSamples();
+        oldMaxSamples = EquityEngine.getAdaptiveMaxSamples();
+        oldTimeBudgetMs = EquityEngine.getAdaptiveTimeBudgetMs();
+    }
+
+    @After
+    public void restoreLimits() {
+        EquityEngine.setAdaptiveLimits(oldMinSamples, oldMaxSamples, oldTimeBudgetMs);
+    }
+
+    @Test
+    public void test_streamsRefinedEstimates() throws Exception {
+        EquityEngine.setAdaptiveLimits(1000, 20000, 200);
+        List<Long> samples = new ArrayList<>();
+        List<Boolean> dones = new ArrayList<>();
+        EquityTask task = EquityEngine.submitWinRate(ACES, FLOP, 2, null, 60_000, (estimate, done) -> {
+            samples.add(estimate.samples);
+            dones.add(done);
+        });
+        EquityEstimate result = task.get(60, TimeUnit.SECONDS);
+
+        assertTrue(task.isDone());
+        assertFalse(task.isCancelled());
+        assertEquals(20000, result.samples);
+        assertSame(result, task.latest());
+        assertTrue(samples.size() > 2);
+        for (int i = 1; i < samples.size(); i++) assertTrue(samples.get(i) > samples.get(i - 1));
+        assertEquals(result.samples, (long) samples.get(samples.size() - 1));
+        assertTrue(dones.get(dones.size() - 1));
+        assertFalse(dones.get(0));
+    }
+
+    @Test
+    public void test_cancelStopsPromptly() throws Exception {
+        EquityEngine.setAdaptiveLimits(1000, Integer.MAX_VALUE, 60_000);
+        CountDownLatch firstEstimate = new CountDownLatch(1);
+        EquityTask task = EquityEngine.submitWinRate(ACES, FLOP, 3, null, 60_000,
+                (estimate, done) -> firstEstimate.countDown());
+        assertTrue(firstEstimate.await(10, TimeUnit.SECONDS));
+        assertTrue(task.cancel(true));
+        assertTrue(task.isCancelled());
+        try {
+            task.get(5, TimeUnit.SECONDS);
+            fail("cancelled task must not return a result");
+        } catch (CancellationException expected) {
+            // 取消后仍可读取已有的最好估计
+            assertNotNull(task.latest());
+            assertTrue(task.latest().samples < 10_000_000);
+        }
+    }
+
+    @Test
+    public void test_cancelIsAtomicAndReleasesWaiters() throws Exception {
+        EquityEngine.setAdaptiveLimits(1000, Integer.MAX_VALUE, 60_000);
+        EquityTask task = EquityEngine.submitWinRate(ACES, FLOP, 3, null, 60_000, null);
+        assertTrue(task.cancel(false));
+        assertFalse(task.cancel(false));
+        assertTrue(task.isDone());
+        // 取消后 get() 立即返回而不是等到计算线程结束
+        long start = System.nanoTime();
+        try {
+            task.get();
+            fail("cancelled task must not return a result");
+        } catch (CancellationException expected) {
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 1000);
+        }
+
+        // 已完成的任务不能再被取消
+        EquityEngine.setAdaptiveLimits(1000, 1000, 60_000);
+        EquityTask finished = EquityEngine.submitWinRate(ACES, FLOP, 2, null, 60_000, null);
+        finished.get(10, TimeUnit.SECONDS);
+        assertFalse(finished.cancel(true));
+        assertFalse(finished.isCancelled());
+        assertNotNull(finished.get());
+    }
+
+    @Test
+    public void test_deadlineReturnsBestSoFar() throws Exception {
+        EquityEngine.setAdaptiveLimits(1000, Integer.MAX_VALUE, 60_000);
+        long start = System.nanoTime();
+        EquityTask task = EquityEngine.submitWinRate(ACES, FLOP, 3, null, 100, null);
+        EquityEstimate result = task.get(10, TimeUnit.SECONDS);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2000);
+        assertTrue(result.samples > 0 && result.samples < Integer.MAX_VALUE);
+        assertTrue(result.stdError > 0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.HandCategory;
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandEvaluatorTest {
+
+    @Test
+    public void test_fiveCardCategoryFrequencies() {
+        // 全部 2598960 手 5 张牌的标准牌型分布
+        int[] expected = {0, 1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 40};
+        int[] counts = new int[10];
+        boolean[] seen = new boolean[HandEvaluator.RANK_CLASS_COUNT + 1];
+        int[] hand = new int[5];
+        for (hand[0] = 0; hand[0] < 52; hand[0]++)
+            for (hand[1] = hand[0] + 1; hand[1] < 52; hand[1]++)
+                for (hand[2] = hand[1] + 1; hand[2] < 52; hand[2]++)
+                    for (hand[3] = hand[2] + 1; hand[3] < 52; hand[3]++)
+                        for (hand[4] = hand[3] + 1; hand[4] < 52; hand[4]++) {
+                            int rank = HandEvaluator.evaluate(hand, 5);
+                            seen[rank] = true;
+                            counts[HandEvaluator.category(rank).getScore()]++;
+                        }
+        for (int i = 1; i <= 9; i++) {
+            assertEquals("category " + i, expected[i], counts[i]);
+        }
+        for (int i = 1; i <= HandEvaluator.RANK_CLASS_COUNT; i++) {
+            assertTrue("class " + i + " unreachable", seen[i]);
+        }
+    }
+
+    @Test
+    public void test_sevenCardsMatchBestFiveOfSeven() {
+        Random random = new Random(42);
+        int[] seven = new int[7];
+        int[] five = new int[5];
+        for (int iter = 0; iter < 20000; iter++) {
+            dealDistinct(random, seven);
+            int best = 0;
+            // 枚举 21 种去掉 2 张的组合
+            for (int a = 0; a < 7; a++) {
+                for (int b = a + 1; b < 7; b++) {
+                    int k = 0;
+                    for (int i = 0; i < 7; i++) {
+                        if (i != a && i != b) five[k++] = seven[i];
+                    }
+                    best = Math.max(best, HandEvaluator.evaluate(five, 5));
+                }
+            }
+            assertEquals(best, HandEvaluator.evaluate7(seven));
+            assertEquals(best, HandEvaluator.evaluate(seven, 7));
+        }
+    }
+
+    @Test
+    public void test_legacyScoreOrderingPreserved() {
+        for (int i = 1; i < HandEvaluator.RANK_CLASS_COUNT; i++) {
+            assertTrue(HandEvaluator.toLegacyScore(i) < HandEvaluator.toLegacyScore(i + 1));
+        }
+        assertEquals(HandCategory.HIGH_CARD, HandEvaluator.category(1));
+        assertEquals(HandCategory.STRAIGHT_FLUSH, HandEvaluator.category(HandEvaluator.RANK_CLASS_COUNT));
+    }
+
+    @Test
+    public void test_twoTripsIsFullHouse() {
+        // AAA KKK 2：旧版评估器会误判为三条
+        int[] cards = {12, 25, 38, 11, 24, 37, 0};
+        assertEquals(HandCategory.FULL_HOUSE, HandEvaluator.category(HandEvaluator.evaluate7(cards)));
+    }
+
+    private static void dealDistinct(Random random, int[] out) {
+        long used = 0;
+        for (int i = 0; i < out.length; i++) {
+            int c;
+            do {
+                c = random.nextInt(52);
+            } while ((used & (1L << c)) != 0);
+            used |= 1L << c;
+            out[i] = c;
+        }
+    }
+
+    @Test
+    public void test_boardIncrementalMatchesFullEvaluation() {
+        Random random = new Random(11);
+        HandEvaluator.Board board = new HandEvaluator.Board();
+        int[] cards = new int[7];
+        for (int n = 0; n < 200_000; n++) {
+            long used = 0;
+            for (int k = 0; k < 7; k++) {
+                int c;
+                do {
+                    c = random.nextInt(52);
+                } while ((used & (1L << c)) != 0);
+                used |= 1L << c;
+                cards[k] = c;
+            }
+            // cards[0..1] 为手牌，其后为公牌
+            int boardLen = 3 + n % 3;
+            int[] boardCards = new int[boardLen];
+            System.arraycopy(cards, 2, boardCards, 0, boardLen);
+            int expected = HandEvaluator.evaluate(cards, 2 + boardLen);
+            assertEquals(expected, board.set(boardCards, boardLen).evaluate(cards[0], cards[1]));
+            if (boardLen == 5) {
+                assertEquals(expected, board.set(cards[2], cards[3], cards[4], cards[5], cards[6])
+                        .evaluate(cards[0], cards[1]));
+            }
+        }
+    }
+}
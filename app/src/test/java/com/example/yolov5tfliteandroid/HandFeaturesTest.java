@@ -0,0 +1,157 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.utils.HandFeatures;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HandFeaturesTest {
+
+    // 参数依次为 rank, suit 对 (见 TestCards)
+    private static long cards(int... rankSuit) {
+        long mask = 0;
+        for (int i = 0; i < rankSuit.length; i += 2) mask |= 1L << card(rankSuit[i], rankSuit[i + 1]);
+        return mask;
+    }
+
+    @Test
+    public void test_flopTableCounts() {
+        int flops = 0, monotone = 0, paired = 0;
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                for (int c = b + 1; c < 52; c++) {
+                    int t = HandFeatures.texture((1L << a) | (1L << b) | (1L << c));
+                    flops++;
+                    if (HandFeatures.has(t, HandFeatures.FLUSH_POSSIBLE)) monotone++;
+                    if (HandFeatures.has(t, HandFeatures.BOARD_PAIRED)) paired++;
+                }
+            }
+        }
+        assertEquals(HandFeatures.FLOP_COUNT, flops);
+        // 单色面 4 * C(13,3)；对子面 13 * C(4,2) * 48 + 三条面 13 * 4
+        assertEquals(4 * 286, monotone);
+        assertEquals(13 * 6 * 48 + 13 * 4, paired);
+    }
+
+    @Test
+    public void test_outs() {
+        // AhKh on 2h 7h Qc：同花听牌 9 张，两张高张
+        int f = HandFeatures.extract(cards(12, 2, 11, 2), cards(0, 2, 5, 2, 10, 0));
+        assertEquals(9, HandFeatures.flushOuts(f));
+        assertEquals(0, HandFeatures.straightOuts(f));
+        assertEquals(2, HandFeatures.overcards(f));
+
+        // 9c8d on 7h 6s 2c：两端顺子 8 张
+        f = HandFeatures.extract(cards(7, 0, 6, 1), cards(5, 2, 4, 3, 0, 0));
+        assertTrue(HandFeatures.has(f, HandFeatures.OPEN_ENDED));
+        assertEquals(8, HandFeatures.straightOuts(f));
+        assertEquals(2, HandFeatures.overcards(f));
+
+        // 9c8d on 6h 5s Kc：卡顺 4 张
+        f = HandFeatures.extract(cards(7, 0, 6, 1), cards(4, 2, 3, 3, 11, 0));
+        assertTrue(HandFeatures.has(f, HandFeatures.GUTSHOT));
+        assertEquals(4, HandFeatures.straightOuts(f));
+        assertEquals(0, HandFeatures.overcards(f));
+
+        // 9h8h on 7h 6h 2c：同花 9 张 + 顺子 8 张，Th/5h 不重复计数
+        f = HandFeatures.extract(cards(7, 2, 6, 2), cards(5, 2, 4, 2, 0, 0));
+        assertEquals(9, HandFeatures.flushOuts(f));
+        assertEquals(6, HandFeatures.straightOuts(f));
+        assertEquals(15, HandFeatures.outs(f));
+
+        // 公牌自身的四张同花不算我的出牌，但仍标记为 FLUSH_DRAW
+        f = HandFeatures.extract(cards(12, 0, 11, 1), cards(0, 2, 5, 2, 10, 2, 3, 2));
+        assertTrue(HandFeatures.has(f, HandFeatures.FLUSH_DRAW));
+        assertEquals(0, HandFeatures.flushOuts(f));
+
+        // 河牌没有出牌
+        f = HandFeatures.extract(cards(12, 2, 11, 2), cards(0, 2, 5, 2, 10, 0, 3, 1, 8, 3));
+        assertEquals(0, HandFeatures.outs(f));
+    }
+
+    @Test
+    public void test_matchesOriginalRules() {
+        Random random = new Random(11);
+        int[] boardSizes = {0, 3, 4, 5};
+        for (int trial = 0; trial < 20000; trial++) {
+            List<Integer> deck = new ArrayList<>();
+            for (int i = 0; i < 52; i++) deck.add(i);
+            Collections.shuffle(deck, random);
+            int boardSize = boardSizes[trial % 4];
+            int[] hand = {deck.get(0), deck.get(1)};
+            int[] board = new int[boardSize];
+            for (int i = 0; i < boardSize; i++) board[i] = deck.get(2 + i);
+
+            int f = HandFeatures.extract(CardSet.of(hand), CardSet.of(board));
+            String spot = CardSet.toString(CardSet.of(hand)) + " " + CardSet.toString(CardSet.of(board));
+            assertEquals(spot, legacyFlushDraw(hand, board), HandFeatures.has(f, HandFeatures.FLUSH_DRAW));
+            assertEquals(spot, legacyStraightDraw(hand, board), HandFeatures.has(f, HandFeatures.STRAIGHT_DRAW));
+            assertEquals(spot, legacySetMining(hand, board), HandFeatures.has(f, HandFeatures.SET_MINING));
+            assertEquals(spot, legacyPairOnBoard(board), HandFeatures.has(f, HandFeatures.BOARD_PAIRED));
+            assertEquals(spot, legacyWetBoard(board), HandFeatures.has(f, HandFeatures.WET_BOARD));
+        }
+        assertFalse(HandFeatures.has(HandFeatures.texture(0), HandFeatures.WET_BOARD));
+    }
+
+    // ---------- 原先基于集合的实现 (对照) ----------
+
+    private static boolean legacyFlushDraw(int[] hand, int[] board) {
+        int[] suits = new int[4];
+        for (int c : hand) suits[c / 13]++;
+        for (int c : board) suits[c / 13]++;
+        for (int s : suits) if (s == 4) return true;
+        return false;
+    }
+
+    private static boolean legacyStraightDraw(int[] hand, int[] board) {
+        Set<Integer> ranks = new HashSet<>();
+        for (int c : hand) ranks.add(c % 13 + 2);
+        for (int c : board) ranks.add(c % 13 + 2);
+        if (ranks.contains(14)) ranks.add(1);
+        List<Integer> sorted = new ArrayList<>(ranks);
+        Collections.sort(sorted);
+        for (int i = 0; i <= sorted.size() - 4; i++) {
+            if (sorted.get(i + 3) - sorted.get(i) <= 4) return true;
+        }
+        return false;
+    }
+
+    private static boolean legacySetMining(int[] hand, int[] board) {
+        if (hand[0] % 13 != hand[1] % 13) return false;
+        for (int c : board) if (c % 13 == hand[0] % 13) return false;
+        return true;
+    }
+
+    private static boolean legacyPairOnBoard(int[] board) {
+        Set<Integer> ranks = new HashSet<>();
+        for (int c : board) if (!ranks.add(c % 13)) return true;
+        return false;
+    }
+
+    private static boolean legacyWetBoard(int[] board) {
+        if (board.length < 3) return false;
+        int[] suits = new int[4];
+        for (int c : board) suits[c / 13]++;
+        for (int s : suits) if (s >= 3) return true;
+        Set<Integer> ranks = new HashSet<>();
+        for (int c : board) ranks.add(c % 13);
+        List<Integer> unique = new ArrayList<>(ranks);
+        Collections.sort(unique);
+        for (int i = 0; i <= unique.size() - 3; i++) {
+            if (unique.get(i + 2) - unique.get(i) <= 4) return true;
+        }
+        return false;
+    }
+}
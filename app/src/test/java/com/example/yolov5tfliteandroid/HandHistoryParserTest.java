@@ -0,0 +1,101 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionSpot;
+import com.example.yolov5tfliteandroid.utils.DecisionReplay;
+import com.example.yolov5tfliteandroid.utils.HandHistoryParser;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HandHistoryParserTest {
+
+    // 两手牌：现金局 ($，有人坐出、翻牌加注、被全下后弃牌)，锦标赛 (千分位筹码、前注、主角全下)
+    private static final String SAMPLE = "pokerstars_sample.txt";
+
+    @Test
+    public void test_recordsEveryHeroDecision() throws IOException {
+        assertSample(HandHistoryParser.open(sampleFile()));
+    }
+
+    @Test
+    public void test_smallWindowRemapsAcrossLines() throws IOException {
+        // 128 字节窗口：几乎每行都跨越窗口边界，结果必须与整文件映射相同
+        assertSample(HandHistoryParser.open(sampleFile(), 128));
+    }
+
+    @Test
+    public void test_feedsDecisionReplay() throws IOException {
+        HandHistoryParser parser = HandHistoryParser.open(sampleFile());
+        try {
+            DecisionReplay.Summary summary = DecisionReplay.run(parser.asSource(), null, 2);
+            assertEquals(7, summary.count());
+            assertEquals(7, summary.recordedCount());
+            assertTrue(summary.agreementRate() >= 0 && summary.agreementRate() <= 1);
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static void assertSample(HandHistoryParser parser) throws IOException {
+        try {
+            DecisionSpot spot = new DecisionSpot();
+            // 第一手：翻前 3-bet 到 $0.30 (Dave 坐出不算对手)
+            assertSpot(parser, spot, 1, "AsKd", "-", 3, 0.15, 0.10, 12.34, 0.10, Action.RAISE, 0.30);
+            // 翻牌 Bob 过牌后下注
+            assertSpot(parser, spot, 2, "AsKd", "2c7d9h", 1, 0.70, 0, 12.04, 0.10, Action.RAISE, 0.50);
+            // 被加注到 $1.50 后跟注，最小加注额变为 $1
+            assertSpot(parser, spot, 3, "AsKd", "2c7d9h", 1, 2.70, 1.00, 11.54, 1.00, Action.CALL, 1.00);
+            // 转牌面对全下弃牌
+            assertSpot(parser, spot, 4, "AsKd", "2c7d9hTs", 1, 12.40, 8.70, 10.54, 8.70, Action.FOLD, 0);
+            // 第二手：前注进底池，大盲位过牌
+            assertSpot(parser, spot, 5, "8h8c", "-", 1, 50, 0, 1475, 20, Action.CHECK_FOLD, 0);
+            assertSpot(parser, spot, 6, "8h8c", "QsJh3d", 1, 50, 0, 1475, 20, Action.CHECK_FOLD, 0);
+            assertSpot(parser, spot, 7, "8h8c", "QsJh3d2s", 1, 50, 0, 1475, 20, Action.ALL_IN, 1475);
+            assertFalse(parser.next(spot));
+            assertEquals(2, parser.hands());
+            assertEquals(7, parser.decisions());
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static void assertSpot(HandHistoryParser parser, DecisionSpot spot, long id, String hand, String board,
+                                   int opponents, double pot, double call, double stack, double minRaise,
+                                   Action action, double amount) throws IOException {
+        assertTrue(parser.next(spot));
+        assertEquals(id, spot.id);
+        assertEquals(CardSet.parse(hand), spot.hand);
+        assertEquals(CardSet.parse(board), spot.board);
+        assertEquals(opponents, spot.numOpponents);
+        assertEquals(pot, spot.potSize, 1e-9);
+        assertEquals(call, spot.costToCall, 1e-9);
+        assertEquals(stack, spot.myStack, 1e-9);
+        assertEquals(minRaise, spot.minRaise, 1e-9);
+        assertEquals(action, spot.action);
+        assertEquals(amount, spot.amount, 1e-9);
+    }
+
+    private static File sampleFile() throws IOException {
+        File file = File.createTempFile("history", ".txt");
+        // 映射的缓冲区要等 GC 才解除映射，Windows 上此前无法删除，退出时再删
+        file.deleteOnExit();
+        InputStream in = HandHistoryParserTest.class.getResourceAsStream(SAMPLE);
+        try {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            in.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.utils.HandIndexer;
+import com.example.yolov5tfliteandroid.utils.PreflopEquityTable;
+import com.example.yolov5tfliteandroid.utils.RandomSource;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandIndexerTest {
+
+    private static final int[][] SUIT_PERMUTATIONS = {
+            {1, 0, 2, 3}, {2, 3, 0, 1}, {3, 2, 1, 0}, {1, 2, 3, 0}, {0, 3, 1, 2}
+    };
+
+    @Test
+    public void test_sizesMatchKnownIsomorphismCounts() {
+        assertEquals(169, HandIndexer.forBoardSize(0).size());
+        assertEquals(1_286_792, HandIndexer.forBoardSize(3).size());
+        assertEquals(13_960_050, HandIndexer.forBoardSize(4).size());
+        assertEquals(123_156_254, HandIndexer.forBoardSize(5).size());
+    }
+
+    @Test
+    public void test_flopIndexIsBijective() {
+        HandIndexer indexer = HandIndexer.forBoardSize(3);
+        long[] spot = new long[2];
+        for (long i = 0; i < indexer.size(); i++) {
+            indexer.unindex(i, spot);
+            assertEquals(indexer.index(spot[0], spot[1]), i);
+        }
+    }
+
+    @Test
+    public void test_preflopIndexMatchesHandClasses() {
+        HandIndexer indexer = HandIndexer.forBoardSize(0);
+        long[] byClass = new long[PreflopEquityTable.HAND_CLASSES];
+        java.util.Arrays.fill(byClass, -1);
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                int cls = PreflopEquityTable.classIndex(a, b);
+                long index = indexer.index(new int[]{a, b}, new int[0]);
+                if (byClass[cls] < 0) byClass[cls] = index;
+                assertEquals(byClass[cls], index);
+            }
+        }
+    }
+
+    @Test
+    public void test_suitPermutationsShareIndex() {
+        RandomSource random = RandomSources.create(17);
+        long[] spot = new long[2];
+        for (int boardSize : new int[]{3, 4, 5}) {
+            HandIndexer indexer = HandIndexer.forBoardSize(boardSize);
+            for (int n = 0; n < 20_000; n++) {
+                long hand = deal(random, 0, 2);
+                long board = deal(random, hand, boardSize);
+                long index = indexer.index(hand, board);
+                assertTrue(index >= 0 && index < indexer.size());
+                for (int[] perm : SUIT_PERMUTATIONS) {
+                    assertEquals(index, indexer.index(permute(hand, perm), permute(board, perm)));
+                }
+                indexer.unindex(index, spot);
+                assertEquals(index, indexer.index(spot[0], spot[1]));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_rejectsWrongBoardSize() {
+        HandIndexer.forBoardSize(4).index(new int[]{0, 1}, new int[]{2, 3, 4});
+    }
+
+    private static long deal(RandomSource random, long dead, int count) {
+        long cards = 0;
+        while (Long.bitCount(cards) < count) {
+            long c = 1L << random.nextInt(52);
+            if ((c & dead) == 0) cards |= c;
+        }
+        return cards;
+    }
+
+    private static long permute(long set, int[] perm) {
+        long out = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            out |= (long) CardSet.suitMask(set, suit) << (13 * perm[suit]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+import com.example.yolov5tfliteandroid.utils.HandRange;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HandRangeTest {
+
+    @Test
+    public void test_parseStandardNotation() {
+        assertEquals(30, HandRange.parse("TT+").comboCount());
+        assertEquals(4, HandRange.parse("AKs").comboCount());
+        assertEquals(12, HandRange.parse("KQo").comboCount());
+        assertEquals(16, HandRange.parse("AK").comboCount());
+        assertEquals(16, HandRange.parse("A2s-A5s").comboCount());
+        assertEquals(24, HandRange.parse("22-55").comboCount());
+        assertEquals(12 * 4, HandRange.parse("A2s+").comboCount());
+        assertEquals(46, HandRange.parse("TT+, AKs, KQo").comboCount());
+        assertEquals(1, HandRange.parse("AhKh").comboCount());
+
+        HandRange weighted = HandRange.parse("AA, 76s:0.5");
+        assertEquals(1f, weighted.weight(12, 25), 0f);
+        assertEquals(0.5f, weighted.weight(5, 4), 0f);
+
+        // 解析结果被缓存
+        assertSame(HandRange.parse("TT+, AKs, KQo"), HandRange.parse("TT+, AKs, KQo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_rejectsBadNotation() {
+        HandRange.parse("AXs");
+    }
+
+    @Test
+    public void test_kingsVsAcesRange() {
+        // KsKh 对 AA：翻前约 18%
+        int[] kings = {50, 37};
+        EquityEstimate e = EquityEngine.calculateWinRateVsRanges(kings, new int[0],
+                new HandRange[]{HandRange.parse("AA")}, 40000);
+        assertEquals(0.18, e.winRate, 0.015);
+    }
+
+    @Test
+    public void test_exactRangeMatchesBruteForceOnRiver() {
+        int[] hand = {12, 25};               // Ac Ad
+        int[] board = {0, 14, 30, 45, 8};
+        HandRange range = HandRange.parse("22+, AKs:0.5");
+        double score = 0, weight = 0;
+        long dead = 0;
+        for (int c : hand) dead |= 1L << c;
+        for (int c : board) dead |= 1L << c;
+        int myRank = HandEvaluator.evaluate7(hand[0], hand[1], board[0], board[1], board[2], board[3], board[4]);
+        for (int i = 0; i < HandRange.COMBOS; i++) {
+            int c0 = HandRange.comboCard0(i), c1 = HandRange.comboCard1(i);
+            float w = range.weight(i);
+            if (w == 0 || ((dead >>> c0) & 1) != 0 || ((dead >>> c1) & 1) != 0) continue;
+            int opRank = HandEvaluator.evaluate7(c0, c1, board[0], board[1], board[2], board[3], board[4]);
+            score += w * (myRank > opRank ? 1 : myRank == opRank ? 0.5 : 0);
+            weight += w;
+        }
+        EquityEstimate e = EquityEngine.calculateWinRateVsRanges(hand, board, new HandRange[]{range}, 1000);
+        assertTrue(e.exact);
+        assertEquals(score / weight, e.winRate, 1e-9);
+    }
+
+    @Test
+    public void test_uniformRangeMatchesRandomOpponents() {
+        int[] hand = {12, 25};
+        int[] board = {3, 17, 40};
+        HandRange any = HandRange.any();
+        EquityEstimate vsRanges = EquityEngine.calculateWinRateVsRanges(hand, board,
+                new HandRange[]{any, any, any}, 40000);
+        double random = EquityEngine.calculateWinRateSerial(hand, board, 3, 40000, 11L);
+        assertEquals(random, vsRanges.winRate, 0.015);
+    }
+}
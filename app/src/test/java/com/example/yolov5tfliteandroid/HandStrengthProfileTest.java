@@ -0,0 +1,150 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.model.HandStrengthProfile;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HandStrengthProfileTest {
+
+    // AhKh on 2h 7h Qc：同花听牌 + 两张高张
+    private static final int[] DRAW = {card(12, 2), card(11, 2)};
+    private static final int[] DRAW_BOARD = {card(0, 2), card(5, 2), card(10, 0)};
+    // 7c7d on 7s 2d Kc：暗三条
+    private static final int[] SET = {card(5, 0), card(5, 1)};
+    private static final int[] SET_BOARD = {card(5, 3), card(0, 1), card(11, 0)};
+
+    private int oldMinSamples;
+    private int oldMaxSamples;
+    private long oldTimeBudgetMs;
+
+    @Before
+    public void saveLimits() {
+        oldMinSamples = EquityEngine.getAdaptiveMinSamples();
+        oldMaxSamples = EquityEngine.getAdaptiveMaxSamples();
+        oldTimeBudgetMs = EquityEngine.getAdaptiveTimeBudgetMs();
+    }
+
+    @After
+    public void restoreLimits() {
+        EquityEngine.setAdaptiveLimits(oldMinSamples, oldMaxSamples, oldTimeBudgetMs);
+    }
+
+    @Test
+    public void test_exactProfileIsConsistent() {
+        EquityEstimate e = EquityEngine.calculateExactEquity(DRAW, DRAW_BOARD, 1);
+        HandStrengthProfile p = e.profile;
+        assertNotNull(p);
+        // 下一街分布的均值就是胜率
+        assertEquals(e.winRate, p.expectedHandStrength, 1e-9);
+        assertEquals(1.0, sum(p.histogram), 1e-9);
+        assertTrue(p.ehsSquared >= p.expectedHandStrength * p.expectedHandStrength);
+
+        // 当前牌力与直接枚举对手当前手牌一致
+        assertEquals(bruteForceHandStrength(DRAW, DRAW_BOARD), p.handStrength, 1e-9);
+    }
+
+    @Test
+    public void test_monteCarloProfileMatchesExact() {
+        EquityEngine.setAdaptiveLimits(40000, 40000, 60_000);
+        HandStrengthProfile exact = EquityEngine.calculateExactEquity(DRAW, DRAW_BOARD, 1).profile;
+        EquityEstimate mc = EquityEngine.calculateWinRateAdaptive(DRAW, DRAW_BOARD, 1, new double[]{0.5});
+        HandStrengthProfile p = mc.profile;
+        assertNotNull(p);
+        assertEquals(exact.handStrength, p.handStrength, 0.01);
+        assertEquals(exact.positivePotential, p.positivePotential, 0.02);
+        assertEquals(exact.negativePotential, p.negativePotential, 0.02);
+        assertEquals(exact.effectiveHandStrength, p.effectiveHandStrength, 0.015);
+        // 组均值平方经过无偏修正，应与精确值接近而不是系统性偏大
+        assertEquals(exact.ehsSquared, p.ehsSquared, 0.015);
+    }
+
+    @Test
+    public void test_monteCarloHistogramIsNotSpreadByNoise() {
+        // 暗三条的下一街胜率全部落在最高格；每组只有约 1000/47 个样本时，未收缩的组均值会有一部分掉到下面几格
+        HandStrengthProfile exact = EquityEngine.calculateExactEquity(SET, SET_BOARD, 1).profile;
+        int top = HandStrengthProfile.HISTOGRAM_BUCKETS - 1;
+        assertEquals(1.0, exact.histogram[top], 1e-9);
+        EquityEngine.setAdaptiveLimits(1000, 1000, 60_000);
+        RandomSources.setSeed(12L);
+        try {
+            double share = 0;
+            int runs = 20;
+            for (int i = 0; i < runs; i++) {
+                HandStrengthProfile p = EquityEngine.calculateWinRateAdaptive(SET, SET_BOARD, 1, new double[]{0.5}).profile;
+                assertEquals(1.0, sum(p.histogram), 1e-9);
+                share += p.histogram[top] / runs;
+            }
+            assertTrue("top bucket share " + share, share > 0.99);
+        } finally {
+            RandomSources.clearSeed();
+        }
+    }
+
+    @Test
+    public void test_drawIsPolarisedAndMadeHandIsNot() {
+        HandStrengthProfile draw = EquityEngine.calculateExactEquity(DRAW, DRAW_BOARD, 1).profile;
+        HandStrengthProfile set = EquityEngine.calculateExactEquity(SET, SET_BOARD, 1).profile;
+
+        assertTrue(draw.positivePotential > 0.2);
+        assertTrue(set.positivePotential < draw.positivePotential);
+        assertTrue(set.negativePotential < 0.1);
+        // 听牌的下一街胜率分布更分散
+        assertTrue(draw.variance() > set.variance());
+        assertTrue(set.histogram[HandStrengthProfile.HISTOGRAM_BUCKETS - 1] > 0.5);
+    }
+
+    @Test
+    public void test_riverAndPreflopProfiles() {
+        int[] river = {card(0, 2), card(5, 2), card(10, 0), card(3, 3), card(8, 1)};
+        EquityEstimate e = EquityEngine.calculateExactEquity(DRAW, river, 2);
+        assertNotNull(e.profile);
+        assertEquals(e.winRate, e.profile.handStrength, 1e-12);
+        assertEquals(0, e.profile.positivePotential, 0);
+        assertEquals(0, e.profile.variance(), 1e-12);
+
+        EquityEstimate preflop = EquityEngine.calculateWinRateAdaptive(DRAW, new int[0], 1, new double[]{0.5});
+        assertNull(preflop.profile);
+    }
+
+    private static double bruteForceHandStrength(int[] hand, int[] board) {
+        long used = 0;
+        for (int c : hand) used |= 1L << c;
+        for (int c : board) used |= 1L << c;
+        int[] cards = new int[5];
+        System.arraycopy(board, 0, cards, 2, 3);
+        cards[0] = hand[0];
+        cards[1] = hand[1];
+        int mine = HandEvaluator.evaluate(cards, 5);
+        double score = 0;
+        int n = 0;
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                if (((used >>> a) & 1) != 0 || ((used >>> b) & 1) != 0) continue;
+                cards[0] = a;
+                cards[1] = b;
+                int theirs = HandEvaluator.evaluate(cards, 5);
+                score += mine > theirs ? 1 : (mine == theirs ? 0.5 : 0);
+                n++;
+            }
+        }
+        return score / n;
+    }
+
+    private static double sum(double[] values) {
+        double s = 0;
+        for (double v : values) s += v;
+        return s;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.utils.MonteCarloSimulator;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MonteCarloSimulatorTest {
+
+    @Test
+    public void test_hotLoopAllocatesNothing() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        int[] hand = {card(12, 2), card(11, 2)};
+        int[] flop = {card(0, 2), card(5, 0), card(7, 1)};
+        MonteCarloSimulator simulator = new MonteCarloSimulator();
+        long[] counts = new long[3];
+        // 预热：触发建表、类加载与 JIT
+        for (int i = 0; i < 20; i++) {
+            simulator.setup(hand, flop, 3).seed(i).run(10_000, counts);
+        }
+
+        long tid = Thread.currentThread().getId();
+        int iterations = 200_000;
+        long before = threads.getThreadAllocatedBytes(tid);
+        simulator.setup(hand, flop, 3).seed(42).run(iterations, counts);
+        long allocated = threads.getThreadAllocatedBytes(tid) - before;
+
+        // 计数器本身的读取有少量固定开销，按每次迭代折算必须为 0
+        assertEquals("bytes/iteration", 0, allocated / iterations);
+        assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    @Test
+    public void test_sameSeedIsDeterministic() {
+        int[] hand = {card(8, 0), card(8, 1)};
+        int[] board = {card(2, 2), card(9, 3), card(12, 0), card(4, 1)};
+        MonteCarloSimulator simulator = new MonteCarloSimulator();
+
+        long[] first = new long[3];
+        simulator.setup(hand, board, 2).seed(7).run(5000, first);
+        // 中间跑一个不同的局面，复用的牌堆不能影响后续结果
+        simulator.setup(new int[]{card(0, 0), card(1, 1)}, new int[0], 5).seed(1).run(5000, new long[3]);
+        long[] second = new long[3];
+        simulator.setup(hand, board, 2).seed(7).run(5000, second);
+
+        assertArrayEquals(first, second);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.MultiwayResult;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.MultiwayEquity;
+
+import org.junit.Test;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiwayEquityTest {
+
+    @Test
+    public void test_headsUpMatchesEquityEngine() {
+        int[] aces = {card(12, 3), card(12, 2)};
+        int[] kings = {card(11, 0), card(11, 1)};
+        int[] flop = {card(0, 2), card(7, 0), card(9, 1)};
+        MultiwayResult r = MultiwayEquity.calculate(new int[][]{aces, kings}, flop, new double[]{100, 100}, 5000);
+
+        assertTrue(r.exact);
+        assertEquals(1, r.potCount());
+        assertEquals(200, r.potAmounts[0], 0);
+        double expected = EquityEngine.calculateExactWinRate(aces, kings, flop);
+        assertEquals(expected, r.equity[0], 1e-12);
+        assertEquals(1 - expected, r.equity[1], 1e-12);
+        assertEquals(200 * expected - 100, r.ev[0], 1e-9);
+    }
+
+    @Test
+    public void test_sidePotsSplitByContribution() {
+        // 短码 AA 投入 50，两个大码各投入 200：主池 150 (三人)，边池 300 (两个大码)
+        int[][] hands = {
+                {card(12, 3), card(12, 2)},
+                {card(11, 3), card(11, 2)},
+                {card(8, 0), card(7, 0)},
+        };
+        int[] turn = {card(0, 1), card(5, 3), card(6, 1), card(2, 0)};
+        MultiwayResult r = MultiwayEquity.calculate(hands, turn, new double[]{50, 200, 200}, 5000);
+
+        assertTrue(r.exact);
+        assertEquals(2, r.potCount());
+        assertEquals(150, r.potAmounts[0], 0);
+        assertEquals(300, r.potAmounts[1], 0);
+        assertFalse(r.eligible[1][0]);
+        assertEquals(0, r.potShare[0][1], 0);
+
+        double payout = 0;
+        double ev = 0;
+        for (int p = 0; p < 3; p++) {
+            payout += r.expectedPayout[p];
+            ev += r.ev[p];
+        }
+        assertEquals(450, payout, 1e-9);
+        assertEquals(0, ev, 1e-9);
+        for (int k = 0; k < r.potCount(); k++) {
+            double sum = 0;
+            for (int p = 0; p < 3; p++) sum += r.potShare[p][k];
+            assertEquals(1, sum, 1e-12);
+        }
+    }
+
+    @Test
+    public void test_riverSplitAndUncalledChips() {
+        // 公牌为皇家同花顺：所有人平分；多投入的 100 没人跟，原样收回
+        int[] board = {card(8, 3), card(9, 3), card(10, 3), card(11, 3), card(12, 3)};
+        int[][] hands = {{card(0, 0), card(1, 1)}, {card(2, 0), card(3, 1)}, {card(4, 0), card(5, 1)}};
+        MultiwayResult r = MultiwayEquity.calculate(hands, board, new double[]{100, 100, 200}, 5000);
+        assertEquals(1, r.samples);
+        for (int p = 0; p < 3; p++) {
+            assertEquals(1.0 / 3, r.equity[p], 1e-12);
+        }
+        assertEquals(200, r.expectedPayout[2], 1e-9);
+        assertEquals(0, r.ev[2], 1e-9);
+    }
+
+    @Test
+    public void test_parallelEnumerationMatchesSerial() {
+        // 翻前三人全下 (C(46,5) = 1,370,754 种公牌)，带边池：按第一张公牌拆分后计数逐一相同
+        int[][] hands = {
+                {card(12, 3), card(12, 2)},
+                {card(11, 3), card(10, 3)},
+                {card(4, 0), card(4, 1)},
+        };
+        double[] contributions = {40, 100, 100};
+        int old = EquityEngine.getParallelism();
+        MultiwayResult serial;
+        MultiwayResult parallel;
+        try {
+            EquityEngine.setParallelism(1);
+            serial = MultiwayEquity.calculate(hands, new int[0], contributions, 0);
+            EquityEngine.setParallelism(4);
+            parallel = MultiwayEquity.calculate(hands, new int[0], contributions, 0);
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+        assertTrue(parallel.exact);
+        assertEquals(1_370_754, parallel.samples);
+        for (int p = 0; p < hands.length; p++) {
+            assertArrayEquals(serial.potShare[p], parallel.potShare[p], 0);
+        }
+    }
+
+    @Test
+    public void test_monteCarloPreflopFourWay() {
+        int[][] hands = {
+                {card(12, 3), card(12, 2)},
+                {card(11, 3), card(11, 2)},
+                {card(10, 0), card(9, 0)},
+                {card(5, 1), card(4, 1)},
+        };
+        // C(44,5) = 1,086,008 种公牌：阈值调低后走蒙特卡洛
+        long old = EquityEngine.getExactThreshold();
+        EquityEngine.setExactThreshold(1000);
+        MultiwayResult sampled;
+        try {
+            sampled = MultiwayEquity.calculate(hands, new int[0], new double[]{100, 100, 100, 100}, 40000);
+        } finally {
+            EquityEngine.setExactThreshold(old);
+        }
+        MultiwayResult exact = MultiwayEquity.calculate(hands, new int[0], new double[]{100, 100, 100, 100}, 0);
+        assertFalse(sampled.exact);
+        assertTrue(exact.exact);
+        double total = 0;
+        for (int p = 0; p < 4; p++) {
+            assertEquals(exact.equity[p], sampled.equity[p], 0.015);
+            total += sampled.equity[p];
+        }
+        assertEquals(1, total, 1e-9);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.PreflopEquityTable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PreflopEquityTableTest {
+
+    @Test
+    public void test_classIndexCoversAll169Classes() {
+        boolean[] seen = new boolean[PreflopEquityTable.HAND_CLASSES];
+        for (int a = 0; a < 52; a++) {
+            for (int b = a + 1; b < 52; b++) {
+                int cls = PreflopEquityTable.classIndex(a, b);
+                assertEquals(cls, PreflopEquityTable.classIndex(b, a));
+                seen[cls] = true;
+            }
+        }
+        for (int cls = 0; cls < PreflopEquityTable.HAND_CLASSES; cls++) {
+            assertTrue("class " + cls, seen[cls]);
+            int[] rep = PreflopEquityTable.representative(cls);
+            assertEquals(cls, PreflopEquityTable.classIndex(rep[0], rep[1]));
+        }
+    }
+
+    @Test
+    public void test_lookupKnownEquities() {
+        assertTrue(PreflopEquityTable.isAvailable());
+        // AsAh 单挑约 85.2%，7c2d 单挑约 34.6%
+        EquityEstimate aces = PreflopEquityTable.lookup(new int[]{51, 38}, 1);
+        EquityEstimate sevenDeuce = PreflopEquityTable.lookup(new int[]{5, 13}, 1);
+        assertEquals(0.852, aces.winRate, 0.005);
+        assertEquals(0.346, sevenDeuce.winRate, 0.005);
+        // 对手越多胜率越低
+        assertTrue(PreflopEquityTable.lookup(new int[]{51, 38}, 9).winRate < aces.winRate);
+        assertNull(PreflopEquityTable.lookup(new int[]{51, 38}, 10));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.RandomSource;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+import com.example.yolov5tfliteandroid.utils.Xoroshiro128PlusPlus;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RandomSourceTest {
+
+    @After
+    public void restoreSeed() {
+        RandomSources.clearSeed();
+    }
+
+    @Test
+    public void test_sameSeedSameSequence() {
+        RandomSource a = new Xoroshiro128PlusPlus(42L);
+        RandomSource b = new Xoroshiro128PlusPlus(42L);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+        a.setSeed(7L);
+        b.setSeed(7L);
+        assertEquals(a.nextInt(52), b.nextInt(52));
+    }
+
+    @Test
+    public void test_splitStreamsDiffer() {
+        RandomSource parent = new Xoroshiro128PlusPlus(1L);
+        RandomSource child = parent.split();
+        int same = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (parent.nextLong() == child.nextLong()) same++;
+        }
+        assertEquals(0, same);
+        assertNotEquals(RandomSources.mixSeed(1L, 0), RandomSources.mixSeed(1L, 1));
+    }
+
+    @Test
+    public void test_nextIntAndNextDoubleUniform() {
+        RandomSource random = new Xoroshiro128PlusPlus(3L);
+        int bound = 47;
+        int n = 470_000;
+        int[] hits = new int[bound];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            hits[random.nextInt(bound)]++;
+            double d = random.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+            sum += d;
+        }
+        // 每格期望 10000，标准差约 100
+        for (int h : hits) assertEquals(10000, h, 500);
+        assertEquals(0.5, sum / n, 0.002);
+    }
+
+    @Test
+    public void test_fixedSeedMakesEquityReproducible() {
+        int[] hand = {12, 25};
+        int[] board = {0, 14, 30};
+        RandomSources.setSeed(99L);
+        double a = EquityEngine.calculateWinRate(hand, board, 3, 20000);
+        RandomSources.setSeed(99L);
+        double b = EquityEngine.calculateWinRate(hand, board, 3, 20000);
+        assertEquals(a, b, 0.0);
+    }
+
+    @Test
+    public void test_fixedSeedMakesDecisionReproducible() {
+        long hand = CardSet.parse("JhTh");
+        long board = CardSet.parse("9h8c2s");
+        int old = EquityEngine.getParallelism();
+        try {
+            // 先用其他种子算同一局面，缓存里留下不同的结果
+            RandomSources.setSeed(1L);
+            TexasHoldemCalUtil.analyzeAndDecide(hand, board, 3, 100, 20, 1000, 20);
+            RandomSources.clearSeed();
+            TexasHoldemCalUtil.analyzeAndDecide(hand, board, 3, 100, 20, 1000, 20);
+
+            // 同一种子在不同核数下逐位一致，且不受缓存影响
+            EquityEngine.setParallelism(1);
+            RandomSources.setSeed(5L);
+            DecisionResult a = TexasHoldemCalUtil.analyzeAndDecide(hand, board, 3, 100, 20, 1000, 20);
+            EquityEngine.setParallelism(4);
+            RandomSources.setSeed(5L);
+            DecisionResult b = TexasHoldemCalUtil.analyzeAndDecide(hand, board, 3, 100, 20, 1000, 20);
+
+            assertFalse(a.cached);
+            assertFalse(b.cached);
+            assertEquals(a.winRate, b.winRate, 0.0);
+            assertEquals(a.sampleCount, b.sampleCount);
+            assertEquals(a.suggestedAction, b.suggestedAction);
+            assertEquals(a.betAmount, b.betAmount, 0.0);
+            assertEquals(a.handStrength.toString(), b.handStrength.toString());
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.enums.Rank;
+import com.example.yolov5tfliteandroid.enums.Suit;
+import com.example.yolov5tfliteandroid.model.Card;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.model.RiverSolution;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+import com.example.yolov5tfliteandroid.utils.HandRange;
+import com.example.yolov5tfliteandroid.utils.RiverSolver;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.yolov5tfliteandroid.TestCards.card;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RiverSolverTest {
+
+    // Kh Qd 8c 5s 2h：AA 总是赢 99，76 总是输给 99
+    private static final int[] BOARD = {card(11, 2), card(10, 1), card(6, 0), card(3, 3), card(0, 2)};
+
+    @After
+    public void restoreDefaults() {
+        RiverSolver.setSizes(new double[]{0.5, 1.0}, new double[]{1.0}, 1);
+        RiverSolver.setLimits(1000, 0.005, 500);
+    }
+
+    // 按点数对 (r0, r1) 填入权重
+    private static void add(float[] weights, int r0, int r1, float weight) {
+        for (int s0 = 0; s0 < 4; s0++) {
+            for (int s1 = 0; s1 < 4; s1++) {
+                int a = card(r0, s0);
+                int b = card(r1, s1);
+                if (a != b) weights[HandRange.comboIndex(a, b)] = weight;
+            }
+        }
+    }
+
+    @Test
+    public void test_bluffCatcherCallsOnlyWithPotOdds() {
+        RiverSolver.setSizes(new double[]{1.0}, new double[0], 0);
+        float[] catcher = new float[HandRange.COMBOS];
+        add(catcher, 7, 7, 1f); // 99
+        int nine = HandRange.comboIndex(card(7, 0), card(7, 1));
+
+        // 对手下注范围：AA 6 组 + 76 16 组 → 价值占 27%，跟注收益为正
+        float[] bluffy = new float[HandRange.COMBOS];
+        add(bluffy, 12, 12, 1f);
+        add(bluffy, 5, 4, 1f);
+        RiverSolution call = RiverSolver.solve(BOARD, HandRange.of(catcher), HandRange.of(bluffy), 1, 1, 1);
+        assertEquals(Action.FOLD, call.actions[0]);
+        assertEquals(Action.CALL, call.actions[1]);
+        // 平均策略包含最初几轮的均匀策略，留少量余量
+        assertEquals(1.0, call.strategyFor(nine)[1], 0.01);
+
+        // 价值占 80%：跟注收益 0.2 * 2 - 0.8 * 1 < 0，弃牌
+        float[] value = new float[HandRange.COMBOS];
+        add(value, 12, 12, 1f);
+        add(value, 5, 4, 6f / 16 * 0.25f);
+        RiverSolution fold = RiverSolver.solve(BOARD, HandRange.of(catcher), HandRange.of(value), 1, 1, 1);
+        assertEquals(1.0, fold.strategyFor(nine)[0], 0.01);
+    }
+
+    @Test
+    public void test_polarizedBettorBluffsAtEquilibriumRatio() {
+        // 底池 1，只允许底池大小 (全下) 下注：诈唬 : 价值 = 1 : 2 时跟注者无差异
+        RiverSolver.setSizes(new double[]{1.0}, new double[0], 0);
+        RiverSolver.setLimits(5000, 0.001, 5000);
+        float[] polar = new float[HandRange.COMBOS];
+        add(polar, 12, 12, 1f);           // AA 6 组
+        add(polar, 5, 4, 6f / 16);        // 76 共 6 组权重
+        float[] catcher = new float[HandRange.COMBOS];
+        add(catcher, 7, 7, 1f);
+
+        RiverSolution solution = RiverSolver.solve(BOARD, HandRange.of(polar), HandRange.of(catcher), 1, 1, 0);
+        assertTrue(solution.toString(), solution.exploitability <= 0.001);
+        assertEquals(Action.CHECK_FOLD, solution.actions[0]);
+        assertEquals(Action.ALL_IN, solution.actions[1]);
+
+        double valueBets = 0;
+        double bluffs = 0;
+        for (int i = 0; i < solution.combos.length; i++) {
+            int c0 = HandRange.comboCard0(solution.combos[i]);
+            boolean aces = c0 % 13 == 12;
+            double bet = solution.strategy[i][1];
+            if (aces) valueBets += bet;
+            else bluffs += bet * 6.0 / 16;
+        }
+        assertEquals(0.5, bluffs / valueBets, 0.1);
+    }
+
+    @Test
+    public void test_randomRangesConvergeQuickly() {
+        // 求解耗时见 RiverSolverBenchmark；这里只检查收敛
+        RiverSolver.setLimits(1000, 0.005, 60_000);
+        RiverSolution solution = RiverSolver.solve(BOARD, HandRange.any(), HandRange.any(), 100, 400, 0);
+        assertTrue(solution.toString(), solution.exploitability <= 0.005);
+        assertTrue(solution.toString(), solution.iterations < 1000);
+        assertEquals(1081, solution.combos.length);
+        for (double[] mix : solution.strategy) {
+            double sum = 0;
+            for (double p : mix) sum += p;
+            assertEquals(1.0, sum, 1e-9);
+        }
+        // KK 为顶三条 (此牌面的坚果)，以下注为主；其余手牌的策略只检查归一化
+        double[] sets = solution.strategyFor(HandRange.comboIndex(card(11, 0), card(11, 3)));
+        assertNotNull(sets);
+        assertTrue(solution.describe(sets), sets[0] < 0.5);
+    }
+
+    @Test
+    public void test_riverHeadsUpDecisionUsesSolver() {
+        List<Card> hand = Arrays.asList(Card.of(Rank.KING, Suit.CLUBS), Card.of(Rank.KING, Suit.SPADES));
+        List<Card> river = Arrays.asList(Card.of(Rank.KING, Suit.HEARTS), Card.of(Rank.QUEEN, Suit.DIAMONDS),
+                Card.of(Rank.EIGHT, Suit.CLUBS), Card.of(Rank.FIVE, Suit.SPADES), Card.of(Rank.TWO, Suit.HEARTS));
+
+        // 默认关闭：走经验规则
+        assertNull(TexasHoldemCalUtil.analyzeAndDecide(hand, river, 1, 150, 50, 1000, 50).riverSolution);
+
+        TexasHoldemCalUtil.setRiverSolverEnabled(true);
+        try {
+            // 面对 50 的下注 (底池 150 含下注)：坚果不会弃牌
+            DecisionResult facing = TexasHoldemCalUtil.analyzeAndDecide(hand, river, 1, 150, 50, 1000, 50);
+            assertNotNull(facing.riverSolution);
+            assertEquals(Action.FOLD, facing.riverSolution.actions[0]);
+            assertEquals(0.0, facing.riverStrategy[0], 0.01);
+            assertTrue(facing.suggestedAction != Action.FOLD);
+            assertTrue(facing.reason().contains("Mix: "));
+            // EV 来自解中所选行动的期望收益：坚果跟注至少赢下底池
+            double[] values = facing.riverSolution.valuesFor(HandRange.comboIndex(
+                    hand.get(0).index(), hand.get(1).index()));
+            assertTrue(facing.ev >= 150 - 1e-9);
+            boolean matched = false;
+            for (int a = 0; a < values.length; a++) {
+                if (facing.riverSolution.actions[a] == facing.suggestedAction
+                        && facing.riverSolution.amounts[a] == facing.betAmount) {
+                    matched |= values[a] == facing.ev;
+                }
+            }
+            assertTrue(matched);
+
+            // 多人底池仍使用经验规则
+            DecisionResult multiway = TexasHoldemCalUtil.analyzeAndDecide(hand, river, 3, 150, 50, 1000, 50);
+            assertNull(multiway.riverSolution);
+        } finally {
+            TexasHoldemCalUtil.setRiverSolverEnabled(false);
+        }
+    }
+
+    @Test
+    public void test_raisesHonourMinRaise() {
+        // 面对 10 的下注，最小加注增量 200：底池比例的加注都补足到 10 + 200 以上
+        RiverSolver.setLimits(20, 0, 10_000);
+        RiverSolution solution = RiverSolver.solve(BOARD, HandRange.any(), HandRange.any(), 100, 1000, 10, 200);
+        boolean raised = false;
+        for (int a = 0; a < solution.actions.length; a++) {
+            if (solution.actions[a] == Action.RAISE) {
+                assertTrue(solution.amounts[a] + "", solution.amounts[a] >= 210 - 1e-9);
+                raised = true;
+            }
+        }
+        assertTrue(raised);
+    }
+
+    @Test
+    public void test_parallelMatchesSerial() {
+        RiverSolver.setLimits(60, 0, 10_000);
+        int old = EquityEngine.getParallelism();
+        try {
+            EquityEngine.setParallelism(1);
+            RiverSolution serial = RiverSolver.solve(BOARD, HandRange.any(), HandRange.any(), 100, 300, 40);
+            EquityEngine.setParallelism(4);
+            RiverSolution parallel = RiverSolver.solve(BOARD, HandRange.any(), HandRange.any(), 100, 300, 40);
+            assertEquals(serial.iterations, parallel.iterations);
+            assertEquals(serial.exploitability, parallel.exploitability, 1e-12);
+            for (int i = 0; i < serial.strategy.length; i++) {
+                assertArrayEquals(serial.strategy[i], parallel.strategy[i], 1e-12);
+            }
+        } finally {
+            EquityEngine.setParallelism(old);
+        }
+    }
+}
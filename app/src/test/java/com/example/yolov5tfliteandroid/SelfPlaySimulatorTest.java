@@ -0,0 +1,110 @@
+package com.example.yolov5tfliteandroid;
+
+import com.example.yolov5tfliteandroid.enums.Action;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.utils.SelfPlaySimulator;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SelfPlaySimulatorTest {
+
+    // 有下注就弃牌 (无需跟注时过牌)
+    private static final SelfPlaySimulator.Bot FOLDER = (hand, board, opp, pot, call, stack, minRaise) ->
+            result(Action.FOLD, 0);
+
+    // 每次行动都全下
+    private static final SelfPlaySimulator.Bot SHOVER = (hand, board, opp, pot, call, stack, minRaise) ->
+            result(Action.ALL_IN, stack);
+
+    // 每次行动都最小加注 (betAmount 故意给 0，由模拟器补足到最小加注)
+    private static final SelfPlaySimulator.Bot MIN_RAISER = (hand, board, opp, pot, call, stack, minRaise) ->
+            result(Action.RAISE, 0);
+
+    @Test
+    public void test_settleSidePots() {
+        // A 全下 10 且牌最大，B、C 各投入 50，B 牌比 C 大，D 投入 5 后弃牌
+        double[] contributed = {10, 50, 50, 5};
+        boolean[] folded = {false, false, false, true};
+        int[] strength = {7000, 5000, 3000, 0};
+        double[] won = new double[4];
+        assertEquals(2, SelfPlaySimulator.settle(4, contributed, folded, strength, won));
+        assertEquals(35, won[0], 1e-9);  // 主池 10 * 3 + 5
+        assertEquals(80, won[1], 1e-9);  // 边池 40 * 2
+        assertEquals(0, won[2], 1e-9);
+        assertEquals(0, won[3], 1e-9);
+
+        // 主池平分，边池归投入更多的一方 (未被跟注的部分退回)
+        double[] contributed2 = {20, 20, 60};
+        boolean[] folded2 = {false, false, false};
+        int[] strength2 = {4000, 4000, 4000};
+        assertEquals(1, SelfPlaySimulator.settle(3, contributed2, folded2, strength2, won));
+        assertEquals(20, won[0], 1e-9);
+        assertEquals(20, won[1], 1e-9);
+        assertEquals(60, won[2], 1e-9);
+    }
+
+    @Test
+    public void test_foldingBotLosesItsBlinds() {
+        // 单挑：弃牌者在小盲位输 0.5，在大盲位面对加注输 1，按钮轮转后平均每手 -0.75bb
+        SelfPlaySimulator.Result r = SelfPlaySimulator.run(
+                new SelfPlaySimulator.Bot[]{FOLDER, MIN_RAISER}, 1000, 2, 1, 100);
+        assertEquals(1000, r.hands());
+        assertEquals(-75, r.bbPer100(0), 1e-9);
+        assertEquals(75, r.bbPer100(1), 1e-9);
+    }
+
+    @Test
+    public void test_chipsAreConservedWithSidePots() {
+        // 筹码跨手保留 (只补码到下限)，赢家筹码更深，反复全下 / 跟注 / 加注形成多层边池；所有座位输赢之和必须为 0
+        SelfPlaySimulator.Bot[] bots = {SHOVER, SelfPlaySimulator.CALLING_STATION, MIN_RAISER,
+                SelfPlaySimulator.CALLING_STATION, FOLDER, MIN_RAISER, SHOVER};
+        for (double stack : new double[]{1, 7.5, 100}) {
+            SelfPlaySimulator.Result r = SelfPlaySimulator.run(bots, 20_000, 3, 7, stack);
+            assertEquals(20_000, r.hands());
+            assertTrue(r.sidePotHands() > 1000);
+            double total = 0;
+            for (int s = 0; s < r.seats(); s++) total += r.net(s);
+            assertEquals(0, total, 1e-6);
+        }
+    }
+
+    @Test
+    public void test_sameSeedSameResult() {
+        SelfPlaySimulator.Bot[] bots = {SHOVER, SelfPlaySimulator.CALLING_STATION, MIN_RAISER};
+        SelfPlaySimulator.Result a = SelfPlaySimulator.run(bots, 5000, 2, 42, 50);
+        SelfPlaySimulator.Result b = SelfPlaySimulator.run(bots, 5000, 2, 42, 50);
+        for (int s = 0; s < bots.length; s++) {
+            assertEquals(a.net(s), b.net(s), 0);
+        }
+    }
+
+    @Test
+    public void test_engineSelfPlayRuns() {
+        // 河牌单挑子博弈求解每次数百毫秒，这里只验证引擎接入，固定走经验规则
+        boolean old = TexasHoldemCalUtil.isRiverSolverEnabled();
+        TexasHoldemCalUtil.setRiverSolverEnabled(false);
+        try {
+            SelfPlaySimulator.Bot[] bots = {SelfPlaySimulator.ENGINE, SelfPlaySimulator.CALLING_STATION,
+                    SelfPlaySimulator.ENGINE};
+            SelfPlaySimulator.Result r = SelfPlaySimulator.run(bots, 200, 2, 3, 100);
+            assertEquals(200, r.hands());
+            assertTrue(r.decisions() > 200);
+            double total = 0;
+            for (int s = 0; s < r.seats(); s++) total += r.net(s);
+            assertEquals(0, total, 1e-6);
+        } finally {
+            TexasHoldemCalUtil.setRiverSolverEnabled(old);
+        }
+    }
+
+    private static DecisionResult result(Action action, double amount) {
+        DecisionResult r = new DecisionResult();
+        r.suggestedAction = action;
+        r.betAmount = amount;
+        return r;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.yolov5tfliteandroid;
+
+/**
+ * 测试共用的牌构造
+ */
+final class TestCards {
+
+    private TestCards() {
+    }
+
+    // 牌编码：suit * 13 + rank，suit 0=C 1=D 2=H 3=S，rank 0=2 ... 12=A
+    static int card(int rank, int suit) {
+        return suit * 13 + rank;
+    }
+}
@@ -6,10 +6,15 @@ import com.example.yolov5tfliteandroid.enums.Rank;
 import com.example.yolov5tfliteandroid.enums.Suit;
 import com.example.yolov5tfliteandroid.model.Card;
 import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.utils.HandFeatures;
 import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +38,33 @@ public class TexasHoldemCalUtilTest {
         System.out.println("建议动作: " + result.suggestedAction.name());
 
         // 建议把详细的分析日志也打印出来，方便查看 AI 的计算过程
-        System.out.println("详细分析:\n" + result.reason);
+        System.out.println("详细分析:\n" + result.reason());
+    }
+
+    @Test
+    public void test_decisionFieldsAndLazyReport() {
+        List<Card> myHand = new ArrayList<>();
+        myHand.add(Card.of(Rank.ACE, Suit.HEARTS));
+        myHand.add(Card.of(Rank.KING, Suit.HEARTS));
+        List<Card> board = new ArrayList<>();
+        board.add(Card.of(Rank.TWO, Suit.HEARTS));
+        board.add(Card.of(Rank.SEVEN, Suit.HEARTS));
+        board.add(Card.of(Rank.NINE, Suit.CLUBS));
+
+        DecisionResult result = TexasHoldemCalUtil.analyzeAndDecide(myHand, board, 2, 1000, 200, 10000, 100);
+
+        assertEquals(200.0 / 1200, result.potOdds, 1e-12);
+        assertEquals(10.0, result.spr, 1e-12);
+        assertEquals(result.equity.winRate, result.winRate, 0.0);
+        assertEquals(result.adjustedWinRate * 1200 - 200, result.ev, 1e-9);
+        assertTrue(HandFeatures.has(result.features, HandFeatures.FLUSH_DRAW));
+        assertEquals(9, HandFeatures.flushOuts(result.features));
+        assertTrue(result.equityNanos >= 0);
+
+        // 报告按需生成，之后复用同一个字符串
+        String report = result.reason();
+        assertSame(report, result.reason());
+        assertTrue(report.contains("FLUSH_DRAW"));
+        assertTrue(report.contains("Action: " + result.suggestedAction));
     }
 }
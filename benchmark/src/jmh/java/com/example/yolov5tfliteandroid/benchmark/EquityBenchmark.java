@@ -0,0 +1,79 @@
+package com.example.yolov5tfliteandroid.benchmark;
+
+import com.example.yolov5tfliteandroid.enums.Rank;
+import com.example.yolov5tfliteandroid.enums.Suit;
+import com.example.yolov5tfliteandroid.model.Card;
+import com.example.yolov5tfliteandroid.model.DecisionResult;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 胜率计算与完整决策的单次延迟 (按街和对手数)
+ * 每次调用前清空胜率缓存，测量的是未命中缓存的真实计算开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EquityBenchmark {
+
+    @Param({"PREFLOP", "FLOP", "TURN", "RIVER"})
+    public String street;
+
+    @Param({"1", "3", "8"})
+    public int opponents;
+
+    private List<Card> hand;
+    private List<Card> board;
+
+    @Setup
+    public void setup() {
+        hand = Arrays.asList(Card.of(Rank.ACE, Suit.SPADES), Card.of(Rank.QUEEN, Suit.SPADES));
+        List<Card> fullBoard = Arrays.asList(
+                Card.of(Rank.TEN, Suit.SPADES), Card.of(Rank.SEVEN, Suit.HEARTS), Card.of(Rank.TWO, Suit.CLUBS),
+                Card.of(Rank.KING, Suit.DIAMONDS), Card.of(Rank.FOUR, Suit.SPADES));
+        int size;
+        switch (street) {
+            case "FLOP":
+                size = 3;
+                break;
+            case "TURN":
+                size = 4;
+                break;
+            case "RIVER":
+                size = 5;
+                break;
+            default:
+                size = 0;
+        }
+        board = new ArrayList<>(fullBoard.subList(0, size));
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        TexasHoldemCalUtil.getEquityCache().clear();
+    }
+
+    @Benchmark
+    public double calculateWinRateFast() {
+        return TexasHoldemCalUtil.calculateWinRateFast(hand, board, opponents);
+    }
+
+    @Benchmark
+    public DecisionResult analyzeAndDecide() {
+        return TexasHoldemCalUtil.analyzeAndDecide(hand, board, opponents, 1000, 200, 10000, 100);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.yolov5tfliteandroid.benchmark;
+
+import com.example.yolov5tfliteandroid.utils.HandEvaluator;
+import com.example.yolov5tfliteandroid.utils.TexasHoldemCalUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 7 张牌评估吞吐 (evals/sec)：预先生成固定的随机 7 张牌集合，逐一评估
+ * <p>
+ * showdown*：9 名玩家 (8 个对手) 共用一组公牌的单次摊牌 (showdowns/sec)，
+ * 对比逐人完整评估 7 张与 {@link HandEvaluator.Board} 公牌增量评估
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HandEvaluatorBenchmark {
+
+    private static final int HANDS = 4096;
+    private static final int PLAYERS = 9;
+    private static final int RUNOUT_CARDS = 5 + 2 * PLAYERS;
+
+    private int[][] hands;
+    private int[] flat;
+    private int[] runouts;
+    private final HandEvaluator.Board board = new HandEvaluator.Board();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        hands = new int[HANDS][7];
+        flat = new int[HANDS * 7];
+        for (int i = 0; i < HANDS; i++) {
+            long used = 0;
+            for (int k = 0; k < 7; k++) {
+                int c;
+                do {
+                    c = random.nextInt(52);
+                } while ((used & (1L << c)) != 0);
+                used |= 1L << c;
+                hands[i][k] = c;
+                flat[i * 7 + k] = c;
+            }
+        }
+        // 每组：5 张公牌 + 9 名玩家各 2 张
+        runouts = new int[HANDS * RUNOUT_CARDS];
+        int[] deck = new int[52];
+        for (int i = 0; i < HANDS; i++) {
+            for (int c = 0; c < 52; c++) deck[c] = c;
+            for (int k = 0; k < RUNOUT_CARDS; k++) {
+                int r = k + random.nextInt(52 - k);
+                int temp = deck[r];
+                deck[r] = deck[k];
+                deck[k] = temp;
+                runouts[i * RUNOUT_CARDS + k] = deck[k];
+            }
+        }
+        HandEvaluator.init();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int evaluate7() {
+        int acc = 0;
+        int[] f = flat;
+        for (int i = 0; i < HANDS * 7; i += 7) {
+            acc += HandEvaluator.evaluate7(f[i], f[i + 1], f[i + 2], f[i + 3], f[i + 4], f[i + 5], f[i + 6]);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public long evaluate7CardsFast() {
+        long acc = 0;
+        for (int[] hand : hands) {
+            acc += TexasHoldemCalUtil.evaluate7CardsFast(hand);
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int showdownFullEvaluate() {
+        int acc = 0;
+        int[] f = runouts;
+        for (int i = 0; i < HANDS * RUNOUT_CARDS; i += RUNOUT_CARDS) {
+            int b0 = f[i], b1 = f[i + 1], b2 = f[i + 2], b3 = f[i + 3], b4 = f[i + 4];
+            int best = 0;
+            for (int p = i + 5; p < i + RUNOUT_CARDS; p += 2) {
+                best = Math.max(best, HandEvaluator.evaluate7(f[p], f[p + 1], b0, b1, b2, b3, b4));
+            }
+            acc += best;
+        }
+        return acc;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int showdownBoardIncremental() {
+        int acc = 0;
+        int[] f = runouts;
+        HandEvaluator.Board board = this.board;
+        for (int i = 0; i < HANDS * RUNOUT_CARDS; i += RUNOUT_CARDS) {
+            board.set(f[i], f[i + 1], f[i + 2], f[i + 3], f[i + 4]);
+            int best = 0;
+            for (int p = i + 5; p < i + RUNOUT_CARDS; p += 2) {
+                best = Math.max(best, board.evaluate(f[p], f[p + 1]));
+            }
+            acc += best;
+        }
+        return acc;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.yolov5tfliteandroid.benchmark;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.DecisionSpot;
+import com.example.yolov5tfliteandroid.utils.HandHistoryParser;
+import com.example.yolov5tfliteandroid.utils.RandomSource;
+import com.example.yolov5tfliteandroid.utils.RandomSources;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 牌谱解析吞吐：合成的 6 人桌 PokerStars 牌谱 (5 万手，约 40 MB) 整文件解析一遍
+ * <p>
+ * 辅助计数器 megabytes / hands 按秒归一，即 MB/s 与 手/秒。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HandHistoryParserBenchmark {
+
+    private static final int HANDS = 50_000;
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "Hero", "Dave", "Erin"};
+
+    private File file;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;
+        public long hands;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            hands = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = File.createTempFile("history", ".txt");
+        RandomSource random = RandomSources.create(1);
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8),
+                1 << 16);
+        try {
+            for (int h = 0; h < HANDS; h++) {
+                writeHand(out, h, random);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public long parse(Throughput counter) throws IOException {
+        HandHistoryParser parser = HandHistoryParser.open(file);
+        try {
+            DecisionSpot spot = new DecisionSpot();
+            long sum = 0;
+            while (parser.next(spot)) {
+                sum += spot.board;
+            }
+            counter.megabytes += parser.bytesRead() / 1e6;
+            counter.hands += parser.hands();
+            return sum;
+        } finally {
+            parser.close();
+        }
+    }
+
+    // 翻前 Hero 加注，Bob 跟注，翻牌/转牌/河牌各一轮下注-跟注后摊牌
+    private static void writeHand(Writer out, int h, RandomSource random) throws IOException {
+        long deck = CardSet.FULL_DECK;
+        String[] cards = new String[7];
+        for (int i = 0; i < cards.length; i++) {
+            int c;
+            do {
+                c = random.nextInt(52);
+            } while ((deck & (1L << c)) == 0);
+            deck &= ~(1L << c);
+            cards[i] = CardSet.format(1L << c);
+        }
+        out.write("PokerStars Hand #" + (200_000_000L + h)
+                + ":  Hold'em No Limit ($0.05/$0.10 USD) - 2024/01/01 12:00:00 ET\n");
+        out.write("Table 'Bench' 6-max Seat #1 is the button\n");
+        for (int s = 0; s < NAMES.length; s++) {
+            out.write("Seat " + (s + 1) + ": " + NAMES[s] + " ($" + (5 + random.nextInt(20)) + ".00 in chips)\n");
+        }
+        out.write("Bob: posts small blind $0.05\nCarol: posts big blind $0.10\n*** HOLE CARDS ***\n");
+        out.write("Dealt to Hero [" + cards[0] + " " + cards[1] + "]\n");
+        out.write("Hero: raises $0.20 to $0.30\nDave: folds\nErin: folds\nAlice: folds\n"
+                + "Bob: calls $0.25\nCarol: folds\n");
+        String board = cards[2] + " " + cards[3] + " " + cards[4];
+        out.write("*** FLOP *** [" + board + "]\nBob: checks\nHero: bets $0.40\nBob: calls $0.40\n");
+        out.write("*** TURN *** [" + board + "] [" + cards[5] + "]\nBob: checks\nHero: checks\n");
+        board += " " + cards[5];
+        out.write("*** RIVER *** [" + board + "] [" + cards[6] + "]\nBob: bets $1.20\nHero: calls $1.20\n");
+        out.write("*** SHOW DOWN ***\nHero: mucks hand\nBob collected $3.80 from pot\n");
+        out.write("*** SUMMARY ***\nTotal pot $3.90 | Rake $0.10\nBoard [" + board + " " + cards[6] + "]\n\n\n");
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.yolov5tfliteandroid.benchmark;
+
+import com.example.yolov5tfliteandroid.model.CardSet;
+import com.example.yolov5tfliteandroid.model.RiverSolution;
+import com.example.yolov5tfliteandroid.utils.HandRange;
+import com.example.yolov5tfliteandroid.utils.RiverSolver;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 河牌子博弈求解延迟：Kh Qd 8c 5s 2h 上双方任意两张，底池 100、有效筹码 400，
+ * 默认下注尺度，求解到 exploitability ≤ 0.5% 底池 (目标：单次 1 秒以内)
+ * <p>
+ * 辅助计数器 iterations / calls 为每次求解平均的 CFR+ 迭代数。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RiverSolverBenchmark {
+
+    private int[] board;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Iterations {
+        public long iterations;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            iterations = 0;
+            calls = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        board = CardSet.toIntArray(CardSet.parse("KhQd8c5s2h"));
+        RiverSolver.setLimits(1000, 0.005, 10_000);
+    }
+
+    @Benchmark
+    public RiverSolution anyVsAny(Iterations counter) {
+        RiverSolution solution = RiverSolver.solve(board, HandRange.any(), HandRange.any(), 100, 400, 0);
+        counter.iterations += solution.iterations;
+        counter.calls++;
+        return solution;
+    }
+}
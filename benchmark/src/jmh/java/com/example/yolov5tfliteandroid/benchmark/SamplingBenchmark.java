@@ -0,0 +1,81 @@
+package com.example.yolov5tfliteandroid.benchmark;
+
+import com.example.yolov5tfliteandroid.enums.SamplingMode;
+import com.example.yolov5tfliteandroid.model.EquityEstimate;
+import com.example.yolov5tfliteandroid.utils.EquityEngine;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 普通抽样 vs 分层抽样：达到 ±1.4% (95% 置信区间) 所需的时间与样本数
+ * <p>
+ * fixed5000 即 calculateWinRateFast 的固定 5000 次；toPrecision 模拟到同样的误差为止。
+ * 辅助计数器 samples / calls 为每次调用平均使用的样本数。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SamplingBenchmark {
+
+    private static final double TARGET_MARGIN = 0.014;
+
+    @Param({"PLAIN", "STRATIFIED"})
+    public SamplingMode mode;
+
+    @Param({"FLOP", "TURN"})
+    public String street;
+
+    @Param({"1", "3"})
+    public int opponents;
+
+    // 9c8d on 7h 6s 2c (Kd)：两端顺子听牌 (T 或 5 成顺)
+    private final int[] hand = {7, 19};
+    private int[] board;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Samples {
+        public long samples;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            samples = 0;
+            calls = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        board = "TURN".equals(street) ? new int[]{31, 43, 0, 24} : new int[]{31, 43, 0};
+        EquityEngine.setSamplingMode(mode);
+        EquityEngine.setAdaptiveLimits(500, 100_000, 60_000);
+    }
+
+    @Benchmark
+    public double fixed5000(Samples counter) {
+        EquityEstimate e = EquityEngine.estimateWinRate(hand, board, opponents, 5000);
+        counter.samples += e.samples;
+        counter.calls++;
+        return e.marginOfError();
+    }
+
+    @Benchmark
+    public double toPrecision(Samples counter) {
+        EquityEstimate e = EquityEngine.calculateWinRateToPrecision(hand, board, opponents, TARGET_MARGIN);
+        counter.samples += e.samples;
+        counter.calls++;
+        return e.winRate;
+    }
+}